@@ -11,13 +11,19 @@ import com.quadzone.blog.dto.AddBlogRequest;
 import com.quadzone.blog.dto.BlogDetailResponse;
 import com.quadzone.blog.dto.BlogStatusUpdateRequest;
 import com.quadzone.blog.dto.UpdateBlogRequest;
+import com.quadzone.global.dto.CursorResponse;
 import com.quadzone.global.dto.PagedResponse;
+import com.quadzone.global.export.ExportFormat;
 import com.quadzone.order.Order;
 import com.quadzone.order.OrderRepository;
 import com.quadzone.payment.Payment;
 import com.quadzone.payment.PaymentRepository;
 import com.quadzone.payment.PaymentStatus;
 import com.quadzone.product.ProductService;
+import com.quadzone.product.bulk.ProductBulkUpdateRequest;
+import com.quadzone.product.bulk.ProductBulkUpdateResponse;
+import com.quadzone.product.bulk.ProductBulkUpdateService;
+import com.quadzone.product.bulk.ProductExportService;
 import com.quadzone.product.category.CategoryService;
 import com.quadzone.product.category.dto.CategoryRegisterRequest;
 import com.quadzone.product.category.dto.CategoryResponse;
@@ -28,6 +34,8 @@ import com.quadzone.product.category.sub_category.dto.SubCategoryRegisterRequest
 import com.quadzone.product.category.sub_category.dto.SubCategoryUpdateRequest;
 import com.quadzone.product.dto.ProductRegisterRequest;
 import com.quadzone.product.dto.ProductUpdateRequest;
+import com.quadzone.product.stock.FlashModeResponse;
+import com.quadzone.product.stock.FlashStockService;
 import com.quadzone.shipping.Delivery;
 import com.quadzone.shipping.DeliveryRepository;
 import com.quadzone.shipping.DeliveryStatus;
@@ -45,11 +53,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -61,6 +72,9 @@ import java.util.List;
 public class AdminController {
 
     private final ProductService productService;
+    private final ProductBulkUpdateService productBulkUpdateService;
+    private final FlashStockService flashStockService;
+    private final ProductExportService productExportService;
     private final CategoryService categoryService;
     private final SubCategoryService subCategoryService;
     private final UploadService uploadService;
@@ -96,6 +110,29 @@ public class AdminController {
         return ResponseEntity.ok(productService.findProductsForAdmin(page, size, search, sortBy));
     }
 
+    @GetMapping("/products/scroll")
+    @Operation(
+            summary = "Get all products with a continuation cursor (Admin)",
+            description = "Keyset-paginated variant of the admin product list, newest first. " +
+                    "Omit the cursor for the first page, then pass the returned nextCursor to fetch the next one. " +
+                    "No total count is computed, so deep pages cost the same as the first one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved products page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CursorResponse<ProductAdminResponse>> scrollProducts(
+            @Parameter(description = "Continuation cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Search query to filter products by name or brand", example = "laptop")
+            @RequestParam(defaultValue = "") String search
+    ) {
+        return ResponseEntity.ok(productService.scrollProductsForAdmin(cursor, size, search));
+    }
+
     @GetMapping("/dashboard/analytics")
     @Operation(
             summary = "Get monthly analytics (Admin)",
@@ -251,6 +288,66 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/products/export")
+    @Operation(summary = "Export products (Admin)", description = "Stream the whole catalog (optionally filtered by name or brand) as CSV or NDJSON. "
+            +
+            "Rows are written as they are read from the database, so exports of any size use constant memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "csv or ndjson", example = "csv") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Search query to filter products by name or brand", example = "laptop") @RequestParam(required = false) String search) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("products." + exportFormat.getExtension()).build().toString())
+                .body(productExportService.export(exportFormat, search));
+    }
+
+    @PatchMapping("/products/bulk")
+    @Operation(summary = "Bulk update products (Admin)", description = "Apply price, cost price, stock (absolute or delta) and active status changes to many products at once. "
+            +
+            "Products are selected by a list of IDs or by a brand and/or subcategory filter. Returns the outcome for every selected ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes applied; see the per-ID outcomes for products not found or rejected"),
+            @ApiResponse(responseCode = "400", description = "No selection, both ids and a filter, no changes, or invalid values")
+    })
+    public ResponseEntity<ProductBulkUpdateResponse> bulkUpdateProducts(
+            @Parameter(description = "Product selection and the changes to apply", required = true) @Valid @RequestBody ProductBulkUpdateRequest request) {
+        return ResponseEntity.ok(productBulkUpdateService.update(request));
+    }
+
+    @PutMapping("/products/{id}/flash-mode")
+    @Operation(summary = "Enable flash-sale mode (Admin)", description = "Split the stock of a hot product over several stripe rows so that concurrent checkouts do not queue on one row. "
+            +
+            "The displayed stock is refreshed from the stripes every few seconds, and stock edits are refused until the mode is disabled.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flash-sale mode enabled"),
+            @ApiResponse(responseCode = "400", description = "Stripe count out of range"),
+            @ApiResponse(responseCode = "404", description = "Product not found with the provided ID"),
+            @ApiResponse(responseCode = "409", description = "Product is already in flash-sale mode")
+    })
+    public ResponseEntity<FlashModeResponse> enableFlashMode(
+            @Parameter(description = "Unique identifier of the product", example = "1", required = true) @PathVariable Long id,
+            @Parameter(description = "Number of stripes to split the stock over (2-64)", example = "8") @RequestParam(defaultValue = "8") int stripes) {
+        return ResponseEntity.ok(flashStockService.enable(id, stripes));
+    }
+
+    @DeleteMapping("/products/{id}/flash-mode")
+    @Operation(summary = "Disable flash-sale mode (Admin)", description = "Fold the stripes back into the product stock.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flash-sale mode disabled; the response holds the resulting stock"),
+            @ApiResponse(responseCode = "404", description = "Product not found with the provided ID"),
+            @ApiResponse(responseCode = "409", description = "Product is not in flash-sale mode")
+    })
+    public ResponseEntity<FlashModeResponse> disableFlashMode(
+            @Parameter(description = "Unique identifier of the product", example = "1", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(flashStockService.disable(id));
+    }
+
     @DeleteMapping("/products/{id}")
     @Operation(summary = "Delete product (Admin)", description = "Permanently delete a product from the system by its unique identifier. "
             +
@@ -0,0 +1,82 @@
+package com.quadzone.admin;
+
+import com.quadzone.global.HomeSnapshotService;
+import com.quadzone.global.dto.HomeSnapshotStats;
+import com.quadzone.global.idempotency.IdempotencyService;
+import com.quadzone.global.idempotency.IdempotencyStats;
+import com.quadzone.outbox.OutboxDispatcher;
+import com.quadzone.outbox.OutboxStats;
+import com.quadzone.product.detail.ProductDetailCache;
+import com.quadzone.product.detail.ProductDetailCacheStats;
+import com.quadzone.product.reference.CatalogReferenceCache;
+import com.quadzone.product.reference.CatalogReferenceCacheStats;
+import com.quadzone.product.stock.FlashStockService;
+import com.quadzone.product.stock.FlashStockStats;
+import com.quadzone.product.stock.InventoryHoldService;
+import com.quadzone.product.stock.InventoryHoldStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/metrics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Admin Metrics API", description = "Runtime statistics of in-memory read models and background jobs")
+public class AdminMetricsController {
+
+    private final HomeSnapshotService homeSnapshotService;
+    private final ProductDetailCache productDetailCache;
+    private final CatalogReferenceCache catalogReferenceCache;
+    private final InventoryHoldService inventoryHoldService;
+    private final OutboxDispatcher outboxDispatcher;
+    private final IdempotencyService idempotencyService;
+    private final FlashStockService flashStockService;
+
+    @GetMapping("/home-snapshot")
+    @Operation(summary = "Home snapshot statistics", description = "Age of the served home snapshot and duration of the last rebuild")
+    public ResponseEntity<HomeSnapshotStats> getHomeSnapshotStats() {
+        return ResponseEntity.ok(homeSnapshotService.getStats());
+    }
+
+    @GetMapping("/product-detail-cache")
+    @Operation(summary = "Product detail cache statistics", description = "Size, hit/miss counters and evictions of the product detail view cache")
+    public ResponseEntity<ProductDetailCacheStats> getProductDetailCacheStats() {
+        return ResponseEntity.ok(productDetailCache.getStats());
+    }
+
+    @GetMapping("/catalog-reference-cache")
+    @Operation(summary = "Catalog reference cache statistics", description = "Cached categories and brands, hit/miss counters and invalidations of the category tree and brand list cache")
+    public ResponseEntity<CatalogReferenceCacheStats> getCatalogReferenceCacheStats() {
+        return ResponseEntity.ok(catalogReferenceCache.getStats());
+    }
+
+    @GetMapping("/inventory-holds")
+    @Operation(summary = "Inventory hold statistics", description = "Active hold volume, created/converted/released counters and sweeper runs with their expiry-to-release lag")
+    public ResponseEntity<InventoryHoldStats> getInventoryHoldStats() {
+        return ResponseEntity.ok(inventoryHoldService.getStats());
+    }
+
+    @GetMapping("/outbox")
+    @Operation(summary = "Outbox statistics", description = "Pending backlog and age, delivered/failed/dead counters and enqueue-to-delivery lag per side-effect handler")
+    public ResponseEntity<OutboxStats> getOutboxStats() {
+        return ResponseEntity.ok(outboxDispatcher.getStats());
+    }
+
+    @GetMapping("/idempotency")
+    @Operation(summary = "Idempotency statistics", description = "Executed, replayed, waiting and rejected idempotent requests and keys currently in flight on this node")
+    public ResponseEntity<IdempotencyStats> getIdempotencyStats() {
+        return ResponseEntity.ok(idempotencyService.getStats());
+    }
+
+    @GetMapping("/flash-stock")
+    @Operation(summary = "Flash-sale stock statistics", description = "Products in flash-sale mode, single-stripe takes, rebalances, shortages and the last stripe-to-stock sync")
+    public ResponseEntity<FlashStockStats> getFlashStockStats() {
+        return ResponseEntity.ok(flashStockService.getStats());
+    }
+}
@@ -0,0 +1,66 @@
+package com.quadzone.admin;
+
+import com.quadzone.product.bulk.ProductImportFormat;
+import com.quadzone.product.bulk.ProductImportReport;
+import com.quadzone.product.bulk.ProductImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/products/imports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Admin Product Import API", description = "Bulk product import from CSV or NDJSON supplier feeds")
+public class AdminProductImportController {
+
+    private final ProductImportService productImportService;
+
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import products in bulk",
+            description = "Streams a CSV (with a header row) or NDJSON body and inserts its rows in batches. "
+                    + "Columns: name, brand, modelNumber, description, color, imageUrl, price, costPrice, weight, "
+                    + "stock, subcategoryId or subcategory (name), active. Invalid rows are skipped and reported "
+                    + "with their line number. Returns when the whole body has been processed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; see the report for rejected rows"),
+            @ApiResponse(responseCode = "415", description = "Body is neither text/csv nor application/x-ndjson")
+    })
+    public ResponseEntity<ProductImportReport> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        return ResponseEntity.ok(productImportService.importProducts(body, ProductImportFormat.fromContentType(contentType)));
+    }
+
+    @GetMapping
+    @Operation(summary = "List imports", description = "Running imports and the most recent finished ones, for progress polling")
+    public ResponseEntity<List<ProductImportReport>> getImports() {
+        return ResponseEntity.ok(productImportService.getImports());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import progress", description = "Row counts and the rejected rows of one import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import found"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired import ID")
+    })
+    public ResponseEntity<ProductImportReport> getImport(
+            @Parameter(description = "Import ID", required = true) @PathVariable String id) {
+        return ResponseEntity.ok(productImportService.getImport(id));
+    }
+}
@@ -35,6 +35,11 @@ public record ProductAdminResponse(
             }
         }
         
+        return from(product, subCategoryResponse, categoryResponse);
+    }
+
+    public static ProductAdminResponse from(Product product, SubCategoryResponse subCategoryResponse,
+                                            CategoryResponse categoryResponse) {
         return new ProductAdminResponse(
                 product.getId(),
                 product.getName(),
@@ -0,0 +1,7 @@
+package com.quadzone.blog;
+
+/**
+ * Published whenever a blog post or one of its comments is created, updated or deleted.
+ */
+public record BlogChangedEvent(Long blogId) {
+}
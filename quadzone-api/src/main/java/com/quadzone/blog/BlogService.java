@@ -3,6 +3,7 @@ package com.quadzone.blog;
 import java.text.Normalizer;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -43,6 +44,7 @@ public class BlogService {
     private final UserRepository userRepository;
     private final EntityMapper objectMapper;
     private final CommentService commentService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get paginated list of all blogs for admin dashboard
@@ -190,6 +192,7 @@ public class BlogService {
         // Create blog entity
         Blog blog = AddBlogRequest.toBlog(request, slug, author);
         Blog saved = blogRepository.save(blog);
+        eventPublisher.publishEvent(new BlogChangedEvent(saved.getId()));
 
         log.info("Blog created successfully with id: {} and slug: {}", saved.getId(), saved.getSlug());
         return BlogDetailResponse.from(saved);
@@ -226,6 +229,7 @@ public class BlogService {
         request.applyTo(blog);
 
         Blog updated = blogRepository.save(blog);
+        eventPublisher.publishEvent(new BlogChangedEvent(id));
         log.info("Blog updated successfully with id: {}", id);
 
         return BlogDetailResponse.from(updated);
@@ -262,6 +266,7 @@ public class BlogService {
 
         blog.setStatus(newStatus);
         Blog updated = blogRepository.save(blog);
+        eventPublisher.publishEvent(new BlogChangedEvent(id));
 
         log.info("Blog status updated successfully to: {}", newStatus);
         return BlogDetailResponse.from(updated);
@@ -280,6 +285,7 @@ public class BlogService {
                 .orElseThrow(() -> new RuntimeException("Blog not found with id: " + id));
 
         blogRepository.delete(blog);
+        eventPublisher.publishEvent(new BlogChangedEvent(id));
         log.info("Blog deleted successfully with id: {}", id);
     }
 
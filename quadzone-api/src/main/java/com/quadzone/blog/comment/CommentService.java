@@ -2,9 +2,11 @@ package com.quadzone.blog.comment;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.quadzone.blog.Blog;
+import com.quadzone.blog.BlogChangedEvent;
 import com.quadzone.blog.BlogRepository;
 import com.quadzone.blog.comment.dto.AddCommentRequest;
 import com.quadzone.blog.comment.dto.CommentResponse;
@@ -18,6 +20,7 @@ import lombok.RequiredArgsConstructor;
 public class CommentService {
     private final CommentRepository commentRepository;
     private final BlogRepository blogRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<CommentResponse> getCommentsForBlog(Long blogId) {
         return commentRepository.findAllByBlogId(blogId)
@@ -32,6 +35,7 @@ public class CommentService {
         
         Comment comment = AddCommentRequest.toComment(request, blog);
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new BlogChangedEvent(blogId));
         return CommentResponse.from(savedComment);
     }
 }
@@ -5,6 +5,7 @@ import com.quadzone.chat.dto.ChatMessageResponse;
 import com.quadzone.chat.dto.ChatRoomResponse;
 import com.quadzone.chat.service.ChatMessageService;
 import com.quadzone.chat.service.ChatRoomService;
+import com.quadzone.global.dto.CursorResponse;
 import com.quadzone.user.User;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -83,6 +84,29 @@ public class ChatController {
         return ResponseEntity.ok(messages);
     }
     
+    @GetMapping("/room/{roomId}/messages/scroll")
+    @Operation(summary = "Get message history for a chat room using a continuation cursor")
+    public ResponseEntity<CursorResponse<ChatMessageResponse>> scrollMessageHistory(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User currentUser) {
+        
+        // Verify user has access to this chat room
+        if (!chatRoomService.hasAccess(roomId, currentUser.getId())) {
+            return ResponseEntity.status(403).build();
+        }
+        
+        CursorResponse<ChatMessageResponse> messages = chatMessageService.scrollMessageHistory(roomId, cursor, size);
+        
+        // Only the newest page marks messages as read, like the first page of the paged history
+        if (cursor == null || cursor.isBlank()) {
+            chatMessageService.markMessagesAsRead(roomId, currentUser.getId());
+        }
+        
+        return ResponseEntity.ok(messages);
+    }
+    
     @GetMapping("/rooms")
     @Operation(summary = "Get all chat rooms (for staff/admin)")
     public ResponseEntity<Page<ChatRoomResponse>> getAllChatRooms(
@@ -7,7 +7,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_message")
+@Table(name = "chat_message", indexes = @Index(name = "idx_chat_message_room_sent_at", columnList = "chat_room_id, sent_at, id"))
 @Getter
 @Setter
 @Builder
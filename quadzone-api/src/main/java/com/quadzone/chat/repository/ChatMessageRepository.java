@@ -27,6 +27,23 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     @Query("SELECT cm FROM ChatMessage cm WHERE cm.chatRoom.id = :roomId ORDER BY cm.sentAt DESC")
     Page<ChatMessage> findByChatRoomId(@Param("roomId") Long roomId, Pageable pageable);
 
+    /**
+     * Keyset page of messages in a chat room, newest first. Pass null cursor values for the first page.
+     */
+    @Query("""
+            SELECT cm
+            FROM ChatMessage cm
+            WHERE cm.chatRoom.id = :roomId
+              AND (:afterId IS NULL
+                   OR cm.sentAt < :afterSentAt
+                   OR (cm.sentAt = :afterSentAt AND cm.id < :afterId))
+            ORDER BY cm.sentAt DESC, cm.id DESC
+            """)
+    List<ChatMessage> findPageAfter(@Param("roomId") Long roomId,
+                                    @Param("afterSentAt") LocalDateTime afterSentAt,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
     /**
      * Find unread messages in a chat room for a specific user
      */
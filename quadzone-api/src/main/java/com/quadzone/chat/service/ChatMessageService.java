@@ -8,6 +8,8 @@ import com.quadzone.chat.entity.ChatRoom;
 import com.quadzone.chat.exception.ChatRoomNotFoundException;
 import com.quadzone.chat.repository.ChatMessageRepository;
 import com.quadzone.chat.repository.ChatRoomRepository;
+import com.quadzone.global.dto.CursorResponse;
+import com.quadzone.global.dto.SeekCursor;
 import com.quadzone.user.User;
 import com.quadzone.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -117,6 +120,24 @@ public class ChatMessageService {
         
         return messages.map(ChatMessageResponse::from);
     }
+
+    /**
+     * Get message history for a chat room using a continuation cursor instead of page numbers
+     */
+    public CursorResponse<ChatMessageResponse> scrollMessageHistory(Long roomId, String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        int pageSize = Math.max(size, 1);
+
+        List<ChatMessage> rows = chatMessageRepository.findPageAfter(
+                roomId,
+                after != null ? after.sortKey() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        return CursorResponse.of(rows, pageSize,
+                message -> new SeekCursor(message.getSentAt(), message.getId()),
+                ChatMessageResponse::from);
+    }
     
     /**
      * Mark messages as read for a user in a chat room
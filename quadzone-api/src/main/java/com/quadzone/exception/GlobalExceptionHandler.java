@@ -1,5 +1,6 @@
 package com.quadzone.exception;
 
+import com.quadzone.exception.product.InsufficientStockException;
 import com.quadzone.exception.product.ProductNotFoundException;
 import com.quadzone.exception.blog.BlogNotFoundException;
 import com.quadzone.exception.blog.BlogAlreadyExistsException;
@@ -40,6 +41,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles InsufficientStockException (HTTP 400).
+     * This is triggered at checkout; 'errors' lists every line that cannot be served.
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Map<String, Object>> handleInsufficientStock(
+            InsufficientStockException ex) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        body.put("errors", ex.getShortages());
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles the custom BlogNotFoundException (HTTP 404).
      * This is triggered when a blog post is not found.
@@ -0,0 +1,22 @@
+package com.quadzone.exception.product;
+
+import com.quadzone.product.stock.StockShortage;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown when some lines of an order cannot be reserved; lists all of them, not just the first
+ */
+@Getter
+public class InsufficientStockException extends RuntimeException {
+
+    private final List<StockShortage> shortages;
+
+    public InsufficientStockException(List<StockShortage> shortages) {
+        super(shortages.size() == 1
+                ? "1 item is unavailable or short of stock"
+                : shortages.size() + " items are unavailable or short of stock");
+        this.shortages = List.copyOf(shortages);
+    }
+}
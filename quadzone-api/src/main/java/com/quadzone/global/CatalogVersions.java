@@ -0,0 +1,118 @@
+package com.quadzone.global;
+
+import com.quadzone.blog.BlogChangedEvent;
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductStockChangedEvent;
+import com.quadzone.product.bulk.ProductsImportedEvent;
+import com.quadzone.product.category.CategoryChangedEvent;
+import com.quadzone.review.ReviewChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the public catalog resources, used as strong ETags so that unchanged resources are
+ * answered with 304 without touching the database.
+ * <p>
+ * Counters only grow and are bumped after the writing transaction commits. They live in memory, so every tag
+ * also carries the boot epoch of this instance: tags issued before a restart never match again.
+ * Callers must read the tag <em>before</em> loading the resource; a write committing in between then only
+ * costs one extra download instead of pinning stale content under a new tag. For the same reason the
+ * listeners here run last, after caches such as {@link com.quadzone.product.detail.ProductDetailCache}
+ * have dropped their entries.
+ */
+@Component
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, Long> products = new ConcurrentHashMap<>();
+    private final Map<Long, Long> blogs = new ConcurrentHashMap<>();
+    private final Map<String, Long> blogIdsBySlug = new ConcurrentHashMap<>();
+    private final AtomicLong categoryTree = new AtomicLong();
+    private final AtomicLong brands = new AtomicLong();
+    private final AtomicLong blogList = new AtomicLong();
+
+    /**
+     * The product detail embeds the category chain, so the tag also changes with the category tree
+     */
+    public String productETag(Long productId) {
+        return tag("p" + productId, products.getOrDefault(productId, 0L) + "." + categoryTree.get());
+    }
+
+    public String categoryTreeETag() {
+        return tag("c", categoryTree.get());
+    }
+
+    public String brandsETag() {
+        return tag("b", brands.get());
+    }
+
+    public String blogListETag() {
+        return tag("bl", blogList.get());
+    }
+
+    /**
+     * @return empty until the slug has been resolved once by {@link #rememberBlogSlug}
+     */
+    public Optional<String> blogETag(String slug) {
+        return Optional.ofNullable(blogIdsBySlug.get(slug)).map(this::blogETag);
+    }
+
+    public String blogETag(Long blogId) {
+        return tag("bp" + blogId, blogs.getOrDefault(blogId, 0L));
+    }
+
+    public void rememberBlogSlug(String slug, Long blogId) {
+        blogIdsBySlug.put(slug, blogId);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        products.merge(event.productId(), 1L, Long::sum);
+        brands.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.productIds().forEach(productId -> products.merge(productId, 1L, Long::sum));
+        brands.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductStockChanged(ProductStockChangedEvent event) {
+        products.merge(event.productId(), 1L, Long::sum);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        products.merge(event.productId(), 1L, Long::sum);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryTree.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        blogs.merge(event.blogId(), 1L, Long::sum);
+        blogList.incrementAndGet();
+    }
+
+    private String tag(String resource, Object version) {
+        return "\"" + resource + "-" + epoch + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,140 @@
+package com.quadzone.global;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quadzone.global.dto.HomeResponse;
+import com.quadzone.global.dto.HomeSnapshotStats;
+import com.quadzone.order.OrderPlacedEvent;
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.bulk.ProductsImportedEvent;
+import com.quadzone.product.ProductService;
+import com.quadzone.product.category.CategoryChangedEvent;
+import com.quadzone.product.category.CategoryService;
+import com.quadzone.review.ReviewChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a pre-serialized {@link HomeResponse} so the home endpoint never touches the database.
+ * <p>
+ * The snapshot is rebuilt on a fixed schedule and, shortly after, whenever a write that can change
+ * it (product, category, review or checkout) is committed. Bursts of writes are coalesced into one rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomeSnapshotService {
+
+    private static final int SECTION_SIZE = 8;
+
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+    private volatile long lastRebuildMillis;
+
+    private record Snapshot(byte[] json, Instant builtAt) {
+    }
+
+    /**
+     * @return the home response as JSON; built on the caller's thread only if no snapshot exists yet
+     */
+    public byte[] getHome() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+            if (current == null) {
+                throw new IllegalStateException("Home snapshot is not available");
+            }
+        }
+        return current.json();
+    }
+
+    public HomeSnapshotStats getStats() {
+        Snapshot current = snapshot;
+        Instant builtAt = current != null ? current.builtAt() : null;
+        long age = builtAt != null ? Duration.between(builtAt, Instant.now()).toMillis() : -1;
+        return new HomeSnapshotStats(builtAt, age, lastRebuildMillis, rebuilds.get(), failures.get(), stale.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${application.home-snapshot.refresh-interval-ms:300000}",
+            initialDelayString = "${application.home-snapshot.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${application.home-snapshot.debounce-ms:2000}")
+    public void refreshIfStale() {
+        if (stale.get()) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        stale.set(true);
+    }
+
+    private synchronized void rebuild() {
+        // Cleared first so a write committed during the rebuild triggers another one
+        stale.set(false);
+        long start = System.nanoTime();
+        try {
+            HomeResponse home = new HomeResponse(
+                    categoryService.getAllCategories(),
+                    productService.getFeaturedProducts(PageRequest.of(0, SECTION_SIZE)),
+                    productService.getBestSellers(PageRequest.of(0, SECTION_SIZE)),
+                    productService.getArrivals(PageRequest.of(0, SECTION_SIZE)));
+            snapshot = new Snapshot(objectMapper.writeValueAsBytes(home), Instant.now());
+            rebuilds.incrementAndGet();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot and retry on the next tick
+            stale.set(true);
+            failures.incrementAndGet();
+            log.error("Failed to rebuild home snapshot", e);
+        } finally {
+            lastRebuildMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        }
+    }
+}
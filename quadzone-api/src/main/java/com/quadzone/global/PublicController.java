@@ -11,11 +11,20 @@ import com.quadzone.product.category.CategoryService;
 import com.quadzone.product.category.dto.CategoryResponse;
 import com.quadzone.product.dto.BrandResponse;
 import com.quadzone.product.dto.ProductDetailsResponse;
+import com.quadzone.product.dto.ProductFacetPage;
 import com.quadzone.product.dto.ProductResponse;
+import com.quadzone.product.recommendation.CoPurchaseRecommender;
+import com.quadzone.product.recommendation.ProductRecommendation;
+import com.quadzone.product.sales.ProductSalesService;
+import com.quadzone.product.search.ProductSuggestIndex;
+import com.quadzone.product.search.ProductSuggestion;
+import com.quadzone.product.sales.SalesWindow;
 import com.quadzone.review.ReviewService;
 import com.quadzone.review.dto.ReviewResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
@@ -23,36 +32,46 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/public")
 @RequiredArgsConstructor
 public class PublicController {
 
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ProductService productService;
     private final CategoryRepository categoryRepository;
     private final CategoryService categoryService;
     private final BlogService blogService;
     private final ReviewService reviewService;
+    private final HomeSnapshotService homeSnapshotService;
+    private final ProductSalesService productSalesService;
+    private final CatalogVersions catalogVersions;
+    private final CoPurchaseRecommender coPurchaseRecommender;
+    private final ProductSuggestIndex productSuggestIndex;
 
     @GetMapping()
-    public ResponseEntity<HomeResponse> getHome() {
-        Page<ProductResponse> featured = productService.getFeaturedProducts(PageRequest.of(0, 8));
-        Page<ProductResponse> bestSellers = productService.getBestSellers(PageRequest.of(0, 8));
-        Page<ProductResponse> newArrivals = productService.getArrivals(PageRequest.of(0, 8));
-
-        List<CategoryResponse> categories = categoryService.getAllCategories();
-
-        return ResponseEntity.ok(new HomeResponse(categories, featured, bestSellers, newArrivals));
+    @Operation(summary = "Get home page data", description = "Served from a periodically refreshed snapshot")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = HomeResponse.class)))
+    public ResponseEntity<byte[]> getHome() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(homeSnapshotService.getHome());
     }
 
     @GetMapping("/products")
-    public ResponseEntity<Page<ProductResponse>> listProducts(
+    public ResponseEntity<ProductFacetPage> listProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
@@ -61,6 +80,7 @@ public class PublicController {
             @RequestParam(required = false) Long subcategoryId,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
             @RequestParam(required = false) String sortBy) {
 
         Sort sort = buildSort(sortBy);
@@ -69,16 +89,17 @@ public class PublicController {
         // If search query is provided, use the search method
         if (search != null && !search.trim().isEmpty()) {
             Page<ProductResponse> response = productService.getProducts(pageable, search.trim());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ProductFacetPage.of(response));
         }
 
-        // Otherwise use the filter-based search
-        Page<ProductResponse> response = productService.searchProducts(
+        // Otherwise use the filter-based search, which also returns facet counts
+        ProductFacetPage response = productService.searchProducts(
                 brand,
                 categoryId,
                 subcategoryId,
                 minPrice,
                 maxPrice,
+                inStock,
                 pageable
         );
 
@@ -104,25 +125,55 @@ public class PublicController {
     }
 
     @GetMapping("/products/{id}")
-    public ResponseEntity<ProductDetailsResponse> getProduct(@PathVariable Long id) {
+    public ResponseEntity<ProductDetailsResponse> getProduct(@PathVariable Long id, WebRequest request) {
         try {
-            ProductDetailsResponse product = productService.getProducts(id);
-            return ResponseEntity.ok(product);
+            return conditional(request, catalogVersions.productETag(id), () -> productService.getProducts(id));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @GetMapping("/products/best-sellers")
+    @Operation(summary = "Get best-selling products", description = "Ranked by units sold in the last 7 days (WEEK), 30 days (MONTH) or ever (ALL_TIME)")
+    public ResponseEntity<List<ProductResponse>> getBestSellers(
+            @RequestParam(defaultValue = "WEEK") SalesWindow window,
+            @RequestParam(defaultValue = "8") int size) {
+        return ResponseEntity.ok(productSalesService.findBestSellers(window, PageRequest.of(0, Math.max(size, 1))));
+    }
+
+    @GetMapping("/products/{id}/also-bought")
+    @Operation(summary = "Get products customers also bought", description = "Products most often bought together with this one, served from memory")
+    public ResponseEntity<List<ProductRecommendation>> getAlsoBought(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "8") int size) {
+        return ResponseEntity.ok(coPurchaseRecommender.alsoBought(id, Math.min(size, CoPurchaseRecommender.TOP_K)));
+    }
+
+    @GetMapping("/products/also-bought")
+    @Operation(summary = "Get products customers also bought for a cart", description = "Combines the co-purchases of every given product, excluding the products themselves")
+    public ResponseEntity<List<ProductRecommendation>> getAlsoBoughtForCart(
+            @RequestParam List<Long> productIds,
+            @RequestParam(defaultValue = "8") int size) {
+        return ResponseEntity.ok(coPurchaseRecommender.alsoBought(productIds, Math.min(size, CoPurchaseRecommender.TOP_K)));
+    }
+
+    @GetMapping("/products/suggest")
+    @Operation(summary = "Autocomplete the search box", description = "Product, brand and subcategory completions of the typed prefix, most popular first, served from memory")
+    public ResponseEntity<List<ProductSuggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int size) {
+        return ResponseEntity.ok(productSuggestIndex.suggest(q, Math.min(size, MAX_SUGGESTIONS)));
+    }
+
     @GetMapping("/products/brands")
-    public ResponseEntity<List<BrandResponse>> listBrands() {
-        return ResponseEntity.ok(productService.listBrands());
+    public ResponseEntity<List<BrandResponse>> listBrands(WebRequest request) {
+        return conditional(request, catalogVersions.brandsETag(), productService::listBrands);
     }
 
     @GetMapping("/categories/names")
-    public ResponseEntity<List<CategoryResponse>> viewCategoriesName() {
+    public ResponseEntity<List<CategoryResponse>> viewCategoriesName(WebRequest request) {
         try {
-            List<CategoryResponse> categories = categoryService.getAllCategories();
-            return ResponseEntity.ok(categories);
+            return conditional(request, catalogVersions.categoryTreeETag(), categoryService::getAllCategories);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -132,15 +183,9 @@ public class PublicController {
     @Operation(summary = "Get all blog posts")
     public ResponseEntity<PagedResponse<BlogOverviewResponse>> getBlogs(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<BlogOverviewResponse> blogs = blogService.getBlogs(pageable);
-        return ResponseEntity.ok(PagedResponse.of(
-                blogs.getContent(),
-                blogs.getTotalElements(),
-                blogs.getNumber(),
-                blogs.getSize()
-        ));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return conditional(request, catalogVersions.blogListETag(), () -> listBlogs(page, size));
     }
 
     /**
@@ -148,9 +193,32 @@ public class PublicController {
      */
     @GetMapping("/blogs/{slug}")
     @Operation(summary = "Get blog post by slug")
-    public ResponseEntity<BlogDetailResponse> getBlogBySlug(@PathVariable String slug) {
+    public ResponseEntity<BlogDetailResponse> getBlogBySlug(@PathVariable String slug, WebRequest request) {
+        Optional<String> eTag = catalogVersions.blogETag(slug);
+        if (eTag.isPresent()) {
+            return conditional(request, eTag.get(), () -> blogService.getBlogBySlug(slug));
+        }
+
+        // First request for this slug: its id is only known after loading, so the tag is issued only
+        // if no blog changed while loading
+        String listVersion = catalogVersions.blogListETag();
         BlogDetailResponse blog = blogService.getBlogBySlug(slug);
-        return ResponseEntity.ok(blog);
+        catalogVersions.rememberBlogSlug(slug, blog.id());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePublic());
+        if (listVersion.equals(catalogVersions.blogListETag())) {
+            response.eTag(catalogVersions.blogETag(blog.id()));
+        }
+        return response.body(blog);
+    }
+
+    private PagedResponse<BlogOverviewResponse> listBlogs(int page, int size) {
+        Page<BlogOverviewResponse> blogs = blogService.getBlogs(PageRequest.of(page, size));
+        return PagedResponse.of(
+                blogs.getContent(),
+                blogs.getTotalElements(),
+                blogs.getNumber(),
+                blogs.getSize()
+        );
     }
 
     /**
@@ -160,15 +228,9 @@ public class PublicController {
     @Operation(summary = "Get recent blog posts")
     public ResponseEntity<PagedResponse<BlogOverviewResponse>> getRecentBlogs(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "5") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<BlogOverviewResponse> blogs = blogService.getBlogs(pageable);
-        return ResponseEntity.ok(PagedResponse.of(
-                blogs.getContent(),
-                blogs.getTotalElements(),
-                blogs.getNumber(),
-                blogs.getSize()
-        ));
+            @RequestParam(defaultValue = "5") int size,
+            WebRequest request) {
+        return conditional(request, catalogVersions.blogListETag(), () -> listBlogs(page, size));
     }
 
     /**
@@ -183,6 +245,20 @@ public class PublicController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Answers 304 from the version counter alone when the client's If-None-Match still matches,
+     * so the body is only loaded when it changed. The tag must be read before the body is loaded.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String eTag, Supplier<T> body) {
+        // Also writes the ETag header, for the 304 and the full response alike
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(body.get());
+    }
+
     // ==================== REVIEWS ENDPOINTS ====================
 
     /**
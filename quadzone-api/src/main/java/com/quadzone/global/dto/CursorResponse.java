@@ -0,0 +1,36 @@
+package com.quadzone.global.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Count-free page for keyset (cursor) pagination.
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to fetch the following page.
+ */
+public record CursorResponse<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {
+
+    /**
+     * Build a page from a query that fetched up to {@code size + 1} rows; the extra row only signals {@code hasNext}.
+     */
+    public static <E, T> CursorResponse<T> of(List<E> rows, int size,
+                                              Function<E, SeekCursor> cursorOf,
+                                              Function<E, T> mapper) {
+        return ofPage(rows, size, cursorOf, page -> page.stream().map(mapper).toList());
+    }
+
+    /**
+     * Same as {@link #of}, for mappers that convert the whole page at once
+     */
+    public static <E, T> CursorResponse<T> ofPage(List<E> rows, int size,
+                                                  Function<E, SeekCursor> cursorOf,
+                                                  Function<List<E>, List<T>> pageMapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorResponse<>(pageMapper.apply(page), nextCursor, hasNext);
+    }
+}
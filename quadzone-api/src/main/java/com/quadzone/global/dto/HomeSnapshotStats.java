@@ -0,0 +1,13 @@
+package com.quadzone.global.dto;
+
+import java.time.Instant;
+
+public record HomeSnapshotStats(
+        Instant builtAt,
+        long ageMillis,
+        long lastRebuildMillis,
+        long rebuilds,
+        long failures,
+        boolean stale
+) {
+}
@@ -0,0 +1,42 @@
+package com.quadzone.global.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: its sort key and id.
+ * Serialized as an opaque URL-safe token so clients never depend on its layout.
+ * A null sort key marks rows whose sort column is NULL (sorted after every dated row).
+ */
+public record SeekCursor(LocalDateTime sortKey, Long id) {
+
+    private static final String NO_SORT_KEY = "-";
+
+    public String encode() {
+        String raw = (sortKey != null ? sortKey.toString() : NO_SORT_KEY) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a blank token (first page)
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String sortKey = raw.substring(0, separator);
+            return new SeekCursor(
+                    NO_SORT_KEY.equals(sortKey) ? null : LocalDateTime.parse(sortKey),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
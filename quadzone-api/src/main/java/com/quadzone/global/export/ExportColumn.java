@@ -0,0 +1,13 @@
+package com.quadzone.global.export;
+
+import java.util.function.Function;
+
+/**
+ * One column of an export: its header / JSON field name and how to read it from a row
+ */
+public record ExportColumn<T>(String name, Function<T, Object> value) {
+
+    public static <T> ExportColumn<T> of(String name, Function<T, Object> value) {
+        return new ExportColumn<>(name, value);
+    }
+}
@@ -0,0 +1,90 @@
+package com.quadzone.global.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes rows to an export stream one at a time, as CSV (with a header row) or NDJSON.
+ * Nothing is kept per row, so an export of any size runs in constant memory.
+ */
+public class ExportWriter<T> {
+
+    private final List<ExportColumn<T>> columns;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    private ExportWriter(ExportFormat format, List<ExportColumn<T>> columns, OutputStream out, ObjectMapper objectMapper)
+            throws IOException {
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.NDJSON) {
+            this.json = objectMapper.getFactory().createGenerator(writer);
+            this.json.setRootValueSeparator(null);
+        } else {
+            this.json = null;
+            writeCsvRecord(columns.stream().map(ExportColumn::name).toList());
+        }
+    }
+
+    public static <T> ExportWriter<T> open(ExportFormat format, List<ExportColumn<T>> columns, OutputStream out,
+                                           ObjectMapper objectMapper) throws IOException {
+        return new ExportWriter<>(format, columns, out, objectMapper);
+    }
+
+    /**
+     * Write one row; unchecked so it can be used from {@code Stream.forEach}
+     */
+    public void write(T row) {
+        try {
+            if (json != null) {
+                json.writeStartObject();
+                for (ExportColumn<T> column : columns) {
+                    json.writeObjectField(column.name(), column.value().apply(row));
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+            } else {
+                writeCsvRecord(columns.stream().map(column -> csvValue(column.value().apply(row))).toList());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRecord(List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvValue(Object value) {
+        return value == null ? "" : String.valueOf(value);
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
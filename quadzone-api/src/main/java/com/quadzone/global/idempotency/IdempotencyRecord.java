@@ -0,0 +1,53 @@
+package com.quadzone.global.idempotency;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * First outcome of an idempotent request, replayed to its duplicates until {@code expiresAt}.
+ * <p>
+ * While the request runs the row is {@link IdempotencyStatus#IN_PROGRESS} and {@code expiresAt} is a short
+ * lease: a node that dies mid-request leaves a row that the next duplicate may take over once it passes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_record",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_record_key", columnNames = {"scope", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_record_expires", columnList = "expires_at"))
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private IdempotencyScope scope;
+
+    @Column(name = "idempotency_key", nullable = false, length = 200)
+    private String key;
+
+    /**
+     * SHA-256 of the request, so a key reused for a different request is rejected instead of answered wrongly
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private IdempotencyStatus status;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
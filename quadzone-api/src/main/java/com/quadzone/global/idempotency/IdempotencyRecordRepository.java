@@ -0,0 +1,29 @@
+package com.quadzone.global.idempotency;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByScopeAndKey(IdempotencyScope scope, String key);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.scope = :scope AND r.key = :key")
+    Optional<IdempotencyRecord> findByScopeAndKeyForUpdate(@Param("scope") IdempotencyScope scope, @Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scope = :scope AND r.key = :key " +
+            "AND r.status = com.quadzone.global.idempotency.IdempotencyStatus.IN_PROGRESS")
+    int deleteInProgress(@Param("scope") IdempotencyScope scope, @Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,9 @@
+package com.quadzone.global.idempotency;
+
+/**
+ * Operation an idempotency key belongs to; the same key in two scopes names two different requests
+ */
+public enum IdempotencyScope {
+    CHECKOUT,
+    VNPAY_CALLBACK
+}
@@ -0,0 +1,290 @@
+package com.quadzone.global.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation at most once per idempotency key and answers duplicates with the first outcome.
+ * <p>
+ * The key is claimed in its own short transaction. The operation then runs in a transaction that also stores
+ * its response, so an operation that committed always has a stored response to replay. A failed operation
+ * releases the key, so the client can retry it; failures are not replayed.
+ * <p>
+ * A duplicate arriving while the first request still runs waits for its outcome instead of running again:
+ * on this node through the in-flight future, on other nodes by polling the record. Stored responses are
+ * replayed for {@code ttl-hours} and then purged.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 200;
+    private static final long POLL_MILLIS = 100;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate claimTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expiredPurged = new AtomicLong();
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${application.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${application.idempotency.lease-ms:30000}") long leaseMillis,
+                              @Value("${application.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+    }
+
+    /**
+     * @param request   what the key stands for; a duplicate with a different request is rejected with 422
+     * @param operation must not run in a transaction of its own that commits before this method stores its
+     *                  response, i.e. it should join the current one ({@code REQUIRED})
+     */
+    public <T> IdempotentResult<T> execute(IdempotencyScope scope, String key, Object request,
+                                           Class<T> responseType, Supplier<T> operation) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(scope + ":" + key, mine);
+        if (running != null) {
+            return awaitInFlight(running, fingerprint, responseType);
+        }
+        try {
+            IdempotentResult<T> result = executeOnce(scope, key, fingerprint, responseType, operation);
+            mine.outcome().complete(result.body());
+            return result;
+        } catch (RuntimeException e) {
+            mine.outcome().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope + ":" + key, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> recordRepository.deleteExpired(LocalDateTime.now()));
+        if (purged != null && purged > 0) {
+            expiredPurged.addAndGet(purged);
+            log.info("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    public IdempotencyStats getStats() {
+        return new IdempotencyStats(executed.get(), replayed.get(), waited.get(), rejected.get(),
+                expiredPurged.get(), inFlight.size());
+    }
+
+    private <T> IdempotentResult<T> executeOnce(IdempotencyScope scope, String key, String fingerprint,
+                                                Class<T> responseType, Supplier<T> operation) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        boolean waiting = false;
+        while (true) {
+            Claim claim;
+            try {
+                claim = claimTemplate.execute(status -> claim(scope, key, fingerprint));
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                // Another node inserted the same key at the same moment; look again, unless the conflict persists
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                sleep();
+                continue;
+            }
+            if (claim.claimed()) {
+                break;
+            }
+            if (claim.responseBody() != null) {
+                replayed.incrementAndGet();
+                return new IdempotentResult<>(read(claim.responseBody(), responseType), true);
+            }
+            if (!waiting) {
+                waiting = true;
+                waited.incrementAndGet();
+            }
+            if (System.nanoTime() > deadline) {
+                rejected.incrementAndGet();
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this idempotency key is still being processed");
+            }
+            sleep();
+        }
+
+        try {
+            T body = transactionTemplate.execute(status -> {
+                T response = operation.get();
+                complete(scope, key, fingerprint, response);
+                return response;
+            });
+            executed.incrementAndGet();
+            return new IdempotentResult<>(body, false);
+        } catch (RuntimeException e) {
+            release(scope, key);
+            throw e;
+        }
+    }
+
+    private Claim claim(IdempotencyScope scope, String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = recordRepository.findByScopeAndKeyForUpdate(scope, key).orElse(null);
+        if (record == null) {
+            record = new IdempotencyRecord();
+            record.setScope(scope);
+            record.setKey(key);
+        } else if (!record.getExpiresAt().isBefore(now)) {
+            if (!record.getFingerprint().equals(fingerprint)) {
+                rejected.incrementAndGet();
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency key was already used for a different request");
+            }
+            return record.getStatus() == IdempotencyStatus.COMPLETED
+                    ? new Claim(false, record.getResponseBody())
+                    : new Claim(false, null);
+        }
+        // New key, expired response or abandoned lease
+        record.setFingerprint(fingerprint);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setResponseBody(null);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(lease));
+        recordRepository.saveAndFlush(record);
+        return new Claim(true, null);
+    }
+
+    private void complete(IdempotencyScope scope, String key, String fingerprint, Object response) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = recordRepository.findByScopeAndKeyForUpdate(scope, key).orElseGet(() -> {
+            IdempotencyRecord purged = new IdempotencyRecord();
+            purged.setScope(scope);
+            purged.setKey(key);
+            purged.setCreatedAt(now);
+            return purged;
+        });
+        record.setFingerprint(fingerprint);
+        record.setStatus(IdempotencyStatus.COMPLETED);
+        record.setResponseBody(write(response));
+        record.setExpiresAt(now.plus(ttl));
+        recordRepository.save(record);
+    }
+
+    private void release(IdempotencyScope scope, String key) {
+        try {
+            claimTemplate.executeWithoutResult(status -> recordRepository.deleteInProgress(scope, key));
+        } catch (RuntimeException e) {
+            // The lease still expires on its own
+            log.warn("Failed to release idempotency key {} {}", scope, key, e);
+        }
+    }
+
+    private <T> IdempotentResult<T> awaitInFlight(InFlight running, String fingerprint, Class<T> responseType) {
+        if (!running.fingerprint().equals(fingerprint)) {
+            rejected.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency key was already used for a different request");
+        }
+        waited.incrementAndGet();
+        try {
+            Object body = running.outcome().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            replayed.incrementAndGet();
+            return new IdempotentResult<>(responseType.cast(body), true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            rejected.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this idempotency key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Cannot fingerprint idempotent request", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store idempotent response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot replay stored idempotent response", e);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<Object> outcome) {
+    }
+
+    /**
+     * @param responseBody stored response when the key already completed, null while it is in progress
+     */
+    private record Claim(boolean claimed, String responseBody) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.quadzone.global.idempotency;
+
+/**
+ * @param executed      requests that ran their operation
+ * @param replayed      duplicates answered with a stored or in-flight outcome
+ * @param waited        duplicates that arrived while the first request was still running
+ * @param rejected      keys reused for a different request, or still in progress after the wait timeout
+ * @param inFlight      keys currently running on this node
+ */
+public record IdempotencyStats(
+        long executed,
+        long replayed,
+        long waited,
+        long rejected,
+        long expiredPurged,
+        int inFlight
+) {
+}
@@ -0,0 +1,6 @@
+package com.quadzone.global.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,7 @@
+package com.quadzone.global.idempotency;
+
+/**
+ * @param replayed true when the body is the stored outcome of an earlier request with the same key
+ */
+public record IdempotentResult<T>(T body, boolean replayed) {
+}
@@ -10,7 +10,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = @Index(name = "idx_notifications_user_posted_at", columnList = "user_id, posted_at, id"))
 @Data
 @Builder
 @NoArgsConstructor
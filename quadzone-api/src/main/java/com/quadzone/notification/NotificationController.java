@@ -1,5 +1,6 @@
 package com.quadzone.notification;
 
+import com.quadzone.global.dto.CursorResponse;
 import com.quadzone.notification.dto.NotificationRequest;
 import com.quadzone.notification.dto.NotificationResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -74,6 +75,33 @@ public class NotificationController {
         }
     }
 
+    @GetMapping("/scroll")
+    @Operation(
+            summary = "Get notifications with a continuation cursor",
+            description = "Retrieve the authenticated user's notifications newest first using keyset pagination. " +
+                    "Omit the cursor for the first page, then pass the returned nextCursor to fetch the next one. " +
+                    "No total count is computed; hasNext tells whether more notifications exist."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved notifications page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing authentication token"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CursorResponse<NotificationResponse>> scrollNotifications(
+            @Parameter(description = "Authenticated user from security context", hidden = true)
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Continuation cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(notificationService.scrollNotifications(user.getId(), cursor, size));
+    }
+
     @GetMapping("/unread-count")
     @Operation(
             summary = "Get unread notification count",
@@ -4,13 +4,33 @@ import com.quadzone.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     Page<Notification> findByUserOrderByPostedAtDesc(User user, Pageable pageable);
+
+    /**
+     * Keyset page of a user's notifications, newest first. Pass null cursor values for the first page.
+     */
+    @Query("""
+            SELECT n
+            FROM Notification n
+            WHERE n.user = :user
+              AND (:afterId IS NULL
+                   OR n.postedAt < :afterPostedAt
+                   OR (n.postedAt = :afterPostedAt AND n.id < :afterId))
+            ORDER BY n.postedAt DESC, n.id DESC
+            """)
+    List<Notification> findPageAfter(@Param("user") User user,
+                                     @Param("afterPostedAt") LocalDateTime afterPostedAt,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
     List<Notification> findByUserAndIsUnReadTrueOrderByPostedAtDesc(User user);
     long countByUserAndIsUnReadTrue(User user);
 }
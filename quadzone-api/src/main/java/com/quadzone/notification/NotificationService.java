@@ -1,9 +1,12 @@
 package com.quadzone.notification;
 
+import com.quadzone.global.dto.CursorResponse;
+import com.quadzone.global.dto.SeekCursor;
 import com.quadzone.notification.dto.NotificationRequest;
 import com.quadzone.notification.dto.NotificationResponse;
 import com.quadzone.user.User;
 import com.quadzone.user.UserRepository;
+import com.quadzone.user.UserRole;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -14,6 +17,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -48,6 +53,25 @@ public class NotificationService {
                 .map(NotificationResponse::from);
     }
 
+    @Transactional(readOnly = true)
+    public CursorResponse<NotificationResponse> scrollNotifications(Long userId, String cursor, int size) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found: " + userId));
+
+        SeekCursor after = SeekCursor.decode(cursor);
+        int pageSize = Math.max(size, 1);
+
+        List<Notification> rows = notificationRepository.findPageAfter(
+                user,
+                after != null ? after.sortKey() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        return CursorResponse.of(rows, pageSize,
+                notification -> new SeekCursor(notification.getPostedAt(), notification.getId()),
+                NotificationResponse::from);
+    }
+
     @Transactional(readOnly = true)
     public long getUnreadCount(Long userId) {
         User user = userRepository.findById(userId)
@@ -72,6 +96,27 @@ public class NotificationService {
         return NotificationResponse.from(notificationRepository.save(notification));
     }
 
+    /**
+     * Send every request to every user with one of the roles, loading the recipients once
+     */
+    public void notifyRoles(Collection<UserRole> roles, List<NotificationRequest> requests) {
+        List<User> recipients = userRepository.findByRoleIn(roles);
+        List<Notification> notifications = new ArrayList<>(recipients.size() * requests.size());
+        for (NotificationRequest request : requests) {
+            for (User recipient : recipients) {
+                notifications.add(Notification.builder()
+                        .type(request.type())
+                        .title(request.title())
+                        .description(request.description())
+                        .avatarUrl(request.avatarUrl())
+                        .isUnRead(true)
+                        .user(recipient)
+                        .build());
+            }
+        }
+        notificationRepository.saveAll(notifications);
+    }
+
     @Transactional
     public void markAsRead(Long notificationId, Long userId) {
         Notification notification = notificationRepository.findById(notificationId)
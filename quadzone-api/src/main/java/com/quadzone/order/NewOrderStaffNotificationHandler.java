@@ -0,0 +1,44 @@
+package com.quadzone.order;
+
+import com.quadzone.notification.NotificationService;
+import com.quadzone.notification.dto.NotificationRequest;
+import com.quadzone.outbox.OutboxHandler;
+import com.quadzone.outbox.OutboxType;
+import com.quadzone.user.UserRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Fans a batch of new-order notifications out to every admin and staff user in one transaction
+ */
+@Component
+@RequiredArgsConstructor
+public class NewOrderStaffNotificationHandler implements OutboxHandler<NotificationRequest> {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final NotificationService notificationService;
+
+    @Override
+    public OutboxType type() {
+        return OutboxType.NEW_ORDER_STAFF_NOTIFICATION;
+    }
+
+    @Override
+    public Class<NotificationRequest> payloadType() {
+        return NotificationRequest.class;
+    }
+
+    @Override
+    public void handle(List<NotificationRequest> notifications) {
+        notificationService.notifyRoles(EnumSet.of(UserRole.ADMIN, UserRole.STAFF), notifications);
+    }
+
+    @Override
+    public int batchSize() {
+        return BATCH_SIZE;
+    }
+}
@@ -17,7 +17,7 @@ import java.util.List;
 @Setter
 @ToString
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_order_date", columnList = "order_date, id"))
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,22 @@
+package com.quadzone.order;
+
+import com.quadzone.order.dto.OrderResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox payload of the order confirmation email, captured when the order is placed
+ */
+public record OrderConfirmationEmail(
+        String to,
+        String orderNumber,
+        String customerName,
+        Double totalAmount,
+        LocalDateTime orderDate,
+        int itemsCount
+) {
+    public static OrderConfirmationEmail from(String to, OrderResponse order) {
+        return new OrderConfirmationEmail(to, order.orderNumber(), order.customerName(), order.totalAmount(),
+                order.orderDate(), order.itemsCount());
+    }
+}
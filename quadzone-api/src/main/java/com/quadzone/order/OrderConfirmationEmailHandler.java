@@ -0,0 +1,37 @@
+package com.quadzone.order;
+
+import com.quadzone.outbox.OutboxHandler;
+import com.quadzone.outbox.OutboxType;
+import com.quadzone.utils.email.EmailSenderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One email per call, so an SMTP failure only retries the message it failed on
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderConfirmationEmailHandler implements OutboxHandler<OrderConfirmationEmail> {
+
+    private final EmailSenderService emailSenderService;
+
+    @Override
+    public OutboxType type() {
+        return OutboxType.ORDER_CONFIRMATION_EMAIL;
+    }
+
+    @Override
+    public Class<OrderConfirmationEmail> payloadType() {
+        return OrderConfirmationEmail.class;
+    }
+
+    @Override
+    public void handle(List<OrderConfirmationEmail> emails) {
+        for (OrderConfirmationEmail email : emails) {
+            emailSenderService.sendOrderConfirmationEmail(email.to(), email.orderNumber(), email.customerName(),
+                    email.totalAmount(), email.orderDate(), email.itemsCount());
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.quadzone.order;
 
+import com.quadzone.global.dto.CursorResponse;
 import com.quadzone.global.dto.PagedResponse;
+import com.quadzone.global.export.ExportFormat;
+import com.quadzone.global.idempotency.IdempotencyScope;
+import com.quadzone.global.idempotency.IdempotencyService;
+import com.quadzone.global.idempotency.IdempotentResult;
 import com.quadzone.order.dto.AssignOrderToShipperRequest;
 import com.quadzone.order.dto.CheckoutRequest;
 import com.quadzone.order.dto.OrderDetailsResponse;
 import com.quadzone.order.dto.OrderRegisterRequest;
 import com.quadzone.order.dto.OrderResponse;
 import com.quadzone.order.dto.OrderStatusResponse;
+import com.quadzone.order.dto.OrderSummaryResponse;
 import com.quadzone.order.dto.OrderUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,9 +21,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -28,7 +41,12 @@ import org.springframework.web.bind.annotation.*;
         "Supports order creation, updates, retrieval, and status management.")
 public class OrderController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderExportService orderExportService;
 
     @GetMapping("/admin")
     @Operation(
@@ -55,6 +73,59 @@ public class OrderController {
         return ResponseEntity.ok(orderService.findOrders(page, size, search, status));
     }
 
+    @GetMapping("/admin/scroll")
+    @Operation(
+            summary = "Get all orders with a continuation cursor (Admin)",
+            description = "Keyset-paginated variant of the admin order list, newest first. " +
+                    "Omit the cursor for the first page, then pass the returned nextCursor to fetch the next one. " +
+                    "No total count is computed, so deep pages cost the same as the first one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved orders page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CursorResponse<OrderResponse>> scrollOrders(
+            @Parameter(description = "Continuation cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Search query to filter orders by customer name, email, or order number", example = "john")
+            @RequestParam(defaultValue = "") String search,
+            @Parameter(description = "Filter by order status (PENDING, CONFIRMED, PROCESSING, COMPLETED, CANCELLED)", example = "CONFIRMED")
+            @RequestParam(required = false) String status
+    ) {
+        return ResponseEntity.ok(orderService.scrollOrders(cursor, size, search, status));
+    }
+
+    @GetMapping("/admin/export")
+    @Operation(
+            summary = "Export orders (Admin)",
+            description = "Stream orders as CSV or NDJSON, one row per order item, optionally filtered by status and order date. " +
+                    "Rows are written as they are read from the database, so exports of any size use constant memory."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or invalid date")
+    })
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "csv or ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Filter by order status (PENDING, CONFIRMED, PROCESSING, COMPLETED, CANCELLED)", example = "COMPLETED")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "First order date included (yyyy-MM-dd)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last order date included (yyyy-MM-dd)", example = "2025-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("orders." + exportFormat.getExtension()).build().toString())
+                .body(orderExportService.export(exportFormat, status, from, to));
+    }
+
     @GetMapping("/admin/{id}")
     @Operation(
             summary = "Get order by ID (Admin)",
@@ -112,9 +183,27 @@ public class OrderController {
     @Operation(summary = "Checkout", description = "Create a new order. Supports both guest and authenticated users.")
     @ApiResponse(responseCode = "201", description = "Order created successfully")
     @ApiResponse(responseCode = "400", description = "Invalid input or insufficient stock")
-    public ResponseEntity<OrderResponse> checkout(@Valid @RequestBody CheckoutRequest request) {
-        OrderResponse createdOrder = orderService.checkout(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+    @ApiResponse(responseCode = "409", description = "A checkout with the same Idempotency-Key is still being processed, " +
+            "or a product left flash-sale mode during the checkout; retry")
+    @ApiResponse(responseCode = "422", description = "The Idempotency-Key was already used for a different checkout")
+    public ResponseEntity<OrderResponse> checkout(
+            @Parameter(description = "Client-generated key (e.g. a UUID) identifying this checkout attempt; " +
+                    "retries with the same key get the first order back instead of placing a new one")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CheckoutRequest request) {
+        if (idempotencyKey == null) {
+            OrderResponse createdOrder = orderService.checkout(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+        }
+        // Keys are per caller, so two users cannot replay each other's orders
+        String owner = SecurityContextHolder.getContext().getAuthentication() != null
+                ? SecurityContextHolder.getContext().getAuthentication().getName()
+                : "anonymousUser";
+        IdempotentResult<OrderResponse> result = idempotencyService.execute(IdempotencyScope.CHECKOUT,
+                owner + "|" + idempotencyKey, request, OrderResponse.class, () -> orderService.checkout(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, Boolean.toString(result.replayed()))
+                .body(result.body());
     }
 
     // Public endpoint to check order status by order number
@@ -144,7 +233,7 @@ public class OrderController {
             @ApiResponse(responseCode = "401", description = "User not authenticated"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<PagedResponse<OrderResponse>> getMyOrders(
+    public ResponseEntity<PagedResponse<OrderSummaryResponse>> getMyOrders(
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
@@ -276,7 +365,7 @@ public class OrderController {
             @ApiResponse(responseCode = "403", description = "Forbidden - user is not a shipper"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<PagedResponse<OrderResponse>> getMyAssignedOrders(
+    public ResponseEntity<PagedResponse<OrderSummaryResponse>> getMyAssignedOrders(
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
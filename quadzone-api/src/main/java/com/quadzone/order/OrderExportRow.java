@@ -0,0 +1,28 @@
+package com.quadzone.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One order item with the columns of its order; orders without items appear once with empty item columns
+ */
+public record OrderExportRow(
+        Long orderId,
+        String orderNumber,
+        LocalDateTime orderDate,
+        OrderStatus status,
+        String customerEmail,
+        String customerFirstName,
+        String customerLastName,
+        double subtotal,
+        double shippingCost,
+        double discountAmount,
+        double totalAmount,
+        String couponCode,
+        Long itemId,
+        Long productId,
+        String productName,
+        Integer quantity,
+        BigDecimal priceAtPurchase
+) {
+}
@@ -0,0 +1,75 @@
+package com.quadzone.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quadzone.global.export.ExportColumn;
+import com.quadzone.global.export.ExportFormat;
+import com.quadzone.global.export.ExportWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams orders as CSV or NDJSON, one row per order item, straight from a database cursor in constant memory.
+ * On MySQL, add {@code useCursorFetch=true} to the JDBC URL so the driver honours the fetch size.
+ */
+@Service
+public class OrderExportService {
+
+    private static final List<ExportColumn<OrderExportRow>> COLUMNS = List.of(
+            ExportColumn.of("orderId", OrderExportRow::orderId),
+            ExportColumn.of("orderNumber", OrderExportRow::orderNumber),
+            ExportColumn.of("orderDate", OrderExportRow::orderDate),
+            ExportColumn.of("status", OrderExportRow::status),
+            ExportColumn.of("customerEmail", OrderExportRow::customerEmail),
+            ExportColumn.of("customerFirstName", OrderExportRow::customerFirstName),
+            ExportColumn.of("customerLastName", OrderExportRow::customerLastName),
+            ExportColumn.of("subtotal", OrderExportRow::subtotal),
+            ExportColumn.of("shippingCost", OrderExportRow::shippingCost),
+            ExportColumn.of("discountAmount", OrderExportRow::discountAmount),
+            ExportColumn.of("totalAmount", OrderExportRow::totalAmount),
+            ExportColumn.of("couponCode", OrderExportRow::couponCode),
+            ExportColumn.of("itemId", OrderExportRow::itemId),
+            ExportColumn.of("productId", OrderExportRow::productId),
+            ExportColumn.of("productName", OrderExportRow::productName),
+            ExportColumn.of("quantity", OrderExportRow::quantity),
+            ExportColumn.of("priceAtPurchase", OrderExportRow::priceAtPurchase));
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * The export runs when the returned body is written, on the MVC async thread
+     *
+     * @param from first order date included, or null
+     * @param to   last order date included, or null
+     */
+    public StreamingResponseBody export(ExportFormat format, String status, LocalDate from, LocalDate to) {
+        OrderStatus orderStatus = OrderService.parseStatusFilter(status);
+        return out -> {
+            ExportWriter<OrderExportRow> writer = ExportWriter.open(format, COLUMNS, out, objectMapper);
+            transactionTemplate.executeWithoutResult(txStatus -> {
+                try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(orderStatus,
+                        from != null ? from.atStartOfDay() : null,
+                        to != null ? to.plusDays(1).atStartOfDay() : null)) {
+                    rows.forEach(writer::write);
+                }
+            });
+            writer.flush();
+        };
+    }
+}
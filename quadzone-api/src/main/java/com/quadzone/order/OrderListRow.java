@@ -0,0 +1,34 @@
+package com.quadzone.order;
+
+import com.quadzone.payment.PaymentStatus;
+import com.quadzone.shipping.DeliveryStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order of a customer or shipper listing, with its item count and the status of its payment and delivery
+ */
+public record OrderListRow(
+        Long id,
+        String orderNumber,
+        String customerFirstName,
+        String customerLastName,
+        String customerEmail,
+        String customerPhone,
+        String userFirstName,
+        String userLastName,
+        String userEmail,
+        double subtotal,
+        double taxAmount,
+        double shippingCost,
+        double discountAmount,
+        double totalAmount,
+        OrderStatus status,
+        LocalDateTime orderDate,
+        String address,
+        String notes,
+        Long itemsCount,
+        PaymentStatus paymentStatus,
+        DeliveryStatus deliveryStatus
+) {
+}
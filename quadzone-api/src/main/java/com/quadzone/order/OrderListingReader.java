@@ -0,0 +1,78 @@
+package com.quadzone.order;
+
+import com.quadzone.global.dto.PagedResponse;
+import com.quadzone.order.dto.OrderSummaryResponse;
+import com.quadzone.order.search.OrderSearchKeys;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Read path of the customer and shipper order lists.
+ * <p>
+ * A page costs two statements: the IDs of the page, carrying the total as a window count, then every column
+ * shown for those IDs (item count, payment and delivery status included) as one projection. Only a page past the
+ * end of the listing needs a third statement, to count.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderListingReader {
+
+    private final OrderRepository orderRepository;
+
+    /**
+     * Orders of a registered customer, newest first. A customer without any falls back to the orders placed
+     * with their email, such as guest orders from before they registered.
+     */
+    public PagedResponse<OrderSummaryResponse> customerOrders(Long userId, String email, Pageable pageable) {
+        List<OrderPageEntry> ids = orderRepository.findCustomerOrderIds(userId, pageable);
+        long total = total(ids, pageable, () -> orderRepository.countByUserId(userId));
+        if (total == 0 && email != null) {
+            ids = orderRepository.findOrderIdsByCustomerEmail(email, pageable);
+            total = total(ids, pageable, () -> orderRepository.countByCustomerEmail(email));
+        }
+        return page(ids, total, pageable);
+    }
+
+    /**
+     * Orders assigned to a shipper, most recently assigned first
+     *
+     * @param search order search key prefix (number, customer name or email), or an order status name
+     */
+    public PagedResponse<OrderSummaryResponse> shipperOrders(Long shipperId, String search, Pageable pageable) {
+        String prefix = OrderSearchKeys.prefixPattern(search);
+        OrderStatus status = prefix != null ? OrderService.parseStatusFilter(search) : null;
+        List<OrderPageEntry> ids = orderRepository.findShipperOrderIds(shipperId, prefix, status, pageable);
+        long total = total(ids, pageable, () -> orderRepository.countShipperOrders(shipperId, prefix, status));
+        return page(ids, total, pageable);
+    }
+
+    private PagedResponse<OrderSummaryResponse> page(List<OrderPageEntry> ids, long total, Pageable pageable) {
+        List<OrderSummaryResponse> content = List.of();
+        if (!ids.isEmpty()) {
+            Map<Long, Integer> position = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                position.put(ids.get(i).orderId(), i);
+            }
+            content = orderRepository.findListRows(position.keySet())
+                    .stream()
+                    .sorted(Comparator.comparing(row -> position.get(row.id())))
+                    .map(OrderSummaryResponse::from)
+                    .toList();
+        }
+        return PagedResponse.of(content, total, pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    private static long total(List<OrderPageEntry> ids, Pageable pageable, LongSupplier count) {
+        if (!ids.isEmpty()) {
+            return ids.get(0).total();
+        }
+        return pageable.getOffset() == 0 ? 0 : count.getAsLong();
+    }
+}
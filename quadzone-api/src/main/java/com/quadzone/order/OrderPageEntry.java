@@ -0,0 +1,7 @@
+package com.quadzone.order;
+
+/**
+ * One order of an ID page, with the number of orders matching the whole listing
+ */
+public record OrderPageEntry(Long orderId, Long total) {
+}
@@ -0,0 +1,7 @@
+package com.quadzone.order;
+
+/**
+ * Published by {@link OrderService} when a checkout has created a new order and reduced stock.
+ */
+public record OrderPlacedEvent(Long orderId) {
+}
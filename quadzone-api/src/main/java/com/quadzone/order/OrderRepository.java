@@ -1,38 +1,141 @@
 package com.quadzone.order;
 
+import com.quadzone.product.recommendation.OrderProductPair;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * Orders having a search key that starts with the keyword, for both registered and guest customers.
+     *
+     * @param prefix LIKE pattern from {@link com.quadzone.order.search.OrderSearchKeys#prefixPattern}
+     */
     @Query("""
             SELECT o
             FROM Order o
-            WHERE LOWER(COALESCE(o.user.firstName, '') || ' ' || COALESCE(o.user.lastName, ''))
-                    LIKE LOWER(CONCAT('%', :keyword, '%'))
-               OR LOWER(COALESCE(o.user.email, '')) LIKE LOWER(CONCAT('%', :keyword, '%'))
-               OR LOWER(COALESCE(o.orderNumber, '')) LIKE LOWER(CONCAT('%', :keyword, '%'))
+            WHERE o.id IN (SELECT k.order.id FROM OrderSearchKey k WHERE k.searchKey LIKE :prefix ESCAPE '!')
             """)
-    Page<Order> search(@Param("keyword") String keyword, Pageable pageable);
+    Page<Order> search(@Param("prefix") String prefix, Pageable pageable);
 
     /**
-     * Find orders by user ID with pagination
+     * Keyset page of orders, newest first, with optional search key prefix and status filters.
+     * Pass a null {@code afterId} for the first page, otherwise the (orderDate, id) of the last row seen;
+     * orders without an order date sort last and are paged by id.
      */
-    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.orderDate DESC")
-    Page<Order> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query("""
+            SELECT o
+            FROM Order o
+            WHERE (:status IS NULL OR o.orderStatus = :status)
+              AND (:prefix IS NULL
+                   OR o.id IN (SELECT k.order.id FROM OrderSearchKey k WHERE k.searchKey LIKE :prefix ESCAPE '!'))
+              AND (:afterId IS NULL
+                   OR (:afterOrderDate IS NOT NULL AND (o.orderDate < :afterOrderDate OR o.orderDate IS NULL
+                       OR (o.orderDate = :afterOrderDate AND o.id < :afterId)))
+                   OR (:afterOrderDate IS NULL AND o.orderDate IS NULL AND o.id < :afterId))
+            ORDER BY o.orderDate DESC, o.id DESC
+            """)
+    List<Order> findPageAfter(@Param("prefix") String prefix,
+                              @Param("status") OrderStatus status,
+                              @Param("afterOrderDate") LocalDateTime afterOrderDate,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
 
     /**
-     * Find orders by user email (for guest users who register later)
+     * ID page of a customer's orders, newest first, each carrying the number of orders of the customer
      */
-    @Query("SELECT o FROM Order o WHERE o.customerEmail = :email ORDER BY o.orderDate DESC")
-    Page<Order> findByCustomerEmail(@Param("email") String email, Pageable pageable);
+    @Query("""
+            SELECT new com.quadzone.order.OrderPageEntry(o.id, COUNT(*) OVER ())
+            FROM Order o
+            WHERE o.user.id = :userId
+            ORDER BY o.orderDate DESC, o.id DESC
+            """)
+    List<OrderPageEntry> findCustomerOrderIds(@Param("userId") Long userId, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    /**
+     * ID page of the orders placed with an email, see {@link #findCustomerOrderIds}
+     */
+    @Query("""
+            SELECT new com.quadzone.order.OrderPageEntry(o.id, COUNT(*) OVER ())
+            FROM Order o
+            WHERE o.customerEmail = :email
+            ORDER BY o.orderDate DESC, o.id DESC
+            """)
+    List<OrderPageEntry> findOrderIdsByCustomerEmail(@Param("email") String email, Pageable pageable);
+
+    long countByCustomerEmail(String email);
+
+    /**
+     * ID page of the orders assigned to a shipper, most recently assigned first, each carrying the number of
+     * matching orders. With a search prefix, orders match on a search key or, when given, on their status.
+     *
+     * @param prefix LIKE pattern from {@link com.quadzone.order.search.OrderSearchKeys#prefixPattern}, or null
+     */
+    @Query("""
+            SELECT new com.quadzone.order.OrderPageEntry(o.id, COUNT(*) OVER ())
+            FROM Delivery d
+            JOIN d.order o
+            WHERE d.user.id = :shipperId
+              AND (:prefix IS NULL
+                   OR o.orderStatus = :status
+                   OR o.id IN (SELECT k.order.id FROM OrderSearchKey k WHERE k.searchKey LIKE :prefix ESCAPE '!'))
+            ORDER BY d.createdAt DESC, d.id DESC
+            """)
+    List<OrderPageEntry> findShipperOrderIds(@Param("shipperId") Long shipperId,
+                                             @Param("prefix") String prefix,
+                                             @Param("status") OrderStatus status,
+                                             Pageable pageable);
+
+    /**
+     * Number of orders matched by {@link #findShipperOrderIds}
+     */
+    @Query("""
+            SELECT COUNT(d)
+            FROM Delivery d
+            JOIN d.order o
+            WHERE d.user.id = :shipperId
+              AND (:prefix IS NULL
+                   OR o.orderStatus = :status
+                   OR o.id IN (SELECT k.order.id FROM OrderSearchKey k WHERE k.searchKey LIKE :prefix ESCAPE '!'))
+            """)
+    long countShipperOrders(@Param("shipperId") Long shipperId,
+                            @Param("prefix") String prefix,
+                            @Param("status") OrderStatus status);
+
+    /**
+     * Listing columns of the given orders, in no particular order
+     */
+    @Query("""
+            SELECT new com.quadzone.order.OrderListRow(
+                o.id, o.orderNumber, o.customerFirstName, o.customerLastName, o.customerEmail, o.customerPhone,
+                u.firstName, u.lastName, u.email,
+                o.subtotal, o.taxAmount, o.shippingCost, o.discountAmount, o.totalAmount,
+                o.orderStatus, o.orderDate, o.address, o.notes,
+                (SELECT COUNT(i) FROM OrderItem i WHERE i.order = o),
+                p.paymentStatus, d.deliveryStatus)
+            FROM Order o
+            LEFT JOIN o.user u
+            LEFT JOIN o.payment p
+            LEFT JOIN Delivery d ON d.order = o
+            WHERE o.id IN :ids
+            """)
+    List<OrderListRow> findListRows(@Param("ids") Collection<Long> ids);
 
     /**
      * Find orders by user ID and order status
@@ -44,29 +147,70 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
 
     /**
-     * Search orders with status filter
+     * Search orders with status filter, see {@link #search}
      */
     @Query("""
             SELECT o
             FROM Order o
             WHERE o.orderStatus = :status
-              AND (LOWER(COALESCE(o.user.firstName, '') || ' ' || COALESCE(o.user.lastName, ''))
-                    LIKE LOWER(CONCAT('%', :keyword, '%'))
-               OR LOWER(COALESCE(o.user.email, '')) LIKE LOWER(CONCAT('%', :keyword, '%'))
-               OR LOWER(COALESCE(o.orderNumber, '')) LIKE LOWER(CONCAT('%', :keyword, '%')))
+              AND o.id IN (SELECT k.order.id FROM OrderSearchKey k WHERE k.searchKey LIKE :prefix ESCAPE '!')
             """)
-    Page<Order> searchByQueryAndStatus(@Param("keyword") String keyword, @Param("status") OrderStatus status, Pageable pageable);
+    Page<Order> searchByQueryAndStatus(@Param("prefix") String prefix, @Param("status") OrderStatus status, Pageable pageable);
 
     /**
-     * Find order by order number
+     * Lock the order and read its committed status, which may differ from an instance loaded earlier in the
+     * transaction
      */
-    Optional<Order> findByOrderNumber(String orderNumber);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.orderStatus FROM Order o WHERE o.id = :id")
+    OrderStatus findStatusForUpdate(@Param("id") Long id);
 
     /**
-     * Check if order number exists
+     * Find order by order number
      */
-    boolean existsByOrderNumber(String orderNumber);
+    Optional<Order> findByOrderNumber(String orderNumber);
 
     @Query("SELECT YEAR(o.orderDate), MONTH(o.orderDate), COUNT(o) FROM Order o WHERE o.orderDate BETWEEN :from AND :to GROUP BY YEAR(o.orderDate), MONTH(o.orderDate) ORDER BY YEAR(o.orderDate), MONTH(o.orderDate)")
     java.util.List<Object[]> aggregateMonthlyOrders(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Forward-only stream of order items with their order columns, in (order, item) order, optionally filtered
+     * by status and by order date in [from, to). Rows are constructor projections, so the persistence context
+     * stays empty however many are read. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.quadzone.order.OrderExportRow(
+                o.id, o.orderNumber, o.orderDate, o.orderStatus, COALESCE(u.email, o.customerEmail),
+                COALESCE(u.firstName, o.customerFirstName), COALESCE(u.lastName, o.customerLastName),
+                o.subtotal, o.shippingCost, o.discountAmount, o.totalAmount, o.couponCode,
+                i.id, p.id, p.name, i.quantity, i.priceAtPurchase)
+            FROM Order o
+            LEFT JOIN o.user u
+            LEFT JOIN o.orderItems i
+            LEFT JOIN i.product p
+            WHERE (:status IS NULL OR o.orderStatus = :status)
+              AND (:from IS NULL OR o.orderDate >= :from)
+              AND (:to IS NULL OR o.orderDate < :to)
+            ORDER BY o.id, i.id
+            """)
+    Stream<OrderExportRow> streamExportRows(@Param("status") OrderStatus status,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    /**
+     * Forward-only stream of (order, product) pairs of every non-cancelled order, in order id order.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.quadzone.product.recommendation.OrderProductPair(o.id, i.product.id)
+            FROM OrderItem i JOIN i.order o
+            WHERE o.orderStatus <> com.quadzone.order.OrderStatus.CANCELLED
+            ORDER BY o.id
+            """)
+    Stream<OrderProductPair> streamOrderProductPairs();
+
+    @Query("SELECT DISTINCT i.product.id FROM OrderItem i WHERE i.order.id = :orderId")
+    List<Long> findProductIdsByOrderId(@Param("orderId") Long orderId);
 }
@@ -3,25 +3,38 @@ package com.quadzone.order;
 import com.quadzone.discount.Coupon;
 import com.quadzone.discount.CouponService;
 import com.quadzone.exception.order.OrderNotFoundException;
+import com.quadzone.global.dto.CursorResponse;
 import com.quadzone.global.dto.PagedResponse;
+import com.quadzone.global.dto.SeekCursor;
 import com.quadzone.notification.NotificationService;
 import com.quadzone.notification.dto.NotificationRequest;
 import com.quadzone.order.dto.*;
+import com.quadzone.order.event.OrderEvent;
+import com.quadzone.order.event.OrderEventRecorder;
+import com.quadzone.order.event.OrderEventRepository;
+import com.quadzone.order.event.OrderEventType;
+import com.quadzone.order.number.OrderNumberAllocator;
+import com.quadzone.order.search.OrderSearchIndexer;
+import com.quadzone.order.search.OrderSearchKeys;
+import com.quadzone.outbox.OutboxService;
+import com.quadzone.outbox.OutboxType;
 import com.quadzone.payment.Payment;
 import com.quadzone.payment.PaymentMethod;
 import com.quadzone.payment.PaymentRepository;
 import com.quadzone.payment.PaymentStatus;
 import com.quadzone.product.Product;
-import com.quadzone.product.ProductRepository;
+import com.quadzone.product.sales.ProductSalesService;
+import com.quadzone.product.stock.InventoryHoldService;
+import com.quadzone.product.stock.StockReservationService;
 import com.quadzone.shipping.Delivery;
 import com.quadzone.shipping.DeliveryRepository;
 import com.quadzone.shipping.DeliveryStatus;
 import com.quadzone.user.User;
 import com.quadzone.user.UserRepository;
 import com.quadzone.user.UserRole;
-import com.quadzone.utils.email.EmailSenderService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -34,52 +47,32 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class OrderService {
 
-    private static final SecureRandom RANDOM = new SecureRandom();
-    private static final String ORDER_NUMBER_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-
-    /**
-     * Generate a unique random order number
-     * Format: ORD-XXXXXXXX (8 alphanumeric characters)
-     */
-    private String generateUniqueOrderNumber() {
-        String orderNumber;
-        int maxAttempts = 10;
-        int attempts = 0;
-
-        do {
-            StringBuilder sb = new StringBuilder("ORD-");
-            for (int i = 0; i < 8; i++) {
-                sb.append(ORDER_NUMBER_CHARS.charAt(RANDOM.nextInt(ORDER_NUMBER_CHARS.length())));
-            }
-            orderNumber = sb.toString();
-            attempts++;
-        } while (orderRepository.existsByOrderNumber(orderNumber) && attempts < maxAttempts);
-
-        if (attempts >= maxAttempts) {
-            // Fallback: use timestamp-based order number
-            orderNumber = "ORD-" + System.currentTimeMillis();
-        }
-
-        return orderNumber;
-    }
-
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
-    private final EmailSenderService emailSenderService;
     private final PaymentRepository paymentRepository;
     private final NotificationService notificationService;
     private final DeliveryRepository deliveryRepository;
     private final CouponService couponService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSalesService productSalesService;
+    private final StockReservationService stockReservationService;
+    private final InventoryHoldService inventoryHoldService;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final OrderSearchIndexer orderSearchIndexer;
+    private final OrderListingReader orderListingReader;
+    private final OrderEventRecorder orderEventRecorder;
+    private final OrderEventRepository orderEventRepository;
+    private final OutboxService outboxService;
 
     public OrderResponse getOrder(Long id) {
         Order order = orderRepository.findById(id)
@@ -92,8 +85,10 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("User not found: " + request.userId()));
 
         Order order = OrderRegisterRequest.toOrder(request, user);
-        order.setOrderNumber(generateUniqueOrderNumber());
+        order.setOrderNumber(orderNumberAllocator.next());
         Order savedOrder = orderRepository.save(order);
+        orderSearchIndexer.index(List.of(savedOrder.getId()));
+        orderEventRecorder.record(savedOrder, OrderEventType.CREATED, null);
         OrderResponse orderResponse = OrderResponse.from(savedOrder);
 
         // Notify Admin and Staff about new order
@@ -116,6 +111,8 @@ public class OrderService {
         OrderStatus oldStatus = order.getOrderStatus();
 
         order.updateFrom(request);
+        recordSalesOnStatusChange(order, oldStatus);
+        orderEventRecorder.statusChanged(order, oldStatus, null);
 
         Order savedOrder = orderRepository.save(order);
         OrderResponse orderResponse = OrderResponse.from(savedOrder);
@@ -149,10 +146,48 @@ public class OrderService {
     }
 
     public void deleteOrder(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new OrderNotFoundException(id);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new OrderNotFoundException(id));
+        if (order.getOrderStatus() != OrderStatus.CANCELLED) {
+            productSalesService.record(order, -1);
+        }
+        orderRepository.delete(order);
+    }
+
+    /**
+     * Cancel an order whose online payment never completed, called by the inventory hold sweeper
+     *
+     * @return whether the order is cancelled now, false when it already moved on (its units are then kept)
+     */
+    public boolean cancelUnpaidOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || order.getOrderStatus() == OrderStatus.CANCELLED) {
+            return true;
+        }
+        if (order.getOrderStatus() != OrderStatus.PENDING) {
+            return false;
+        }
+
+        OrderStatus oldStatus = order.getOrderStatus();
+        order.setOrderStatus(OrderStatus.CANCELLED);
+        recordSalesOnStatusChange(order, oldStatus);
+        orderEventRecorder.statusChanged(order, oldStatus, "Online payment not completed in time");
+        paymentRepository.findByOrder(order)
+                .filter(payment -> payment.getPaymentStatus() == PaymentStatus.PENDING)
+                .ifPresent(payment -> payment.setPaymentStatus(PaymentStatus.FAILED));
+        notifyOrderStatusChangeToUser(order, oldStatus, OrderStatus.CANCELLED);
+        return true;
+    }
+
+    /**
+     * Keep the sales counters in line with the order: cancelled orders do not count as sold
+     */
+    private void recordSalesOnStatusChange(Order order, OrderStatus oldStatus) {
+        boolean wasCounted = oldStatus != OrderStatus.CANCELLED;
+        boolean isCounted = order.getOrderStatus() != OrderStatus.CANCELLED;
+        if (wasCounted != isCounted) {
+            productSalesService.record(order, isCounted ? 1 : -1);
         }
-        orderRepository.deleteById(id);
     }
 
     // Admin methods
@@ -160,9 +195,11 @@ public class OrderService {
     public PagedResponse<OrderResponse> findOrders(int page, int size, String search) {
         Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), Sort.by(Sort.Direction.DESC, "orderDate"));
 
+        String prefix = search != null ? OrderSearchKeys.prefixPattern(search) : null;
+
         Page<Order> resultPage;
-        if (search != null && !search.isBlank()) {
-            resultPage = orderRepository.search(search.trim(), pageable);
+        if (prefix != null) {
+            resultPage = orderRepository.search(prefix, pageable);
         } else {
             resultPage = orderRepository.findAll(pageable);
         }
@@ -179,11 +216,44 @@ public class OrderService {
         );
     }
 
+    /**
+     * Timeline from the {@code order_event} log, newest first, with the exact time of every transition
+     */
     @Transactional(readOnly = true)
     public com.quadzone.order.dto.OrderTimelineResponse getOrderTimeline(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found: " + orderId));
 
+        List<OrderEvent> logged = orderEventRepository.findTimeline(orderId);
+        List<OrderTimelineEvent> events = new java.util.ArrayList<>(logged.stream()
+                .map(OrderTimelineEvent::from)
+                .toList());
+        if (logged.stream().noneMatch(event -> event.getType() == OrderEventType.CREATED)) {
+            // Placed before the event log existed: the log only holds its latest transitions, if any
+            java.time.LocalDateTime logStart = logged.isEmpty() ? null : logged.get(logged.size() - 1).getOccurredAt();
+            OrderStatus statusAtLogStart = logged.stream()
+                    .filter(event -> event.getType() == OrderEventType.STATUS_CHANGED)
+                    .reduce((later, earlier) -> earlier)
+                    .map(OrderEvent::getFromStatus)
+                    .orElse(order.getOrderStatus());
+            reconstructTimeline(order, statusAtLogStart)
+                    .stream()
+                    .filter(event -> logStart == null || (event.timestamp() != null && event.timestamp().isBefore(logStart)))
+                    .forEach(events::add);
+            events.sort(java.util.Comparator.comparing(OrderTimelineEvent::timestamp,
+                    java.util.Comparator.nullsLast(java.util.Comparator.reverseOrder())));
+        }
+
+        String orderNum = order.getOrderNumber() != null ? order.getOrderNumber() : ("ORD-" + String.format("%05d", order.getId()));
+        return new com.quadzone.order.dto.OrderTimelineResponse(order.getId(), orderNum, events);
+    }
+
+    /**
+     * Best-effort timeline of orders placed before the event log existed, with guessed timestamps
+     *
+     * @param status status of the order when the log started recording it
+     */
+    private List<OrderTimelineEvent> reconstructTimeline(Order order, OrderStatus status) {
         java.util.List<com.quadzone.order.dto.OrderTimelineEvent> events = new java.util.ArrayList<>();
 
         // Created
@@ -217,8 +287,8 @@ public class OrderService {
         });
 
         // Order confirmation/cancellation (best-effort timestamps)
-        if (order.getOrderStatus() != null) {
-            switch (order.getOrderStatus()) {
+        if (status != null) {
+            switch (status) {
                 case CONFIRMED -> {
                     java.time.LocalDateTime confirmedAt = paymentRepository.findByOrder(order)
                             .map(com.quadzone.payment.Payment::getPaymentDate)
@@ -255,11 +325,7 @@ public class OrderService {
             ));
         });
 
-        // Sort by timestamp
-        events.sort((a, b) -> b.timestamp().compareTo(a.timestamp()));
-
-        String orderNum = order.getOrderNumber() != null ? order.getOrderNumber() : ("ORD-" + String.format("%05d", order.getId()));
-        return new com.quadzone.order.dto.OrderTimelineResponse(order.getId(), orderNum, events);
+        return events;
     }
 
 
@@ -269,22 +335,15 @@ public class OrderService {
 
         Page<Order> resultPage;
 
-        // Parse status if provided
-        OrderStatus orderStatus = null;
-        if (status != null && !status.isBlank()) {
-            try {
-                orderStatus = OrderStatus.valueOf(status.trim().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                // Invalid status, ignore filter
-            }
-        }
+        OrderStatus orderStatus = parseStatusFilter(status);
+        String prefix = search != null ? OrderSearchKeys.prefixPattern(search) : null;
 
-        if (search != null && !search.isBlank() && orderStatus != null) {
+        if (prefix != null && orderStatus != null) {
             // Both search and status filter
-            resultPage = orderRepository.searchByQueryAndStatus(search.trim(), orderStatus, pageable);
-        } else if (search != null && !search.isBlank()) {
+            resultPage = orderRepository.searchByQueryAndStatus(prefix, orderStatus, pageable);
+        } else if (prefix != null) {
             // Only search
-            resultPage = orderRepository.search(search.trim(), pageable);
+            resultPage = orderRepository.search(prefix, pageable);
         } else if (orderStatus != null) {
             // Only status filter
             resultPage = orderRepository.findByOrderStatus(orderStatus, pageable);
@@ -305,6 +364,39 @@ public class OrderService {
         );
     }
 
+    /**
+     * Keyset variant of {@link #findOrders(int, int, String, String)}: newest first, no total count.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> scrollOrders(String cursor, int size, String search, String status) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        int pageSize = Math.max(size, 1);
+        String prefix = search != null ? OrderSearchKeys.prefixPattern(search) : null;
+
+        List<Order> rows = orderRepository.findPageAfter(
+                prefix,
+                parseStatusFilter(status),
+                after != null ? after.sortKey() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        return CursorResponse.of(rows, pageSize,
+                order -> new SeekCursor(order.getOrderDate(), order.getId()),
+                OrderResponse::from);
+    }
+
+    static OrderStatus parseStatusFilter(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return OrderStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // Invalid status, ignore filter
+            return null;
+        }
+    }
+
     @Transactional(readOnly = true)
     public OrderResponse findById(Long id) {
         return orderRepository.findById(id)
@@ -357,7 +449,7 @@ public class OrderService {
 
         // Create order with unique order number
         Order order = new Order();
-        order.setOrderNumber(generateUniqueOrderNumber());
+        order.setOrderNumber(orderNumberAllocator.next());
         order.setOrderDate(LocalDateTime.now());
         order.setSubtotal(subtotal);
         order.setTaxAmount(taxAmount);
@@ -404,52 +496,32 @@ public class OrderService {
             order.setCustomerPhone(request.phone());
         }
 
-        // Create order items and validate products
+        // Reserve stock for all lines at once (locks taken in product ID order), then create the order items
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
         for (CheckoutRequest.CheckoutItemRequest itemRequest : request.items()) {
-            Product product = productRepository.findById(itemRequest.productId())
-                    .orElseThrow(() -> new ResponseStatusException(
-                            HttpStatus.BAD_REQUEST,
-                            "Product not found: " + itemRequest.productId()));
-
-            // Validate stock
-            if (product.getStock() < itemRequest.quantity()) {
-                throw new ResponseStatusException(
-                        HttpStatus.BAD_REQUEST,
-                        "Insufficient stock for product: " + product.getName() +
-                                ". Available: " + product.getStock() + ", Requested: " + itemRequest.quantity());
-            }
-
-            // Validate product is active
-            if (!product.isActive()) {
-                throw new ResponseStatusException(
-                        HttpStatus.BAD_REQUEST,
-                        "Product is not available: " + product.getName());
-            }
+            quantities.merge(itemRequest.productId(), itemRequest.quantity(), Integer::sum);
+        }
+        Map<Long, Product> products = stockReservationService.reserve(quantities);
 
-            // Create order item
+        for (CheckoutRequest.CheckoutItemRequest itemRequest : request.items()) {
+            Product product = products.get(itemRequest.productId());
             OrderItem orderItem = new OrderItem();
             orderItem.setQuantity(itemRequest.quantity());
             orderItem.setPriceAtPurchase(BigDecimal.valueOf(product.getPrice()));
             orderItem.setProduct(product);
             order.addOrderItem(orderItem);
-
-            // Reduce stock
-            int updatedRows = productRepository.reduceStock(product.getId(), itemRequest.quantity());
-            if (updatedRows == 0) {
-                throw new ResponseStatusException(
-                        HttpStatus.BAD_REQUEST,
-                        "Failed to reduce stock for product: " + product.getName());
-            }
         }
 
         // Save order
         Order savedOrder = orderRepository.save(order);
+        productSalesService.record(savedOrder, 1);
 
         // Generate and set order number (format: ORD-00001)
         if (savedOrder.getOrderNumber() == null) {
             savedOrder.setOrderNumber("ORD-" + String.format("%05d", savedOrder.getId()));
             savedOrder = orderRepository.save(savedOrder);
         }
+        orderSearchIndexer.index(List.of(savedOrder.getId()));
 
         // If coupon was applied, consume one usage (sau khi order tạo thành công)
         if (couponCode != null && !couponCode.isBlank()) {
@@ -474,24 +546,19 @@ public class OrderService {
         payment.setPaymentMethod(paymentMethodEnum);
         paymentRepository.save(payment);
 
-        // Send order confirmation email
+        // Online payments may never complete: hold the units so that they come back if the payment does not
+        if (paymentMethodEnum == PaymentMethod.VNPAY) {
+            inventoryHoldService.hold(savedOrder.getId(), quantities);
+        }
+
+        orderEventRecorder.record(savedOrder, OrderEventType.CREATED, "Payment method: " + paymentMethodEnum.name());
+        eventPublisher.publishEvent(new OrderPlacedEvent(savedOrder.getId()));
+
+        // Confirmation email and staff notifications are delivered from the outbox after commit
         OrderResponse orderResponse = OrderResponse.from(savedOrder);
-        try {
-            String customerEmail = orderResponse.customerEmail();
-            if (customerEmail != null && !customerEmail.isBlank()) {
-                emailSenderService.sendOrderConfirmationEmail(
-                        customerEmail,
-                        orderResponse.orderNumber(),
-                        orderResponse.customerName(),
-                        orderResponse.totalAmount(),
-                        orderResponse.orderDate(),
-                        orderResponse.itemsCount()
-                );
-            }
-        } catch (Exception e) {
-            // Log error but don't fail the checkout if email fails
-            org.slf4j.LoggerFactory.getLogger(OrderService.class)
-                    .error("Failed to send order confirmation email", e);
+        String customerEmail = orderResponse.customerEmail();
+        if (customerEmail != null && !customerEmail.isBlank()) {
+            outboxService.enqueue(OutboxType.ORDER_CONFIRMATION_EMAIL, OrderConfirmationEmail.from(customerEmail, orderResponse));
         }
 
         // Create notifications for Admin and Staff users
@@ -562,6 +629,16 @@ public class OrderService {
                         HttpStatus.NOT_FOUND,
                         "Order not found: " + orderNumber));
 
+        // Holds first: the sweeper locks them before the order
+        boolean converted = inventoryHoldService.convert(order.getId());
+        // The order may have been cancelled while we waited for the holds, after it was read above
+        order.setOrderStatus(orderRepository.findStatusForUpdate(order.getId()));
+        if (!converted) {
+            LoggerFactory.getLogger(OrderService.class)
+                    .warn("Order {} was paid after its inventory hold expired; it stays {} and needs a refund",
+                            orderNumber, order.getOrderStatus());
+        }
+
         // Tìm payment của order
         Payment payment = paymentRepository.findByOrder(order)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -588,12 +665,14 @@ public class OrderService {
         }
 
         paymentRepository.save(payment);
+        orderEventRecorder.record(order, OrderEventType.PAYMENT_COMPLETED, "Transaction " + transactionId);
 
         // Cập nhật order status từ PENDING sang CONFIRMED
         OrderStatus oldStatus = order.getOrderStatus();
         if (order.getOrderStatus() == OrderStatus.PENDING) {
             order.setOrderStatus(OrderStatus.CONFIRMED);
             orderRepository.save(order);
+            orderEventRecorder.statusChanged(order, oldStatus, "Payment completed");
 
             // Notify user về status change
             notifyOrderStatusChangeToUser(order, oldStatus, OrderStatus.CONFIRMED);
@@ -624,11 +703,15 @@ public class OrderService {
             return;
         }
 
+        // The sweeper cancels the order and returns its stock
+        inventoryHoldService.expire(order.getId());
+
         Payment payment = paymentRepository.findByOrder(order).orElse(null);
 
         if (payment != null) {
             payment.setPaymentStatus(PaymentStatus.FAILED);
             paymentRepository.save(payment);
+            orderEventRecorder.record(order, OrderEventType.PAYMENT_FAILED, null);
             LoggerFactory.getLogger(OrderService.class)
                     .info("Payment for order {} marked as FAILED", orderNumber);
         }
@@ -681,11 +764,15 @@ public class OrderService {
 
         // Save delivery
         deliveryRepository.save(delivery);
+        orderEventRecorder.record(order, OrderEventType.SHIPPER_ASSIGNED,
+                shipper.getFullName() + ", tracking " + delivery.getTrackingNumber());
 
         // Update order status to PROCESSING if still PENDING or CONFIRMED
         if (order.getOrderStatus() == OrderStatus.PENDING || order.getOrderStatus() == OrderStatus.CONFIRMED) {
+            OrderStatus oldStatus = order.getOrderStatus();
             order.setOrderStatus(OrderStatus.PROCESSING);
             orderRepository.save(order);
+            orderEventRecorder.statusChanged(order, oldStatus, "Assigned to shipper");
         }
 
         OrderResponse orderResponse = OrderResponse.from(order);
@@ -737,46 +824,30 @@ public class OrderService {
     }
 
     /**
-     * Notify Admin and Staff about new order
+     * Notify Admin and Staff about new order, through the outbox so that it only happens if the order commits
      */
     private void notifyNewOrderToAdminAndStaff(OrderResponse orderResponse) {
-        try {
-            String customerName = orderResponse.customerName() != null
-                    ? orderResponse.customerName()
-                    : "Guest Customer";
-
-            Double totalAmount = orderResponse.totalAmount();
-            String totalAmountStr = totalAmount != null
-                    ? String.format("$%.2f", totalAmount)
-                    : "N/A";
-
-            NotificationRequest notificationRequest = new NotificationRequest(
-                    "order",
-                    "New Order Received",
-                    String.format("New order #%s from %s. Total: %s (%d item%s)",
-                            orderResponse.orderNumber(),
-                            customerName,
-                            totalAmountStr,
-                            orderResponse.itemsCount(),
-                            orderResponse.itemsCount() != 1 ? "s" : ""),
-                    null // avatarUrl
-            );
-
-            // Notify Admin users
-            List<User> adminUsers = userRepository.findByRole(UserRole.ADMIN);
-            for (User admin : adminUsers) {
-                notificationService.createNotification(admin.getId(), notificationRequest);
-            }
-
-            // Notify Staff users
-            List<User> staffUsers = userRepository.findByRole(UserRole.STAFF);
-            for (User staff : staffUsers) {
-                notificationService.createNotification(staff.getId(), notificationRequest);
-            }
-        } catch (Exception e) {
-            LoggerFactory.getLogger(OrderService.class)
-                    .error("Failed to create notifications for admin and staff", e);
-        }
+        String customerName = orderResponse.customerName() != null
+                ? orderResponse.customerName()
+                : "Guest Customer";
+
+        Double totalAmount = orderResponse.totalAmount();
+        String totalAmountStr = totalAmount != null
+                ? String.format("$%.2f", totalAmount)
+                : "N/A";
+
+        NotificationRequest notificationRequest = new NotificationRequest(
+                "order",
+                "New Order Received",
+                String.format("New order #%s from %s. Total: %s (%d item%s)",
+                        orderResponse.orderNumber(),
+                        customerName,
+                        totalAmountStr,
+                        orderResponse.itemsCount(),
+                        orderResponse.itemsCount() != 1 ? "s" : ""),
+                null // avatarUrl
+        );
+        outboxService.enqueue(OutboxType.NEW_ORDER_STAFF_NOTIFICATION, notificationRequest);
     }
 
     /**
@@ -884,7 +955,7 @@ public class OrderService {
      * @return PagedResponse with orders assigned to the shipper
      */
     @Transactional(readOnly = true)
-    public PagedResponse<OrderResponse> findOrdersByShipper(int page, int size, String search) {
+    public PagedResponse<OrderSummaryResponse> findOrdersByShipper(int page, int size, String search) {
         // Get current authenticated user
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -899,43 +970,8 @@ public class OrderService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is not a shipper");
         }
 
-        // Sort by Delivery createdAt (when delivery was assigned) instead of order.orderDate
-        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), Sort.by(Sort.Direction.DESC, "createdAt"));
-
-        Page<Delivery> deliveriesPage;
-        deliveriesPage = deliveryRepository.findAllByUser_Id(currentUser.getId(), pageable);
-
-        // Convert deliveries to orders and filter by search if needed
-        var orders = deliveriesPage.getContent().stream()
-                .map(Delivery::getOrder)
-                .filter(order -> {
-                    if (search == null || search.isBlank()) {
-                        return true;
-                    }
-                    String searchLower = search.toLowerCase();
-                    String orderNumber = "ORD-" + String.format("%05d", order.getId());
-                    String customerName = (order.getCustomerFirstName() != null ? order.getCustomerFirstName() : "") +
-                            " " + (order.getCustomerLastName() != null ? order.getCustomerLastName() : "");
-                    return orderNumber.toLowerCase().contains(searchLower)
-                            || customerName.toLowerCase().contains(searchLower)
-                            || (order.getOrderStatus() != null && order.getOrderStatus().name().toLowerCase().contains(searchLower));
-                })
-                .sorted((a, b) -> {
-                    // Sort by order date descending (most recent first)
-                    if (a.getOrderDate() == null && b.getOrderDate() == null) return 0;
-                    if (a.getOrderDate() == null) return 1;
-                    if (b.getOrderDate() == null) return -1;
-                    return b.getOrderDate().compareTo(a.getOrderDate());
-                })
-                .map(OrderResponse::from)
-                .toList();
-
-        return PagedResponse.of(
-                orders,
-                deliveriesPage.getTotalElements(),
-                deliveriesPage.getNumber(),
-                deliveriesPage.getSize()
-        );
+        return orderListingReader.shipperOrders(currentUser.getId(), search,
+                PageRequest.of(Math.max(page, 0), Math.max(size, 1)));
     }
 
     /**
@@ -1009,6 +1045,7 @@ public class OrderService {
             }
 
             order.setOrderStatus(request.orderStatus());
+            recordSalesOnStatusChange(order, oldStatus);
 
             // Update delivery status based on order status
             if (request.orderStatus() == OrderStatus.PROCESSING) {
@@ -1021,6 +1058,7 @@ public class OrderService {
             }
 
             deliveryRepository.save(delivery);
+            orderEventRecorder.statusChanged(order, oldStatus, "Delivery " + delivery.getDeliveryStatus().name());
         }
 
         Order savedOrder = orderRepository.save(order);
@@ -1042,7 +1080,7 @@ public class OrderService {
      * @return PagedResponse with user's orders
      */
     @Transactional(readOnly = true)
-    public PagedResponse<OrderResponse> getMyOrders(int page, int size) {
+    public PagedResponse<OrderSummaryResponse> getMyOrders(int page, int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() ||
                 authentication.getName().equals("anonymousUser")) {
@@ -1052,26 +1090,8 @@ public class OrderService {
         User user = userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1));
-
-        // First try to find orders by user ID
-        Page<Order> ordersPage = orderRepository.findByUserId(user.getId(), pageable);
-
-        // If no orders found by user ID, also check by email (for orders placed before user registered)
-        if (ordersPage.isEmpty() && user.getEmail() != null) {
-            ordersPage = orderRepository.findByCustomerEmail(user.getEmail(), pageable);
-        }
-
-        var orders = ordersPage.stream()
-                .map(OrderResponse::from)
-                .toList();
-
-        return PagedResponse.of(
-                orders,
-                ordersPage.getTotalElements(),
-                ordersPage.getNumber(),
-                ordersPage.getSize()
-        );
+        return orderListingReader.customerOrders(user.getId(), user.getEmail(),
+                PageRequest.of(Math.max(page, 0), Math.max(size, 1)));
     }
 
     /**
@@ -0,0 +1,64 @@
+package com.quadzone.order.dto;
+
+import com.quadzone.order.OrderListRow;
+import com.quadzone.order.OrderStatus;
+import com.quadzone.payment.PaymentStatus;
+import com.quadzone.shipping.DeliveryStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link OrderResponse} with the payment and delivery status, for the customer and shipper order lists
+ */
+public record OrderSummaryResponse(
+        Long id,
+        String orderNumber,
+        String customerName,
+        String customerEmail,
+        String customerPhone,
+        Double subtotal,
+        Double taxAmount,
+        Double shippingCost,
+        Double discountAmount,
+        Double totalAmount,
+        OrderStatus status,
+        LocalDateTime orderDate,
+        int itemsCount,
+        String address,
+        String notes,
+        PaymentStatus paymentStatus,
+        DeliveryStatus deliveryStatus
+) {
+    public static OrderSummaryResponse from(OrderListRow row) {
+        boolean registered = row.userEmail() != null;
+        // Same rules as OrderResponse: the checkout snapshot wins over the account
+        String customerName = row.customerFirstName() != null && row.customerLastName() != null
+                ? row.customerFirstName() + " " + row.customerLastName()
+                : registered ? row.userFirstName() + " " + row.userLastName() : "Guest";
+        String customerEmail = row.customerEmail() != null || !registered ? row.customerEmail() : row.userEmail();
+
+        String orderNum = row.orderNumber() != null
+                ? row.orderNumber()
+                : "ORD-" + String.format("%05d", row.id());
+
+        return new OrderSummaryResponse(
+                row.id(),
+                orderNum,
+                customerName,
+                customerEmail,
+                row.customerPhone(),
+                row.subtotal(),
+                row.taxAmount(),
+                row.shippingCost(),
+                row.discountAmount(),
+                row.totalAmount(),
+                row.status(),
+                row.orderDate(),
+                row.itemsCount().intValue(),
+                row.address(),
+                row.notes(),
+                row.paymentStatus(),
+                row.deliveryStatus()
+        );
+    }
+}
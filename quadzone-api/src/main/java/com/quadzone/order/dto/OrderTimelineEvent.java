@@ -1,5 +1,8 @@
 package com.quadzone.order.dto;
 
+import com.quadzone.order.OrderStatus;
+import com.quadzone.order.event.OrderEvent;
+
 import java.time.LocalDateTime;
 
 public record OrderTimelineEvent(
@@ -7,4 +10,32 @@ public record OrderTimelineEvent(
         String title,
         String description,
         LocalDateTime timestamp
-) {}
+) {
+    public static OrderTimelineEvent from(OrderEvent event) {
+        return switch (event.getType()) {
+            case CREATED -> new OrderTimelineEvent("order_created", "Order Created",
+                    describe("Order was created", event.getDetail()), event.getOccurredAt());
+            case STATUS_CHANGED -> new OrderTimelineEvent("order_status", "Order " + label(event.getToStatus()),
+                    describe(label(event.getFromStatus()) + " -> " + label(event.getToStatus()), event.getDetail()),
+                    event.getOccurredAt());
+            case PAYMENT_COMPLETED -> new OrderTimelineEvent("payment", "Payment Completed",
+                    describe("Status: COMPLETED", event.getDetail()), event.getOccurredAt());
+            case PAYMENT_FAILED -> new OrderTimelineEvent("payment", "Payment Failed",
+                    describe("Status: FAILED", event.getDetail()), event.getOccurredAt());
+            case SHIPPER_ASSIGNED -> new OrderTimelineEvent("delivery", "Shipper Assigned",
+                    describe("Assigned for delivery", event.getDetail()), event.getOccurredAt());
+        };
+    }
+
+    private static String label(OrderStatus status) {
+        if (status == null) {
+            return "Unknown";
+        }
+        String name = status.name();
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    private static String describe(String description, String detail) {
+        return detail == null ? description : description + " (" + detail + ")";
+    }
+}
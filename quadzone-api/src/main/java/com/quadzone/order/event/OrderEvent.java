@@ -0,0 +1,63 @@
+package com.quadzone.order.event;
+
+import com.quadzone.order.Order;
+import com.quadzone.order.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One state transition of an order, appended by {@link OrderEventRecorder} in the transaction that made it.
+ * Rows are never updated; the timeline of an order is one range read of {@code idx_order_event_order}.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Immutable
+@Entity
+@Table(name = "order_event", indexes = @Index(name = "idx_order_event_order", columnList = "order_id, occurred_at"))
+public class OrderEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Order order;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 24)
+    private OrderEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 16)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 16)
+    private OrderStatus toStatus;
+
+    /**
+     * Free text such as the payment transaction, the shipper or the new delivery status
+     */
+    @Column(length = 255)
+    private String detail;
+
+    /**
+     * Email of the authenticated user who made the change, null for gateway callbacks and background jobs
+     */
+    @Column(length = 255)
+    private String actor;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
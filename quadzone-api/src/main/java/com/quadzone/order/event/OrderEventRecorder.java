@@ -0,0 +1,61 @@
+package com.quadzone.order.event;
+
+import com.quadzone.order.Order;
+import com.quadzone.order.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appends to the {@code order_event} log. Must be called in the transaction that changes the order, so that
+ * the log holds exactly the committed transitions.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventRecorder {
+
+    private static final int MAX_DETAIL_LENGTH = 255;
+
+    private final OrderEventRepository orderEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Order order, OrderEventType type, String detail) {
+        record(order, type, null, null, detail);
+    }
+
+    /**
+     * Record a status change; nothing is recorded when the status did not change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Order order, OrderStatus from, String detail) {
+        if (order.getOrderStatus() != from) {
+            record(order, OrderEventType.STATUS_CHANGED, from, order.getOrderStatus(), detail);
+        }
+    }
+
+    private void record(Order order, OrderEventType type, OrderStatus from, OrderStatus to, String detail) {
+        orderEventRepository.save(OrderEvent.builder()
+                .order(order)
+                .type(type)
+                .fromStatus(from)
+                .toStatus(to)
+                .detail(detail != null && detail.length() > MAX_DETAIL_LENGTH ? detail.substring(0, MAX_DETAIL_LENGTH) : detail)
+                .actor(currentActor())
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
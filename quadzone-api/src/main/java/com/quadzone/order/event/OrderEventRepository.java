@@ -0,0 +1,16 @@
+package com.quadzone.order.event;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    /**
+     * Events of one order, newest first
+     */
+    @Query("SELECT e FROM OrderEvent e WHERE e.order.id = :orderId ORDER BY e.occurredAt DESC, e.id DESC")
+    List<OrderEvent> findTimeline(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,9 @@
+package com.quadzone.order.event;
+
+public enum OrderEventType {
+    CREATED,
+    STATUS_CHANGED,
+    PAYMENT_COMPLETED,
+    PAYMENT_FAILED,
+    SHIPPER_ASSIGNED
+}
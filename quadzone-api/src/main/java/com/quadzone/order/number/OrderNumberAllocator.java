@@ -0,0 +1,212 @@
+package com.quadzone.order.number;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocates order numbers of the form {@code ORD-XXXXXXXX} without checking the orders table.
+ * <p>
+ * Every node reserves blocks of consecutive values from the {@code order_number_sequence} row, one short
+ * transaction per block, and hands them out from memory. Reserved values are never reused, so numbers are
+ * unique across nodes and restarts; a restart only skips the rest of its current and next block.
+ * <p>
+ * The next block is reserved on a background thread once half of the current one is used, and the first one at
+ * startup. Callers run inside their checkout transaction: reserving there would take a second pooled connection
+ * per checkout. They only wait for a block when they use numbers up faster than blocks are reserved.
+ * Each value is passed through a fixed permutation of the 36<sup>8</sup> code space before encoding, so
+ * consecutive orders get unrelated codes and the numbers do not reveal the order volume.
+ * <p>
+ * Numbers issued by the former random generator share the same space; the unique index on
+ * {@code orders.order_number} remains the backstop for that (vanishingly unlikely) collision.
+ */
+@Component
+public class OrderNumberAllocator {
+
+    static final String SEQUENCE = "order";
+    static final String PREFIX = "ORD-";
+
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int LENGTH = 8;
+    private static final long SPACE = pow(ALPHABET.length(), LENGTH);
+
+    // Feistel network over 42 bits, the smallest even width covering SPACE
+    private static final int HALF_BITS = 21;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final long[] ROUND_KEYS = {0x3C6EF372L, 0x1B873593L, 0x68E31DA4L, 0x5BD1E995L};
+
+    private final OrderNumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final ThreadPoolExecutor reserver;
+
+    // Block being handed out: [next, end)
+    private long next;
+    private long end;
+    // End of the block reserved ahead, 0 when there is none
+    private long reservedEnd;
+    private CompletableFuture<Void> reserving;
+
+    public OrderNumberAllocator(OrderNumberSequenceRepository sequenceRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${application.order-numbers.block-size:100}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Order number block size must be positive");
+        }
+        this.sequenceRepository = sequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blockSize = blockSize;
+        this.reserver = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "order-number-reserver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.reserver.allowCoreThreadTimeOut(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reserveFirstBlock() {
+        if (next == end && reservedEnd == 0 && reserving == null) {
+            startReserving();
+        }
+    }
+
+    public String next() {
+        while (true) {
+            CompletableFuture<Void> pending;
+            synchronized (this) {
+                if (next == end && reservedEnd != 0) {
+                    next = reservedEnd - blockSize;
+                    end = reservedEnd;
+                    reservedEnd = 0;
+                }
+                if (next < end) {
+                    long value = next++;
+                    if (reservedEnd == 0 && reserving == null && end - next <= blockSize / 2) {
+                        startReserving();
+                    }
+                    return encode(permute(value));
+                }
+                if (reserving == null) {
+                    startReserving();
+                }
+                pending = reserving;
+            }
+            try {
+                pending.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reserver.shutdown();
+    }
+
+    /**
+     * Called holding the monitor; the reservation itself runs without it
+     */
+    private void startReserving() {
+        CompletableFuture<Void> reserved = new CompletableFuture<>();
+        reserving = reserved;
+        reserver.execute(() -> {
+            try {
+                long blockEnd = reserveBlock();
+                synchronized (this) {
+                    reservedEnd = blockEnd;
+                    reserving = null;
+                }
+                reserved.complete(null);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    reserving = null;
+                }
+                reserved.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * One short transaction, so the sequence row is locked only for the update
+     *
+     * @return the end (exclusive) of the reserved block
+     */
+    private long reserveBlock() {
+        Long blockEnd = null;
+        while (blockEnd == null) {
+            try {
+                blockEnd = transactionTemplate.execute(status -> {
+                    if (sequenceRepository.advance(SEQUENCE, blockSize) == 0) {
+                        sequenceRepository.create(SEQUENCE, blockSize);
+                        return (long) blockSize;
+                    }
+                    return sequenceRepository.findNextValue(SEQUENCE);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row first; advance it instead
+            }
+        }
+        if (blockEnd > SPACE) {
+            throw new IllegalStateException("Order number space is exhausted");
+        }
+        return blockEnd;
+    }
+
+    /**
+     * Bijection on [0, SPACE): the Feistel network permutes [0, 2^42) and cycle-walking maps values that land
+     * outside the code space back into it
+     */
+    static long permute(long value) {
+        long x = value;
+        do {
+            x = feistel(x);
+        } while (x >= SPACE);
+        return x;
+    }
+
+    static String encode(long value) {
+        char[] code = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return PREFIX + new String(code);
+    }
+
+    private static long feistel(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long key : ROUND_KEYS) {
+            long mixed = left ^ round(right, key);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long round(long half, long key) {
+        long x = (half ^ key) * 0x9E3779B97F4A7C15L;
+        return (x ^ (x >>> 32)) & HALF_MASK;
+    }
+
+    private static long pow(long base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package com.quadzone.order.number;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Next unallocated value of a named sequence. Nodes reserve whole blocks of values from it, see
+ * {@link OrderNumberAllocator}.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "order_number_sequence")
+public class OrderNumberSequence {
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
@@ -0,0 +1,26 @@
+package com.quadzone.order.number;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OrderNumberSequenceRepository extends JpaRepository<OrderNumberSequence, String> {
+
+    /**
+     * The row lock taken here is held until the calling transaction ends, so concurrent advances are serialized
+     */
+    @Modifying
+    @Query("UPDATE OrderNumberSequence s SET s.nextValue = s.nextValue + :count WHERE s.name = :name")
+    int advance(@Param("name") String name, @Param("count") long count);
+
+    /**
+     * Plain insert rather than {@code save}: a merge could silently overwrite a row another node created meanwhile
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_number_sequence (name, next_value) VALUES (:name, :nextValue)", nativeQuery = true)
+    void create(@Param("name") String name, @Param("nextValue") long nextValue);
+
+    @Query("SELECT s.nextValue FROM OrderNumberSequence s WHERE s.name = :name")
+    long findNextValue(@Param("name") String name);
+}
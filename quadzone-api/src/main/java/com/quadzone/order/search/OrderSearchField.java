@@ -0,0 +1,10 @@
+package com.quadzone.order.search;
+
+/**
+ * Which order field a search key was derived from
+ */
+public enum OrderSearchField {
+    ORDER_NUMBER,
+    EMAIL,
+    NAME
+}
@@ -0,0 +1,102 @@
+package com.quadzone.order.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code order_search_key} in line with the orders, in the transaction that writes them: an order is
+ * searchable as soon as it is committed. Orders placed before the table existed are indexed at startup.
+ */
+@Slf4j
+@Component
+public class OrderSearchIndexer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO order_search_key (order_id, field, search_key) VALUES (?, ?, ?)";
+
+    private final OrderSearchKeyRepository orderSearchKeyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderSearchIndexer(OrderSearchKeyRepository orderSearchKeyRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.orderSearchKeyRepository = orderSearchKeyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Replace the keys of the given orders, which must already be flushed or saved in this transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void index(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<OrderSearchSource> sources = orderSearchKeyRepository.findSources(orderIds);
+        orderSearchKeyRepository.deleteByOrderIds(orderIds);
+        List<Object[]> rows = new ArrayList<>();
+        for (OrderSearchSource source : sources) {
+            for (Map.Entry<String, OrderSearchField> key : OrderSearchKeys.keysOf(source).entrySet()) {
+                rows.add(new Object[]{source.orderId(), key.getValue().name(), key.getKey()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * Re-index the orders of a customer whose name or email changed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reindexCustomer(Long userId) {
+        List<Long> orderIds = orderSearchKeyRepository.findOrderIdsByUserId(userId);
+        for (int from = 0; from < orderIds.size(); from += BATCH_SIZE) {
+            index(orderIds.subList(from, Math.min(from + BATCH_SIZE, orderIds.size())));
+        }
+    }
+
+    /**
+     * Index the orders that have no key yet, one batch per transaction
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        long indexed = 0;
+        try {
+            long lastId = 0L;
+            List<Long> batch;
+            do {
+                batch = orderSearchKeyRepository.findUnindexedOrderIds(lastId, PageRequest.of(0, BATCH_SIZE));
+                List<Long> orderIds = batch;
+                transactionTemplate.executeWithoutResult(status -> index(orderIds));
+                indexed += batch.size();
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1);
+                }
+            } while (batch.size() == BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("Failed to index existing orders for search after {} orders", indexed, e);
+            return;
+        }
+        if (indexed > 0) {
+            log.info("Order search keys built for {} existing orders in {} ms", indexed, System.currentTimeMillis() - start);
+        }
+    }
+}
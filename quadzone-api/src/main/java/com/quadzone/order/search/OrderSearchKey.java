@@ -0,0 +1,38 @@
+package com.quadzone.order.search;
+
+import com.quadzone.order.Order;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One normalized search key of an order, matched by prefix through {@code idx_order_search_key}.
+ * Rows are written in batches by {@link OrderSearchIndexer}; the entity is only queried through JPA.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "order_search_key",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_search_key_order", columnNames = {"order_id", "search_key"}),
+        indexes = @Index(name = "idx_order_search_key", columnList = "search_key, order_id"))
+public class OrderSearchKey {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Order order;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OrderSearchField field;
+
+    @Column(name = "search_key", nullable = false, length = OrderSearchKeys.MAX_LENGTH)
+    private String searchKey;
+}
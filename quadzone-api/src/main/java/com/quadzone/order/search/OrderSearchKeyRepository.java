@@ -0,0 +1,42 @@
+package com.quadzone.order.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderSearchKeyRepository extends JpaRepository<OrderSearchKey, Long> {
+
+    @Query("""
+            SELECT new com.quadzone.order.search.OrderSearchSource(
+                o.id, o.orderNumber, o.customerFirstName, o.customerLastName, o.customerEmail,
+                u.firstName, u.lastName, u.email)
+            FROM Order o
+            LEFT JOIN o.user u
+            WHERE o.id IN :orderIds
+            """)
+    List<OrderSearchSource> findSources(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId")
+    List<Long> findOrderIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Next orders without any key, in id order: those placed before the index existed
+     */
+    @Query("""
+            SELECT o.id
+            FROM Order o
+            WHERE o.id > :afterId
+              AND NOT EXISTS (SELECT 1 FROM OrderSearchKey k WHERE k.order.id = o.id)
+            ORDER BY o.id
+            """)
+    List<Long> findUnindexedOrderIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderSearchKey k WHERE k.order.id IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -0,0 +1,104 @@
+package com.quadzone.order.search;
+
+import com.quadzone.utils.TextFolding;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Derives the search keys of an order and turns an admin keyword into the prefix pattern they are matched with.
+ * <p>
+ * Keys and keywords are folded the same way (lower case, no Vietnamese diacritics, single spaces), so a keyword
+ * matches when it is a prefix of a key:
+ * <ul>
+ *     <li>the order number, with and without its {@code ORD-} prefix: "ORD-7F" and "7f" both find ORD-7FK2AB3C</li>
+ *     <li>the customer email</li>
+ *     <li>the customer name from every word on, in both name orders: "van an" finds "Nguyễn Văn An"</li>
+ * </ul>
+ */
+public final class OrderSearchKeys {
+
+    static final int MAX_LENGTH = 191;
+
+    private static final String ORDER_NUMBER_PREFIX = "ord-";
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private OrderSearchKeys() {
+    }
+
+    /**
+     * @return search keys of the order, each with the field it was first derived from
+     */
+    static Map<String, OrderSearchField> keysOf(OrderSearchSource source) {
+        Map<String, OrderSearchField> keys = new LinkedHashMap<>();
+        String orderNumber = normalize(source.orderNumber());
+        if (orderNumber != null) {
+            add(keys, orderNumber, OrderSearchField.ORDER_NUMBER);
+            if (orderNumber.startsWith(ORDER_NUMBER_PREFIX)) {
+                add(keys, orderNumber.substring(ORDER_NUMBER_PREFIX.length()), OrderSearchField.ORDER_NUMBER);
+            }
+        }
+        add(keys, normalize(source.customerEmail()), OrderSearchField.EMAIL);
+        add(keys, normalize(source.userEmail()), OrderSearchField.EMAIL);
+        addName(keys, source.customerFirstName(), source.customerLastName());
+        addName(keys, source.userFirstName(), source.userLastName());
+        return keys;
+    }
+
+    /**
+     * @return the LIKE pattern (escape character {@code !}, which unlike a backslash needs no quoting in MySQL)
+     * matching every key starting with the keyword, or null when nothing is left of it
+     */
+    public static String prefixPattern(String keyword) {
+        String normalized = normalize(keyword);
+        if (normalized == null) {
+            return null;
+        }
+        if (normalized.length() > MAX_LENGTH) {
+            normalized = normalized.substring(0, MAX_LENGTH);
+        }
+        return normalized.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = SPACES.matcher(TextFolding.fold(value)).replaceAll(" ").trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static void addName(Map<String, OrderSearchField> keys, String firstName, String lastName) {
+        String first = normalize(firstName);
+        String last = normalize(lastName);
+        addWordSuffixes(keys, join(first, last));
+        addWordSuffixes(keys, join(last, first));
+    }
+
+    private static void addWordSuffixes(Map<String, OrderSearchField> keys, String name) {
+        if (name == null) {
+            return;
+        }
+        String[] words = name.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            add(keys, String.join(" ", Arrays.copyOfRange(words, i, words.length)), OrderSearchField.NAME);
+        }
+    }
+
+    private static String join(String a, String b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : a + " " + b;
+    }
+
+    private static void add(Map<String, OrderSearchField> keys, String key, OrderSearchField field) {
+        if (key != null) {
+            keys.putIfAbsent(key.length() > MAX_LENGTH ? key.substring(0, MAX_LENGTH) : key, field);
+        }
+    }
+}
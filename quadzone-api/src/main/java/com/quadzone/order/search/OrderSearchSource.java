@@ -0,0 +1,17 @@
+package com.quadzone.order.search;
+
+/**
+ * The searchable fields of an order: its number, the customer snapshot taken at checkout and, for registered
+ * customers, their current account
+ */
+public record OrderSearchSource(
+        Long orderId,
+        String orderNumber,
+        String customerFirstName,
+        String customerLastName,
+        String customerEmail,
+        String userFirstName,
+        String userLastName,
+        String userEmail
+) {
+}
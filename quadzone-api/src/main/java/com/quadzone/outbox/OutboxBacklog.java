@@ -0,0 +1,6 @@
+package com.quadzone.outbox;
+
+import java.time.LocalDateTime;
+
+public record OutboxBacklog(OutboxType type, Long pending, LocalDateTime oldestCreatedAt) {
+}
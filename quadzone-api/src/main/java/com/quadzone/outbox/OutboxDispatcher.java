@@ -0,0 +1,346 @@
+package com.quadzone.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox messages in the background.
+ * <p>
+ * A single coordinator thread claims due messages in batches (one short transaction each), hands them to the
+ * delivery pool grouped by type and chunked by {@link OutboxHandler#batchSize()}, waits for the chunks and then
+ * records the outcome: delivered messages are marked in one update, failed ones are retried with exponential
+ * backoff until {@code max-attempts} and then left as {@link OutboxStatus#DEAD}.
+ * <p>
+ * Dispatch starts right after a transaction that enqueued messages commits; the poll only picks up retries,
+ * expired leases and messages of other nodes.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<OutboxType, OutboxHandler<?>> handlers = new EnumMap<>(OutboxType.class);
+    private final Map<OutboxType, HandlerCounters> counters = new EnumMap<>(OutboxType.class);
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final int retentionDays;
+
+    private final ExecutorService coordinator;
+    private final ExecutorService deliveryPool;
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+    private final AtomicLong dispatches = new AtomicLong();
+    private final AtomicLong failedDispatches = new AtomicLong();
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            List<OutboxHandler<?>> handlerBeans,
+                            @Value("${application.outbox.batch-size:100}") int batchSize,
+                            @Value("${application.outbox.pool-size:4}") int poolSize,
+                            @Value("${application.outbox.max-attempts:8}") int maxAttempts,
+                            @Value("${application.outbox.initial-backoff-ms:5000}") long initialBackoffMillis,
+                            @Value("${application.outbox.max-backoff-ms:600000}") long maxBackoffMillis,
+                            @Value("${application.outbox.lease-ms:120000}") long leaseMillis,
+                            @Value("${application.outbox.retention-days:7}") int retentionDays) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (OutboxHandler<?> handler : handlerBeans) {
+            if (handlers.put(handler.type(), handler) != null) {
+                throw new IllegalStateException("More than one outbox handler for " + handler.type());
+            }
+        }
+        for (OutboxType type : OutboxType.values()) {
+            if (!handlers.containsKey(type)) {
+                throw new IllegalStateException("No outbox handler for " + type);
+            }
+            counters.put(type, new HandlerCounters());
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retentionDays = retentionDays;
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "outbox-dispatch"));
+        AtomicInteger threads = new AtomicInteger();
+        this.deliveryPool = Executors.newFixedThreadPool(poolSize,
+                runnable -> daemon(runnable, "outbox-delivery-" + threads.incrementAndGet()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageQueued(OutboxMessageQueuedEvent event) {
+        requestDispatch();
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        requestDispatch();
+    }
+
+    @Scheduled(cron = "${application.outbox.purge-cron:0 15 5 * * *}")
+    public void purgeDelivered() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxMessageRepository.deleteDeliveredBefore(LocalDateTime.now().minusDays(retentionDays)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} delivered outbox messages", purged);
+        }
+    }
+
+    public OutboxStats getStats() {
+        Map<OutboxType, OutboxBacklog> backlog = outboxMessageRepository.findBacklog()
+                .stream()
+                .collect(Collectors.toMap(OutboxBacklog::type, b -> b));
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxHandlerStats> handlerStats = Arrays.stream(OutboxType.values())
+                .map(type -> {
+                    OutboxBacklog pending = backlog.get(type);
+                    long oldestAge = pending != null && pending.oldestCreatedAt() != null
+                            ? Math.max(0, Duration.between(pending.oldestCreatedAt(), now).toMillis())
+                            : 0;
+                    return counters.get(type).snapshot(type, pending != null ? pending.pending() : 0, oldestAge);
+                })
+                .toList();
+        return new OutboxStats(outboxMessageRepository.countDead(), dispatches.get(), failedDispatches.get(), handlerStats);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        coordinator.shutdown();
+        coordinator.awaitTermination(10, TimeUnit.SECONDS);
+        deliveryPool.shutdown();
+        deliveryPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * At most one drain waits behind the running one, so a burst of commits does not queue a burst of polls
+     * while none of them is lost either
+     */
+    private void requestDispatch() {
+        if (dispatchQueued.compareAndSet(false, true)) {
+            try {
+                coordinator.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; pending messages are picked up by the next start or another node
+                dispatchQueued.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        dispatchQueued.set(false);
+        try {
+            int claimed;
+            do {
+                claimed = dispatchBatch();
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            failedDispatches.incrementAndGet();
+            log.error("Outbox dispatch failed", e);
+        }
+    }
+
+    private int dispatchBatch() throws InterruptedException {
+        LocalDateTime claimedAt = LocalDateTime.now();
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> claim(claimedAt));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        dispatches.incrementAndGet();
+
+        Map<OutboxType, List<OutboxMessage>> byType = batch.stream()
+                .collect(Collectors.groupingBy(OutboxMessage::getType, () -> new EnumMap<>(OutboxType.class), Collectors.toList()));
+        List<Future<Outcome>> chunks = new ArrayList<>();
+        byType.forEach((type, messages) -> {
+            OutboxHandler<?> handler = handlers.get(type);
+            int chunkSize = Math.max(1, handler.batchSize());
+            for (int from = 0; from < messages.size(); from += chunkSize) {
+                List<OutboxMessage> chunk = messages.subList(from, Math.min(from + chunkSize, messages.size()));
+                chunks.add(deliveryPool.submit(() -> deliver(handler, chunk)));
+            }
+        });
+
+        List<Outcome> outcomes = new ArrayList<>();
+        for (Future<Outcome> chunk : chunks) {
+            try {
+                outcomes.add(chunk.get());
+            } catch (ExecutionException e) {
+                // deliver() reports failures as outcomes; the lease brings these messages back
+                log.error("Outbox delivery task failed", e.getCause());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> record(outcomes));
+        return batch.size();
+    }
+
+    private List<OutboxMessage> claim(LocalDateTime now) {
+        List<OutboxMessage> due = outboxMessageRepository.findDueForUpdate(now, PageRequest.of(0, batchSize))
+                .stream()
+                .filter(message -> message.getStatus() == OutboxStatus.PENDING && !message.getNextAttemptAt().isAfter(now))
+                .toList();
+        LocalDateTime leaseEnd = now.plus(lease);
+        for (OutboxMessage message : due) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(leaseEnd);
+        }
+        return due;
+    }
+
+    /**
+     * Payloads that cannot be read fail on their own and at once, instead of failing the whole chunk on every retry
+     */
+    private <T> Outcome deliver(OutboxHandler<T> handler, List<OutboxMessage> messages) {
+        List<OutboxMessage> readable = new ArrayList<>();
+        List<OutboxMessage> unreadable = new ArrayList<>();
+        List<T> payloads = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            try {
+                payloads.add(objectMapper.readValue(message.getPayload(), handler.payloadType()));
+                readable.add(message);
+            } catch (Exception e) {
+                log.error("Unreadable {} outbox message {}", message.getType(), message.getId(), e);
+                unreadable.add(message);
+            }
+        }
+        Exception error = null;
+        if (!payloads.isEmpty()) {
+            try {
+                handler.handle(payloads);
+            } catch (Exception e) {
+                log.warn("Delivery of {} {} outbox message(s) failed: {}", payloads.size(), handler.type(), e.getMessage());
+                error = e;
+            }
+        }
+        return new Outcome(readable, error, unreadable);
+    }
+
+    private void record(List<Outcome> outcomes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> delivered = new ArrayList<>();
+        Map<Long, String> retry = new HashMap<>();
+        Map<Long, String> dead = new HashMap<>();
+        for (Outcome outcome : outcomes) {
+            for (OutboxMessage message : outcome.unreadable()) {
+                dead.put(message.getId(), "Unreadable payload");
+            }
+            for (OutboxMessage message : outcome.messages()) {
+                if (outcome.error() == null) {
+                    delivered.add(message.getId());
+                    counters.get(message.getType()).delivered(Duration.between(message.getCreatedAt(), now).toMillis());
+                } else {
+                    counters.get(message.getType()).failedAttempts.incrementAndGet();
+                    (message.getAttempts() >= maxAttempts ? dead : retry).put(message.getId(), describe(outcome.error()));
+                }
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxMessageRepository.markDelivered(delivered, now);
+        }
+        if (retry.isEmpty() && dead.isEmpty()) {
+            return;
+        }
+        List<Long> failedIds = new ArrayList<>(retry.keySet());
+        failedIds.addAll(dead.keySet());
+        for (OutboxMessage message : outboxMessageRepository.findAllById(failedIds)) {
+            if (message.getStatus() != OutboxStatus.PENDING) {
+                continue;
+            }
+            if (dead.containsKey(message.getId())) {
+                message.setStatus(OutboxStatus.DEAD);
+                message.setProcessedAt(now);
+                message.setLastError(dead.get(message.getId()));
+                counters.get(message.getType()).dead.incrementAndGet();
+                log.error("Giving up on {} outbox message {} after {} attempts",
+                        message.getType(), message.getId(), message.getAttempts());
+            } else {
+                message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                message.setLastError(retry.get(message.getId()));
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff with ±20% jitter, so messages that failed together do not all retry together
+     */
+    private Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        return Duration.ofMillis((long) (capped * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    private static String describe(Exception error) {
+        String description = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return description.length() > 1000 ? description.substring(0, 1000) : description;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Outcome(List<OutboxMessage> messages, Exception error, List<OutboxMessage> unreadable) {
+    }
+
+    private static class HandlerCounters {
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong failedAttempts = new AtomicLong();
+        private final AtomicLong dead = new AtomicLong();
+        private final AtomicLong lagTotalMillis = new AtomicLong();
+        private final AtomicLong maxLagMillis = new AtomicLong();
+        private volatile long lastLagMillis;
+        private volatile Instant lastDeliveredAt;
+
+        void delivered(long lagMillis) {
+            long lag = Math.max(0, lagMillis);
+            delivered.incrementAndGet();
+            lagTotalMillis.addAndGet(lag);
+            maxLagMillis.accumulateAndGet(lag, Math::max);
+            lastLagMillis = lag;
+            lastDeliveredAt = Instant.now();
+        }
+
+        OutboxHandlerStats snapshot(OutboxType type, long pending, long oldestPendingAgeMillis) {
+            long count = delivered.get();
+            return new OutboxHandlerStats(type, pending, oldestPendingAgeMillis, count, failedAttempts.get(),
+                    dead.get(), lastLagMillis, maxLagMillis.get(), count == 0 ? 0 : lagTotalMillis.get() / count,
+                    lastDeliveredAt);
+        }
+    }
+}
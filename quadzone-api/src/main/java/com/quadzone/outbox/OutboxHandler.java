@@ -0,0 +1,27 @@
+package com.quadzone.outbox;
+
+import java.util.List;
+
+/**
+ * Delivers the messages of one {@link OutboxType}.
+ * <p>
+ * Delivery is at least once: a message is retried when the call throws, and may be repeated when a node dies
+ * between delivering and recording it.
+ *
+ * @param <T> payload type, read back from the JSON written by {@link OutboxService#enqueue}
+ */
+public interface OutboxHandler<T> {
+
+    OutboxType type();
+
+    Class<T> payloadType();
+
+    /**
+     * Deliver up to {@link #batchSize()} payloads at once; throwing retries all of them
+     */
+    void handle(List<T> payloads) throws Exception;
+
+    default int batchSize() {
+        return 1;
+    }
+}
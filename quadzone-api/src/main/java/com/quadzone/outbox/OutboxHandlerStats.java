@@ -0,0 +1,23 @@
+package com.quadzone.outbox;
+
+import java.time.Instant;
+
+/**
+ * @param pending                messages waiting for delivery, including ones being retried
+ * @param oldestPendingAgeMillis age of the oldest of them, 0 when there are none
+ * @param failedAttempts         delivery attempts that threw, retried or not
+ * @param lastLagMillis          time from enqueue to delivery of the last delivered message
+ */
+public record OutboxHandlerStats(
+        OutboxType type,
+        long pending,
+        long oldestPendingAgeMillis,
+        long delivered,
+        long failedAttempts,
+        long dead,
+        long lastLagMillis,
+        long maxLagMillis,
+        long avgLagMillis,
+        Instant lastDeliveredAt
+) {
+}
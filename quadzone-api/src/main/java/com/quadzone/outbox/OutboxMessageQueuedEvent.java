@@ -0,0 +1,4 @@
+package com.quadzone.outbox;
+
+public record OutboxMessageQueuedEvent(OutboxType type) {
+}
@@ -0,0 +1,42 @@
+package com.quadzone.outbox;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Due messages, oldest first, locked until the claiming transaction ends. Callers must re-check the
+     * status and due time: a row may have been claimed by another node while this one waited for its lock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status = com.quadzone.outbox.OutboxStatus.PENDING " +
+            "AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<OutboxMessage> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxMessage m SET m.status = com.quadzone.outbox.OutboxStatus.DELIVERED, " +
+            "m.processedAt = :now, m.lastError = null WHERE m.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.quadzone.outbox.OutboxBacklog(m.type, COUNT(m), MIN(m.createdAt)) FROM OutboxMessage m " +
+            "WHERE m.status = com.quadzone.outbox.OutboxStatus.PENDING GROUP BY m.type")
+    List<OutboxBacklog> findBacklog();
+
+    @Query("SELECT COUNT(m) FROM OutboxMessage m WHERE m.status = com.quadzone.outbox.OutboxStatus.DEAD")
+    long countDead();
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = com.quadzone.outbox.OutboxStatus.DELIVERED " +
+            "AND m.processedAt < :before")
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,42 @@
+package com.quadzone.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Record a side effect in the caller's transaction; it is only delivered if that transaction commits
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxType type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + type + " outbox payload", e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        OutboxMessage message = new OutboxMessage();
+        message.setType(type);
+        message.setPayload(json);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setCreatedAt(now);
+        message.setNextAttemptAt(now);
+        outboxMessageRepository.save(message);
+        eventPublisher.publishEvent(new OutboxMessageQueuedEvent(type));
+    }
+}
@@ -0,0 +1,15 @@
+package com.quadzone.outbox;
+
+import java.util.List;
+
+/**
+ * @param deadMessages messages that exhausted their attempts and are kept for inspection (all nodes)
+ * @param dispatches   claimed batches dispatched by this node since startup
+ */
+public record OutboxStats(
+        long deadMessages,
+        long dispatches,
+        long failedDispatches,
+        List<OutboxHandlerStats> handlers
+) {
+}
@@ -0,0 +1,13 @@
+package com.quadzone.outbox;
+
+public enum OutboxStatus {
+    /**
+     * Waiting for (another) delivery attempt
+     */
+    PENDING,
+    DELIVERED,
+    /**
+     * Gave up after the maximum number of attempts
+     */
+    DEAD
+}
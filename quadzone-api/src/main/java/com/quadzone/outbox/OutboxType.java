@@ -0,0 +1,9 @@
+package com.quadzone.outbox;
+
+/**
+ * Kind of side effect carried by an outbox message; each one has exactly one {@link OutboxHandler}
+ */
+public enum OutboxType {
+    ORDER_CONFIRMATION_EMAIL,
+    NEW_ORDER_STAFF_NOTIFICATION
+}
@@ -9,19 +9,28 @@ import com.quadzone.wishlist.WishList;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = @Index(name = "idx_product_created_at", columnList = "created_at, id"))
+@NamedEntityGraph(
+        name = Product.WITH_CATEGORY,
+        attributeNodes = @NamedAttributeNode(value = "subCategory", subgraph = "subCategory"),
+        subgraphs = @NamedSubgraph(name = "subCategory", attributeNodes = @NamedAttributeNode("category")))
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
+    /**
+     * Fetches subcategory and category with the product, as every listing DTO needs them
+     */
+    public static final String WITH_CATEGORY = "Product.withCategory";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -67,6 +76,24 @@ public class Product {
     @Column(name = "is_active")
     private boolean isActive = true;
 
+    @Embedded
+    @Builder.Default
+    private RatingSummary rating = new RatingSummary();
+
+    /**
+     * Maintained by {@link ProductRepository} bulk updates only, see {@link RatingSummary}
+     */
+    @Column(name = "units_sold", nullable = false, updatable = false)
+    private long unitsSold;
+
+    /**
+     * Number of stock stripes while the product is in flash-sale mode, 0 otherwise.
+     * See {@link com.quadzone.product.stock.FlashStockService}.
+     */
+    @Column(name = "flash_stripes", nullable = false)
+    @ColumnDefault("0")
+    private int flashStripes;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "subcategory_id", nullable = false)
     private SubCategory subCategory;
@@ -0,0 +1,8 @@
+package com.quadzone.product;
+
+/**
+ * Published by {@link ProductService} whenever a product is created, updated or deleted.
+ * Listeners that keep derived read models (search index, caches) reload the product by id.
+ */
+public record ProductChangedEvent(Long productId) {
+}
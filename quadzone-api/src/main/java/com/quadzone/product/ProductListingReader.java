@@ -0,0 +1,132 @@
+package com.quadzone.product;
+
+import com.quadzone.admin.dto.ProductAdminResponse;
+import com.quadzone.product.category.Category;
+import com.quadzone.product.category.CategoryRepository;
+import com.quadzone.product.category.dto.CategoryResponse;
+import com.quadzone.product.category.sub_category.SubCategory;
+import com.quadzone.product.category.sub_category.SubCategoryProductCount;
+import com.quadzone.product.category.sub_category.dto.SubCategoryResponse;
+import com.quadzone.product.detail.ProductDetailView;
+import com.quadzone.product.dto.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read path shared by every product listing.
+ * <p>
+ * Products must come from a query that fetches subcategory and category with them
+ * ({@link Product#WITH_CATEGORY} or a join fetch). The per-subcategory product counts shown in the listing DTOs
+ * are then loaded with one grouped query, so a page costs a fixed number of statements whatever its size.
+ * Must be called inside the transaction that loaded the products.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductListingReader {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * Load products (with subcategory and category) in one query, keeping the order of the given IDs
+     */
+    public List<Product> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        return productRepository.findAllWithCategoryByIdIn(ids)
+                .stream()
+                .sorted(Comparator.comparing(product -> position.get(product.getId())))
+                .toList();
+    }
+
+    public Page<ProductResponse> toResponses(Page<Product> products) {
+        return new PageImpl<>(toResponses(products.getContent()), products.getPageable(), products.getTotalElements());
+    }
+
+    public List<ProductResponse> toResponses(List<Product> products) {
+        Map<Long, Long> productCounts = countProducts(products.stream()
+                .map(Product::getSubCategory)
+                .filter(Objects::nonNull)
+                .map(SubCategory::getId)
+                .collect(Collectors.toSet()));
+
+        return products.stream()
+                .map(product -> ProductResponse.from(product, subCategoryResponse(product.getSubCategory(), productCounts)))
+                .toList();
+    }
+
+    /**
+     * The admin DTO lists every subcategory of the product's category, so those are fetched (and counted) too
+     */
+    public List<ProductAdminResponse> toAdminResponses(List<Product> products) {
+        Set<Long> categoryIds = products.stream()
+                .map(Product::getSubCategory)
+                .filter(Objects::nonNull)
+                .map(SubCategory::getCategory)
+                .filter(Objects::nonNull)
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        // Initializes the subcategory collections of the categories already attached to the products
+        List<Category> categories = categoryIds.isEmpty() ? List.of() : categoryRepository.findAllWithSubCategoriesByIdIn(categoryIds);
+
+        Set<Long> subCategoryIds = categories.stream()
+                .flatMap(category -> category.getSubcategories().stream())
+                .map(SubCategory::getId)
+                .collect(Collectors.toSet());
+        products.stream()
+                .map(Product::getSubCategory)
+                .filter(Objects::nonNull)
+                .forEach(sub -> subCategoryIds.add(sub.getId()));
+        Map<Long, Long> productCounts = countProducts(subCategoryIds);
+
+        return products.stream()
+                .map(product -> {
+                    SubCategory sub = product.getSubCategory();
+                    CategoryResponse category = sub != null
+                            ? CategoryResponse.from(sub.getCategory(), s -> subCategoryResponse(s, productCounts))
+                            : null;
+                    return ProductAdminResponse.from(product, subCategoryResponse(sub, productCounts), category);
+                })
+                .toList();
+    }
+
+    /**
+     * Detail view with the same category chain as the admin row
+     */
+    public ProductDetailView toDetailView(Product product) {
+        ProductAdminResponse row = toAdminResponses(List.of(product)).get(0);
+        return ProductDetailView.from(product, row.subCategory(), row.category());
+    }
+
+    private Map<Long, Long> countProducts(Collection<Long> subCategoryIds) {
+        if (subCategoryIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.countBySubCategoryIds(subCategoryIds)
+                .stream()
+                .collect(Collectors.toMap(SubCategoryProductCount::subCategoryId, SubCategoryProductCount::count));
+    }
+
+    private static SubCategoryResponse subCategoryResponse(SubCategory sub, Map<Long, Long> productCounts) {
+        if (sub == null) {
+            return null;
+        }
+        return SubCategoryResponse.from(sub, productCounts.getOrDefault(sub.getId(), 0L));
+    }
+}
@@ -1,35 +1,88 @@
 package com.quadzone.product;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.quadzone.product.bulk.ProductBulkUpdateRequest;
+import com.quadzone.product.bulk.ProductExportRow;
+import com.quadzone.product.bulk.ProductStockLevel;
+import com.quadzone.product.category.sub_category.SubCategoryProductCount;
+import com.quadzone.product.recommendation.ProductRecommendation;
+import com.quadzone.product.search.ProductSearchDocument;
+import com.quadzone.product.stock.FlashProductStripes;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
+        @Override
+        @EntityGraph(Product.WITH_CATEGORY)
+        Page<Product> findAll(Pageable pageable);
+
+        @Override
+        @EntityGraph(Product.WITH_CATEGORY)
+        Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
         @Query("""
                         SELECT p
                         FROM Product p
                         WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))
                            OR LOWER(COALESCE(p.brand, '')) LIKE LOWER(CONCAT('%', :keyword, '%'))
                         """)
+        @EntityGraph(Product.WITH_CATEGORY)
         Page<Product> search(@Param("keyword") String keyword, Pageable pageable);
 
+        /**
+         * Keyset page of products, newest first, optionally filtered by keyword.
+         * Pass a null {@code afterId} for the first page, otherwise the (createdAt, id) of the last row seen;
+         * rows without createdAt sort last and are paged by id.
+         */
+        @Query("""
+                        SELECT p
+                        FROM Product p
+                        WHERE (:keyword IS NULL
+                               OR LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                               OR LOWER(COALESCE(p.brand, '')) LIKE LOWER(CONCAT('%', :keyword, '%')))
+                          AND (:afterId IS NULL
+                               OR (:afterCreatedAt IS NOT NULL AND (p.createdAt < :afterCreatedAt OR p.createdAt IS NULL
+                                   OR (p.createdAt = :afterCreatedAt AND p.id < :afterId)))
+                               OR (:afterCreatedAt IS NULL AND p.createdAt IS NULL AND p.id < :afterId))
+                        ORDER BY p.createdAt DESC, p.id DESC
+                        """)
+        @EntityGraph(Product.WITH_CATEGORY)
+        List<Product> findPageAfter(@Param("keyword") String keyword,
+                        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
+
         Page<Product> findByNameContainingIgnoreCase(String query, Pageable pageable);
 
         @Query("""
                         SELECT p
-                        FROM Product p LEFT JOIN p.reviews r
+                        FROM Product p
                         WHERE p.isActive = true AND p.stock > 0
-                        GROUP BY p.id
-                        ORDER BY COALESCE(AVG(r.rating), 0) DESC, COUNT(r.id) DESC
+                        ORDER BY CASE WHEN p.rating.count = 0 THEN 0.0 ELSE p.rating.sum * 1.0 / p.rating.count END DESC,
+                                 p.rating.count DESC
                         """)
+        @EntityGraph(Product.WITH_CATEGORY)
         Page<Product> findFeaturedProducts(Pageable pageable);
 
         @Query("""
@@ -38,6 +91,7 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
                         WHERE p.isActive = true AND p.stock > 0
                         ORDER BY p.createdAt DESC
                         """)
+        @EntityGraph(Product.WITH_CATEGORY)
         Page<Product> findNewArrivalProducts(Pageable pageable);
 
         @Modifying // Báo cho Spring đây là câu lệnh Update/Delete
@@ -45,15 +99,152 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
                         "WHERE p.id = :id AND p.stock >= :amount")
         int reduceStock(@Param("id") Long id, @Param("amount") int amount);
 
+        /**
+         * Atomically apply one review change to the rating summary.
+         * {@code added} / {@code removed} are the star ratings entering / leaving the summary, 0 for none.
+         */
+        @Modifying(flushAutomatically = true)
+        @Query("""
+                        UPDATE Product p SET
+                            p.rating.count = p.rating.count + :countDelta,
+                            p.rating.sum = p.rating.sum + :added - :removed,
+                            p.rating.stars1 = p.rating.stars1 + CASE WHEN :added = 1 THEN 1 ELSE 0 END - CASE WHEN :removed = 1 THEN 1 ELSE 0 END,
+                            p.rating.stars2 = p.rating.stars2 + CASE WHEN :added = 2 THEN 1 ELSE 0 END - CASE WHEN :removed = 2 THEN 1 ELSE 0 END,
+                            p.rating.stars3 = p.rating.stars3 + CASE WHEN :added = 3 THEN 1 ELSE 0 END - CASE WHEN :removed = 3 THEN 1 ELSE 0 END,
+                            p.rating.stars4 = p.rating.stars4 + CASE WHEN :added = 4 THEN 1 ELSE 0 END - CASE WHEN :removed = 4 THEN 1 ELSE 0 END,
+                            p.rating.stars5 = p.rating.stars5 + CASE WHEN :added = 5 THEN 1 ELSE 0 END - CASE WHEN :removed = 5 THEN 1 ELSE 0 END
+                        WHERE p.id = :id
+                        """)
+        int applyRatingChange(@Param("id") Long id, @Param("added") int added, @Param("removed") int removed,
+                        @Param("countDelta") int countDelta);
+
+        @Modifying
+        @Query("""
+                        UPDATE Product p SET
+                            p.rating.count = :#{#rating.count},
+                            p.rating.sum = :#{#rating.sum},
+                            p.rating.stars1 = :#{#rating.stars1},
+                            p.rating.stars2 = :#{#rating.stars2},
+                            p.rating.stars3 = :#{#rating.stars3},
+                            p.rating.stars4 = :#{#rating.stars4},
+                            p.rating.stars5 = :#{#rating.stars5}
+                        WHERE p.id = :id
+                        """)
+        int replaceRating(@Param("id") Long id, @Param("rating") RatingSummary rating);
+
+        @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+        List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+        /**
+         * Lock the products in ID order. Every statement locking several product rows does so in that order,
+         * so that concurrent writers queue instead of deadlocking.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+        List<Product> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT new com.quadzone.product.bulk.ProductStockLevel(p.id, p.stock, p.flashStripes) FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+        List<ProductStockLevel> findStockLevelsForUpdate(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Lock the given products and return those in flash-sale mode, whose stock lives in stripes
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND p.flashStripes > 0 ORDER BY p.id")
+        List<Long> findFlashProductIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Which of the given products are in flash-sale mode, without locking, to plan the locks before taking any
+         */
+        @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND p.flashStripes > 0")
+        List<Long> findFlashProductIds(@Param("ids") Collection<Long> ids);
+
+        @Query("SELECT new com.quadzone.product.stock.FlashProductStripes(p.id, p.flashStripes) FROM Product p WHERE p.flashStripes > 0 ORDER BY p.id")
+        List<FlashProductStripes> findFlashProducts();
+
+        @Query("""
+                        SELECT p.id
+                        FROM Product p
+                        WHERE (:brand IS NULL OR p.brand = :brand)
+                          AND (:subCategoryId IS NULL OR p.subCategory.id = :subCategoryId)
+                          AND p.id > :afterId
+                        ORDER BY p.id
+                        """)
+        List<Long> findIdsByFilterAfter(@Param("brand") String brand, @Param("subCategoryId") Long subCategoryId,
+                        @Param("afterId") Long afterId, Pageable pageable);
+
+        /**
+         * Forward-only stream of export rows in id order, optionally filtered by keyword.
+         * Rows are constructor projections, so the persistence context stays empty however many are read.
+         * Must be consumed and closed inside a transaction.
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+        @Query("""
+                        SELECT new com.quadzone.product.bulk.ProductExportRow(
+                            p.id, p.name, p.brand, p.modelNumber, p.color, p.price, p.costPrice, p.weight, p.stock,
+                            p.isActive, p.unitsSold, p.rating.count, p.rating.sum, sc.id, sc.name, c.id, c.name, p.createdAt)
+                        FROM Product p LEFT JOIN p.subCategory sc LEFT JOIN sc.category c
+                        WHERE :keyword IS NULL
+                           OR LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                           OR LOWER(COALESCE(p.brand, '')) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                        ORDER BY p.id
+                        """)
+        Stream<ProductExportRow> streamExportRows(@Param("keyword") String keyword);
+
+        /**
+         * Apply the non-null changes of a bulk update in one statement
+         */
+        @Modifying
+        @Query("""
+                        UPDATE Product p SET
+                            p.price = COALESCE(:#{#changes.price()}, p.price),
+                            p.costPrice = COALESCE(:#{#changes.costPrice()}, p.costPrice),
+                            p.stock = COALESCE(:#{#changes.stock()}, p.stock) + COALESCE(:#{#changes.stockDelta()}, 0),
+                            p.isActive = COALESCE(:#{#changes.isActive()}, p.isActive),
+                            p.updatedAt = :now
+                        WHERE p.id IN :ids
+                        """)
+        int bulkUpdate(@Param("ids") Collection<Long> ids, @Param("changes") ProductBulkUpdateRequest changes,
+                        @Param("now") LocalDateTime now);
+
         @Query("""
                         SELECT p
-                        FROM Product p LEFT JOIN p.orderItems oi
+                        FROM Product p
                         WHERE p.isActive = true AND p.stock > 0
-                        GROUP BY p.id
-                        ORDER BY COALESCE(SUM(oi.quantity), 0) DESC
+                        ORDER BY p.unitsSold DESC
                         """)
+        @EntityGraph(Product.WITH_CATEGORY)
         Page<Product> findBestSellingProducts(Pageable pageable);
 
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE Product p SET p.unitsSold = p.unitsSold + :units WHERE p.id = :id")
+        int addUnitsSold(@Param("id") Long id, @Param("units") long units);
+
+        @Modifying
+        @Query("UPDATE Product p SET p.unitsSold = :units WHERE p.id = :id")
+        int replaceUnitsSold(@Param("id") Long id, @Param("units") long units);
+
+        @Query("""
+                        SELECT new com.quadzone.product.category.sub_category.SubCategoryProductCount(p.subCategory.id, COUNT(p))
+                        FROM Product p
+                        WHERE p.subCategory.id IN :subCategoryIds
+                        GROUP BY p.subCategory.id
+                        """)
+        List<SubCategoryProductCount> countBySubCategoryIds(@Param("subCategoryIds") Collection<Long> subCategoryIds);
+
+        /**
+         * Products that deleting the category removes with it
+         */
+        @Query("SELECT p.id FROM Product p WHERE p.subCategory.category.id = :categoryId")
+        List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+        /**
+         * Products that deleting the subcategory removes with it
+         */
+        @Query("SELECT p.id FROM Product p WHERE p.subCategory.id = :subCategoryId")
+        List<Long> findIdsBySubCategoryId(@Param("subCategoryId") Long subCategoryId);
+
         /**
          * Find all distinct brands
          */
@@ -63,14 +254,19 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
         /**
          * Find active products by subcategory
          */
+        @EntityGraph(Product.WITH_CATEGORY)
         Page<Product> findBySubCategoryIdAndIsActiveTrue(Long subcategoryId, Pageable pageable);
 
         /**
          * Find active products by category (through subCategory)
          */
         @Query("SELECT p FROM Product p WHERE p.subCategory.category.id = :categoryId AND p.isActive = true")
+        @EntityGraph(Product.WITH_CATEGORY)
         Page<Product> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
 
+        @Query("SELECT p.stock FROM Product p WHERE p.id = :id")
+        Optional<Integer> findStockById(@Param("id") Long id);
+
         /**
          * Find product by ID with subcategory and category loaded
          */
@@ -79,4 +275,52 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
                         "LEFT JOIN FETCH sc.category " +
                         "WHERE p.id = :id")
         Optional<Product> findByIdWithCategory(@Param("id") Long id);
+
+        /**
+         * Find products by IDs with subcategory and category loaded
+         */
+        @Query("SELECT p FROM Product p " +
+                        "LEFT JOIN FETCH p.subCategory sc " +
+                        "LEFT JOIN FETCH sc.category " +
+                        "WHERE p.id IN :ids")
+        List<Product> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Keyset batch of search documents, used to (re)build the in-memory search, facet and suggestion indexes
+         */
+        @Query("""
+                        SELECT new com.quadzone.product.search.ProductSearchDocument(
+                            p.id, p.name, p.brand, p.modelNumber, p.color, p.price, p.stock, p.isActive, p.createdAt, sc.id,
+                            p.unitsSold, p.rating.sum)
+                        FROM Product p LEFT JOIN p.subCategory sc
+                        WHERE p.id > :afterId
+                        ORDER BY p.id
+                        """)
+        List<ProductSearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+        @Query("""
+                        SELECT new com.quadzone.product.search.ProductSearchDocument(
+                            p.id, p.name, p.brand, p.modelNumber, p.color, p.price, p.stock, p.isActive, p.createdAt, sc.id,
+                            p.unitsSold, p.rating.sum)
+                        FROM Product p LEFT JOIN p.subCategory sc
+                        WHERE p.id = :id
+                        """)
+        Optional<ProductSearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+        @Query("""
+                        SELECT new com.quadzone.product.search.ProductSearchDocument(
+                            p.id, p.name, p.brand, p.modelNumber, p.color, p.price, p.stock, p.isActive, p.createdAt, sc.id,
+                            p.unitsSold, p.rating.sum)
+                        FROM Product p LEFT JOIN p.subCategory sc
+                        WHERE p.id IN :ids
+                        """)
+        List<ProductSearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+        @Query("""
+                        SELECT new com.quadzone.product.recommendation.ProductRecommendation(
+                            p.id, p.name, p.brand, p.price, p.imageUrl, p.stock, p.isActive)
+                        FROM Product p
+                        WHERE p.id IN :ids
+                        """)
+        List<ProductRecommendation> findRecommendationCards(@Param("ids") Collection<Long> ids);
 }
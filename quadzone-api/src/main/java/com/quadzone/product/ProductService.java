@@ -2,13 +2,25 @@ package com.quadzone.product;
 
 import com.quadzone.admin.dto.ProductAdminResponse;
 import com.quadzone.exception.product.ProductNotFoundException;
+import com.quadzone.global.dto.CursorResponse;
 import com.quadzone.global.dto.PagedResponse;
+import com.quadzone.global.dto.SeekCursor;
+import com.quadzone.product.category.CategoryChangedEvent;
 import com.quadzone.product.category.sub_category.SubCategoryRepository;
+import com.quadzone.product.detail.ProductDetailCache;
+import com.quadzone.product.detail.ProductDetailView;
 import com.quadzone.product.dto.BrandResponse;
+import com.quadzone.product.dto.ProductFacetPage;
 import com.quadzone.product.dto.ProductDetailsResponse;
 import com.quadzone.product.dto.ProductRegisterRequest;
 import com.quadzone.product.dto.ProductResponse;
 import com.quadzone.product.dto.ProductUpdateRequest;
+import com.quadzone.product.reference.CatalogReferenceCache;
+import com.quadzone.product.search.ProductFacetIndex;
+import com.quadzone.product.search.ProductFacetQuery;
+import com.quadzone.product.search.ProductSearchIndex;
+import com.quadzone.review.ReviewService;
+import com.quadzone.review.dto.ReviewResponse;
 import com.quadzone.utils.EntityMapper;
 
 import jakarta.persistence.criteria.Join;
@@ -21,7 +33,9 @@ import lombok.RequiredArgsConstructor;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -36,52 +50,84 @@ import org.springframework.web.server.ResponseStatusException;
 @Transactional
 public class ProductService {
     private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+    private static final int DETAIL_REVIEW_PAGE_SIZE = 10;
 
     private final ProductRepository productRepository;
     private final SubCategoryRepository subCategoryRepository;
     private final EntityMapper objectMapper;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductListingReader productListingReader;
+    private final ProductDetailCache productDetailCache;
+    private final ReviewService reviewService;
+    private final CatalogReferenceCache catalogReferenceCache;
 
     public Page<ProductResponse> getProducts(Pageable pageable, String query) {
         Page<Product> products;
-        products = productRepository.search(query, pageable);
-        return products.map(objectMapper::toProductResponse);
+        products = searchByKeyword(query, pageable);
+        return productListingReader.toResponses(products);
     }
 
+    /**
+     * Keyword search served by the in-memory index; falls back to the LIKE query while the index is warming up.
+     * Only the requested page is loaded from the database, in a single query.
+     */
+    private Page<Product> searchByKeyword(String keyword, Pageable pageable) {
+        if (!productSearchIndex.isReady()) {
+            return productRepository.search(keyword, pageable);
+        }
+
+        ProductSearchIndex.Hits hits = productSearchIndex.search(keyword, pageable);
+        return new PageImpl<>(productListingReader.loadInOrder(hits.ids()), pageable, hits.total());
+    }
+
+    /**
+     * Product detail page: the cached view plus live stock and the first page of reviews
+     */
+    @Transactional(readOnly = true)
     public ProductDetailsResponse getProducts(Long id) {
-        Product product = productRepository.findById(id)
+        Integer stock = productRepository.findStockById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
-        return objectMapper.toProductDetailsResponse(product);
+        ProductDetailView view = productDetailCache.get(id, () -> productRepository.findByIdWithCategory(id)
+                        .map(productListingReader::toDetailView))
+                .orElseThrow(() -> new ProductNotFoundException(id));
+        Page<ReviewResponse> reviews = reviewService.getReviewsByProduct(id,
+                PageRequest.of(0, DETAIL_REVIEW_PAGE_SIZE, ReviewService.NEWEST_FIRST));
+        return ProductDetailsResponse.from(view, stock, reviews);
     }
 
     public Page<ProductResponse> getFeaturedProducts(Pageable pageable) {
         Page<Product> products;
         products = productRepository.findFeaturedProducts(pageable);
-        return products.map(objectMapper::toProductResponse);
+        return productListingReader.toResponses(products);
     }
 
     public Page<ProductResponse> getBestSellers(Pageable pageable) {
         Page<Product> products;
         products = productRepository.findBestSellingProducts(pageable);
-        return products.map(objectMapper::toProductResponse);
+        return productListingReader.toResponses(products);
     }
 
     public Page<ProductResponse> getArrivals(Pageable pageable) {
         Page<Product> products;
         products = productRepository.findNewArrivalProducts(pageable);
-        return products.map(objectMapper::toProductResponse);
+        return productListingReader.toResponses(products);
     }
 
     public ProductResponse createProduct(ProductRegisterRequest request) {
-        Product product = ProductRegisterRequest.toProduct(request);
-        return objectMapper.toProductResponse(
-                productRepository.save(product));
+        Product product = productRepository.save(ProductRegisterRequest.toProduct(request));
+        publishProductChanged(product.getId(), true);
+        return objectMapper.toProductResponse(product);
     }
 
     public ProductResponse updateProduct(Long id, ProductUpdateRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
+        rejectStockChangeInFlashMode(product, request);
 
         product.updateFrom(request);
+        publishProductChanged(id, request.subCategory() != null);
 
         return objectMapper.toProductResponse(productRepository.save(product));
     }
@@ -91,38 +137,73 @@ public class ProductService {
             throw new ProductNotFoundException(id);
         }
         productRepository.deleteById(id);
+        publishProductChanged(id, true);
+    }
+
+    /**
+     * In flash-sale mode the stock lives in stripes and the column is overwritten from them
+     */
+    private static void rejectStockChangeInFlashMode(Product product, ProductUpdateRequest request) {
+        if (request.quantity() != null && product.getFlashStripes() > 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Product " + product.getId() + " is in flash-sale mode; disable it before changing stock");
+        }
+    }
+
+    /**
+     * @param treeChanged whether the product was added to, removed from or moved between subcategories,
+     *                    which changes the product counts shown in the category tree
+     */
+    private void publishProductChanged(Long productId, boolean treeChanged) {
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        if (treeChanged) {
+            eventPublisher.publishEvent(new CategoryChangedEvent());
+        }
     }
 
+    /**
+     * Served from {@link CatalogReferenceCache}
+     */
     public List<BrandResponse> listBrands() {
-        return productRepository.findAllDistinctBrands()
-                .stream()
-                .map(BrandResponse::new)
-                .toList();
+        return catalogReferenceCache.getBrands();
     }
 
     /**
      * Search products with filters
      * Product → SubCategory → Category relationship
+     * <p>
+     * Served from the in-memory facet index, which also returns facet counts for every dimension.
+     * Falls back to the Criteria query (without facet counts) while the index is warming up.
      */
-    public Page<ProductResponse> searchProducts(
+    public ProductFacetPage searchProducts(
             String brand,
             Long categoryId,
             Long subcategoryId,
             Double minPrice,
             Double maxPrice,
+            Boolean inStock,
             Pageable pageable) {
         
         try {
-            log.debug("Searching products - brand: {}, categoryId: {}, subcategoryId: {}, minPrice: {}, maxPrice: {}", 
-                brand, categoryId, subcategoryId, minPrice, maxPrice);
+            log.debug("Searching products - brand: {}, categoryId: {}, subcategoryId: {}, minPrice: {}, maxPrice: {}, inStock: {}", 
+                brand, categoryId, subcategoryId, minPrice, maxPrice, inStock);
+
+            if (productFacetIndex.isReady()) {
+                ProductFacetIndex.Result result = productFacetIndex.filter(
+                        ProductFacetQuery.of(brand, categoryId, subcategoryId, minPrice, maxPrice, inStock), pageable);
+                List<ProductResponse> content = productListingReader.toResponses(
+                        productListingReader.loadInOrder(result.ids()));
+                return ProductFacetPage.of(content, result.total(), pageable.getPageNumber(), pageable.getPageSize(),
+                        result.facets());
+            }
             
             Specification<Product> spec = buildProductSpecification(
-                brand, categoryId, subcategoryId, minPrice, maxPrice
+                brand, categoryId, subcategoryId, minPrice, maxPrice, inStock
             );
             
             Page<Product> products = productRepository.findAll(spec, pageable);
             
-            return products.map(ProductResponse::from);
+            return ProductFacetPage.of(productListingReader.toResponses(products));
             
         } catch (Exception e) {
             log.error("Error searching products", e);
@@ -139,7 +220,8 @@ public class ProductService {
             Long categoryId,
             Long subcategoryId,
             Double minPrice,
-            Double maxPrice) {
+            Double maxPrice,
+            Boolean inStock) {
         
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -204,6 +286,11 @@ public class ProductService {
                 ));
             }
             
+            // Filter by availability
+            if (Boolean.TRUE.equals(inStock)) {
+                predicates.add(criteriaBuilder.greaterThan(root.get("stock"), 0));
+            }
+            
             // Only show active products
             predicates.add(criteriaBuilder.equal(root.get("isActive"), true));
             
@@ -216,14 +303,12 @@ public class ProductService {
 
         Page<Product> resultPage;
         if (search != null && !search.isBlank()) {
-            resultPage = productRepository.search(search.trim(), pageable);
+            resultPage = searchByKeyword(search.trim(), pageable);
         } else {
             resultPage = productRepository.findAll(pageable);
         }
 
-        var products = resultPage.stream()
-                .map(objectMapper::toProductResponse)
-                .toList();
+        var products = productListingReader.toResponses(resultPage.getContent());
 
         return PagedResponse.of(
                 products,
@@ -233,6 +318,27 @@ public class ProductService {
         );
     }
 
+    /**
+     * Keyset variant of the admin product grid: newest first, no total count.
+     * Keyword filtering uses the database LIKE predicate so that the seek order stays stable.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<ProductAdminResponse> scrollProductsForAdmin(String cursor, int size, String search) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        int pageSize = Math.max(size, 1);
+        String keyword = search != null && !search.isBlank() ? search.trim() : null;
+
+        List<Product> rows = productRepository.findPageAfter(
+                keyword,
+                after != null ? after.sortKey() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        return CursorResponse.ofPage(rows, pageSize,
+                product -> new SeekCursor(product.getCreatedAt(), product.getId()),
+                productListingReader::toAdminResponses);
+    }
+
     @Transactional(readOnly = true)
     public ProductResponse findByIdForAdmin(Long id) {
         return productRepository.findById(id)
@@ -258,14 +364,12 @@ public class ProductService {
 
         Page<Product> resultPage;
         if (search != null && !search.isBlank()) {
-            resultPage = productRepository.search(search.trim(), pageable);
+            resultPage = searchByKeyword(search.trim(), pageable);
         } else {
             resultPage = productRepository.findAll(pageable);
         }
 
-        var products = resultPage.stream()
-                .map(ProductAdminResponse::from)
-                .toList();
+        var products = productListingReader.toAdminResponses(resultPage.getContent());
 
         return PagedResponse.of(
                 products,
@@ -283,15 +387,18 @@ public class ProductService {
     }
 
     public ProductAdminResponse createProductForAdmin(ProductRegisterRequest request) {
-        Product product = ProductRegisterRequest.toProduct(request);
-        return ProductAdminResponse.from(productRepository.save(product));
+        Product product = productRepository.save(ProductRegisterRequest.toProduct(request));
+        publishProductChanged(product.getId(), true);
+        return ProductAdminResponse.from(product);
     }
 
     public ProductAdminResponse updateProductForAdmin(Long id, ProductUpdateRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
+        rejectStockChangeInFlashMode(product, request);
 
         product.updateFrom(request);
+        publishProductChanged(id, request.subCategory() != null);
 
         return ProductAdminResponse.from(productRepository.save(product));
     }
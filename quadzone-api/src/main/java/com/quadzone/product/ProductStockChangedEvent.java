@@ -0,0 +1,7 @@
+package com.quadzone.product;
+
+/**
+ * Published when only the stock of a product changed (checkout), as opposed to an edit of the product itself.
+ */
+public record ProductStockChangedEvent(Long productId) {
+}
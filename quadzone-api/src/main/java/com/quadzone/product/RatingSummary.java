@@ -0,0 +1,57 @@
+package com.quadzone.product;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Precomputed review statistics of a product, kept up to date by {@code ReviewService}
+ * and periodically reconciled against the review table.
+ * <p>
+ * The columns are only written by the bulk updates of {@link ProductRepository}, never by saving the product,
+ * so an admin edit of a loaded product cannot write back a stale snapshot over a concurrent increment.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummary {
+
+    @Column(name = "rating_count", nullable = false, updatable = false)
+    private int count;
+
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private long sum;
+
+    @Column(name = "rating_1", nullable = false, updatable = false)
+    private int stars1;
+
+    @Column(name = "rating_2", nullable = false, updatable = false)
+    private int stars2;
+
+    @Column(name = "rating_3", nullable = false, updatable = false)
+    private int stars3;
+
+    @Column(name = "rating_4", nullable = false, updatable = false)
+    private int stars4;
+
+    @Column(name = "rating_5", nullable = false, updatable = false)
+    private int stars5;
+
+    public double getAverage() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Number of reviews per star, index 0 being 1 star
+     */
+    public List<Integer> getHistogram() {
+        return List.of(stars1, stars2, stars3, stars4, stars5);
+    }
+}
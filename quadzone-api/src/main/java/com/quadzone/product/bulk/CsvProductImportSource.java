@@ -0,0 +1,125 @@
+package com.quadzone.product.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns. Quoted fields may contain commas, doubled quotes
+ * and line breaks.
+ */
+class CsvProductImportSource implements ProductImportSource {
+
+    private final BufferedReader reader;
+    private List<String> header;
+    private long line = 1;
+
+    CsvProductImportSource(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        if (header == null) {
+            header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            header = header.stream().map(ProductImportRow::normalizeColumn).toList();
+        }
+
+        long startLine;
+        List<String> values;
+        do {
+            startLine = line;
+            try {
+                values = readRecord();
+            } catch (MalformedRecordException e) {
+                return ProductImportRow.malformed(startLine, e.getMessage());
+            }
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        if (values.size() > header.size()) {
+            return ProductImportRow.malformed(startLine,
+                    "Row has " + values.size() + " fields but the header has " + header.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new ProductImportRow(startLine, fields, null);
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedRecordException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static class MalformedRecordException extends IOException {
+        MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
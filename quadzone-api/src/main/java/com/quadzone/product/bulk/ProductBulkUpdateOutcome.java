@@ -0,0 +1,16 @@
+package com.quadzone.product.bulk;
+
+public record ProductBulkUpdateOutcome(Long id, ProductBulkUpdateStatus status, String message) {
+
+    static ProductBulkUpdateOutcome updated(Long id) {
+        return new ProductBulkUpdateOutcome(id, ProductBulkUpdateStatus.UPDATED, null);
+    }
+
+    static ProductBulkUpdateOutcome notFound(Long id) {
+        return new ProductBulkUpdateOutcome(id, ProductBulkUpdateStatus.NOT_FOUND, "Product not found");
+    }
+
+    static ProductBulkUpdateOutcome rejected(Long id, String message) {
+        return new ProductBulkUpdateOutcome(id, ProductBulkUpdateStatus.REJECTED, message);
+    }
+}
@@ -0,0 +1,46 @@
+package com.quadzone.product.bulk;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Changes applied to every selected product; null fields are left unchanged.
+ * Products are selected either by {@code ids} or by the {@code brand} / {@code subCategoryId} filter.
+ */
+public record ProductBulkUpdateRequest(
+
+        @Size(max = 10000, message = "At most 10000 product IDs per request")
+        List<Long> ids,
+
+        String brand,
+
+        Long subCategoryId,
+
+        @Positive(message = "Price must be a positive value")
+        Double price,
+
+        @Positive(message = "Cost price must be a positive value")
+        Double costPrice,
+
+        @Min(value = 0, message = "Stock cannot be negative")
+        Integer stock,
+
+        Integer stockDelta,  // Added to the current stock; products it would take below zero are rejected
+
+        Boolean isActive
+) {
+    boolean selectsByIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    boolean selectsByFilter() {
+        return (brand != null && !brand.isBlank()) || subCategoryId != null;
+    }
+
+    boolean hasChanges() {
+        return price != null || costPrice != null || stock != null || stockDelta != null || isActive != null;
+    }
+}
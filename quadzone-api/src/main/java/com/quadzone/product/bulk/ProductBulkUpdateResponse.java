@@ -0,0 +1,24 @@
+package com.quadzone.product.bulk;
+
+import java.util.List;
+
+public record ProductBulkUpdateResponse(
+        int matched,
+        long updated,
+        long notFound,
+        long rejected,
+        List<ProductBulkUpdateOutcome> outcomes
+) {
+    static ProductBulkUpdateResponse from(List<ProductBulkUpdateOutcome> outcomes) {
+        return new ProductBulkUpdateResponse(
+                outcomes.size(),
+                count(outcomes, ProductBulkUpdateStatus.UPDATED),
+                count(outcomes, ProductBulkUpdateStatus.NOT_FOUND),
+                count(outcomes, ProductBulkUpdateStatus.REJECTED),
+                outcomes);
+    }
+
+    private static long count(List<ProductBulkUpdateOutcome> outcomes, ProductBulkUpdateStatus status) {
+        return outcomes.stream().filter(outcome -> outcome.status() == status).count();
+    }
+}
@@ -0,0 +1,110 @@
+package com.quadzone.product.bulk;
+
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies price, cost price, stock and activation changes to many products with set-based UPDATE statements,
+ * {@value #BATCH_SIZE} products per statement and transaction, without loading the entities.
+ * <p>
+ * The rows of a batch are locked first, so a stock delta is checked against the stock it is applied to.
+ * Every updated product publishes {@link ProductChangedEvent}, which refreshes the search indexes and caches
+ * after commit.
+ */
+@Service
+public class ProductBulkUpdateService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductBulkUpdateService(ProductRepository productRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ProductBulkUpdateResponse update(ProductBulkUpdateRequest request) {
+        if (request.selectsByIds() == request.selectsByFilter()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Select products either by ids or by brand/subCategoryId");
+        }
+        if (!request.hasChanges()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No changes requested");
+        }
+        if (request.stock() != null && request.stockDelta() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Set either stock or stockDelta, not both");
+        }
+
+        List<ProductBulkUpdateOutcome> outcomes = new ArrayList<>();
+        if (request.selectsByIds()) {
+            List<Long> ids = request.ids().stream().distinct().toList();
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+                outcomes.addAll(transactionTemplate.execute(status -> updateBatch(batch, request)));
+            }
+        } else {
+            String brand = request.brand() != null && !request.brand().isBlank() ? request.brand().trim() : null;
+            long lastId = 0L;
+            List<Long> ids;
+            do {
+                ids = productRepository.findIdsByFilterAfter(brand, request.subCategoryId(), lastId,
+                        PageRequest.of(0, BATCH_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<Long> batch = ids;
+                outcomes.addAll(transactionTemplate.execute(status -> updateBatch(batch, request)));
+                lastId = ids.get(ids.size() - 1);
+            } while (ids.size() == BATCH_SIZE);
+        }
+        return ProductBulkUpdateResponse.from(outcomes);
+    }
+
+    private List<ProductBulkUpdateOutcome> updateBatch(List<Long> ids, ProductBulkUpdateRequest request) {
+        Map<Long, ProductStockLevel> levelById = productRepository.findStockLevelsForUpdate(ids)
+                .stream()
+                .collect(Collectors.toMap(ProductStockLevel::productId, Function.identity()));
+        boolean changesStock = request.stock() != null || request.stockDelta() != null;
+
+        List<ProductBulkUpdateOutcome> outcomes = new ArrayList<>(ids.size());
+        List<Long> accepted = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductStockLevel level = levelById.get(id);
+            if (level == null) {
+                outcomes.add(ProductBulkUpdateOutcome.notFound(id));
+            } else if (changesStock && level.flashStripes() > 0) {
+                outcomes.add(ProductBulkUpdateOutcome.rejected(id, "Product is in flash-sale mode; disable it before changing stock"));
+            } else if (request.stockDelta() != null && level.stock() + request.stockDelta() < 0) {
+                outcomes.add(ProductBulkUpdateOutcome.rejected(id, "Stock would become negative (current stock " + level.stock() + ")"));
+            } else {
+                accepted.add(id);
+                outcomes.add(ProductBulkUpdateOutcome.updated(id));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            productRepository.bulkUpdate(accepted, request, LocalDateTime.now());
+            accepted.forEach(id -> eventPublisher.publishEvent(new ProductChangedEvent(id)));
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,7 @@
+package com.quadzone.product.bulk;
+
+public enum ProductBulkUpdateStatus {
+    UPDATED,
+    NOT_FOUND,
+    REJECTED
+}
@@ -0,0 +1,25 @@
+package com.quadzone.product.bulk;
+
+import java.time.LocalDateTime;
+
+public record ProductExportRow(
+        Long id,
+        String name,
+        String brand,
+        String modelNumber,
+        String color,
+        Double price,
+        Double costPrice,
+        Double weight,
+        Integer stock,
+        boolean active,
+        long unitsSold,
+        int ratingCount,
+        long ratingSum,
+        Long subCategoryId,
+        String subCategoryName,
+        Long categoryId,
+        String categoryName,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,72 @@
+package com.quadzone.product.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quadzone.global.export.ExportColumn;
+import com.quadzone.global.export.ExportFormat;
+import com.quadzone.global.export.ExportWriter;
+import com.quadzone.product.ProductRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams the catalog as CSV or NDJSON straight from a database cursor, in constant memory.
+ * On MySQL, add {@code useCursorFetch=true} to the JDBC URL so the driver honours the fetch size instead of
+ * reading the whole result set into memory.
+ */
+@Service
+public class ProductExportService {
+
+    private static final List<ExportColumn<ProductExportRow>> COLUMNS = List.of(
+            ExportColumn.of("id", ProductExportRow::id),
+            ExportColumn.of("name", ProductExportRow::name),
+            ExportColumn.of("brand", ProductExportRow::brand),
+            ExportColumn.of("modelNumber", ProductExportRow::modelNumber),
+            ExportColumn.of("color", ProductExportRow::color),
+            ExportColumn.of("price", ProductExportRow::price),
+            ExportColumn.of("costPrice", ProductExportRow::costPrice),
+            ExportColumn.of("weight", ProductExportRow::weight),
+            ExportColumn.of("stock", ProductExportRow::stock),
+            ExportColumn.of("active", ProductExportRow::active),
+            ExportColumn.of("unitsSold", ProductExportRow::unitsSold),
+            ExportColumn.of("ratingCount", ProductExportRow::ratingCount),
+            ExportColumn.of("ratingSum", ProductExportRow::ratingSum),
+            ExportColumn.of("subcategoryId", ProductExportRow::subCategoryId),
+            ExportColumn.of("subcategory", ProductExportRow::subCategoryName),
+            ExportColumn.of("categoryId", ProductExportRow::categoryId),
+            ExportColumn.of("category", ProductExportRow::categoryName),
+            ExportColumn.of("createdAt", ProductExportRow::createdAt));
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductExportService(ProductRepository productRepository,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * The export runs when the returned body is written, on the MVC async thread
+     */
+    public StreamingResponseBody export(ExportFormat format, String search) {
+        String keyword = search != null && !search.isBlank() ? search.trim() : null;
+        return out -> {
+            ExportWriter<ProductExportRow> writer = ExportWriter.open(format, COLUMNS, out, objectMapper);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ProductExportRow> rows = productRepository.streamExportRows(keyword)) {
+                    rows.forEach(writer::write);
+                }
+            });
+            writer.flush();
+        };
+    }
+}
@@ -0,0 +1,4 @@
+package com.quadzone.product.bulk;
+
+public record ProductImportError(long line, String message) {
+}
@@ -0,0 +1,42 @@
+package com.quadzone.product.bulk;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.Reader;
+
+public enum ProductImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final MediaType mediaType;
+
+    ProductImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public String getMediaType() {
+        return mediaType.toString();
+    }
+
+    ProductImportSource open(Reader reader) {
+        return switch (this) {
+            case CSV -> new CsvProductImportSource(reader);
+            case NDJSON -> new NdjsonProductImportSource(reader);
+        };
+    }
+
+    public static ProductImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (ProductImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Product import accepts text/csv or application/x-ndjson");
+    }
+}
@@ -0,0 +1,82 @@
+package com.quadzone.product.bulk;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable progress of a running import, read concurrently by the progress endpoint
+ */
+class ProductImportJob {
+
+    private static final int MAX_ERRORS = 1000;
+
+    private final String id = UUID.randomUUID().toString();
+    private final ProductImportFormat format;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // Guarded by this
+    private final List<ProductImportError> errors = new ArrayList<>();
+    private ProductImportStatus status = ProductImportStatus.RUNNING;
+    private LocalDateTime finishedAt;
+    private String failure;
+
+    ProductImportJob(ProductImportFormat format) {
+        this.format = format;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void imported(int rows) {
+        imported.addAndGet(rows);
+    }
+
+    synchronized void reject(long line, String message) {
+        rejected.incrementAndGet();
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ProductImportError(line, message));
+        }
+    }
+
+    synchronized void complete() {
+        status = ProductImportStatus.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized void fail(String message) {
+        status = ProductImportStatus.FAILED;
+        failure = message;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized boolean isRunning() {
+        return status == ProductImportStatus.RUNNING;
+    }
+
+    synchronized ProductImportReport toReport(boolean withErrors) {
+        return new ProductImportReport(
+                id,
+                format,
+                status,
+                startedAt,
+                finishedAt,
+                rowsRead.get(),
+                imported.get(),
+                rejected.get(),
+                withErrors ? List.copyOf(errors) : List.of(),
+                rejected.get() > errors.size(),
+                failure);
+    }
+}
@@ -0,0 +1,22 @@
+package com.quadzone.product.bulk;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of one import. {@code errors} holds the first rejected rows only, see {@code errorsTruncated}.
+ */
+public record ProductImportReport(
+        String id,
+        ProductImportFormat format,
+        ProductImportStatus status,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        long rowsRead,
+        long imported,
+        long rejected,
+        List<ProductImportError> errors,
+        boolean errorsTruncated,
+        String failure
+) {
+}
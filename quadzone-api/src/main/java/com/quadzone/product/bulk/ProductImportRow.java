@@ -0,0 +1,160 @@
+package com.quadzone.product.bulk;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One row of an import body, keyed by normalized column name ({@code sub_category_id}, {@code subCategoryId}
+ * and {@code "Sub Category Id"} are the same column).
+ *
+ * @param line  line number of the row in the body, for the error report
+ * @param error set when the row could not be read at all
+ */
+record ProductImportRow(long line, Map<String, String> fields, String error) {
+
+    static ProductImportRow malformed(long line, String error) {
+        return new ProductImportRow(line, Map.of(), error);
+    }
+
+    static String normalizeColumn(String column) {
+        return column.replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Validate the row with the rules of {@link com.quadzone.product.dto.ProductRegisterRequest}
+     *
+     * @param subCategoryIdsByName subcategory IDs by lower-case name; null for names shared by several subcategories
+     * @throws IllegalArgumentException describing the first invalid field
+     */
+    ImportedProduct toProduct(Set<Long> subCategoryIds, Map<String, Long> subCategoryIdsByName) {
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        String name = required("name");
+        if (name.length() < 3 || name.length() > 255) {
+            throw new IllegalArgumentException("name must be between 3 and 255 characters");
+        }
+        String brand = required("brand");
+        if (brand.length() > 100) {
+            throw new IllegalArgumentException("brand cannot exceed 100 characters");
+        }
+        String description = optional("description");
+        if (description != null && description.length() > 1000) {
+            throw new IllegalArgumentException("description cannot exceed 1000 characters");
+        }
+
+        double price = positive("price", number("price", required("price")));
+        double costPrice = positive("costprice", number("costprice", required("costprice")));
+        String weightText = optional("weight");
+        Double weight = weightText != null ? positive("weight", number("weight", weightText)) : null;
+
+        String stockText = optional("stock");
+        if (stockText == null) {
+            stockText = required("quantity");
+        }
+        int stock;
+        try {
+            stock = Integer.parseInt(stockText);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("stock is not a whole number: " + stockText);
+        }
+        if (stock < 0) {
+            throw new IllegalArgumentException("stock cannot be negative");
+        }
+
+        String active = optional("active");
+        if (active == null) {
+            active = optional("isactive");
+        }
+
+        return new ImportedProduct(
+                name,
+                brand,
+                optional("modelnumber"),
+                description,
+                optional("color"),
+                optional("imageurl"),
+                price,
+                costPrice,
+                weight,
+                stock,
+                subCategoryId(subCategoryIds, subCategoryIdsByName),
+                active == null || Boolean.parseBoolean(active) || "1".equals(active));
+    }
+
+    private long subCategoryId(Set<Long> subCategoryIds, Map<String, Long> subCategoryIdsByName) {
+        String id = optional("subcategoryid");
+        if (id != null) {
+            long subCategoryId;
+            try {
+                subCategoryId = Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("subcategoryId is not a number: " + id);
+            }
+            if (!subCategoryIds.contains(subCategoryId)) {
+                throw new IllegalArgumentException("Unknown subcategoryId " + subCategoryId);
+            }
+            return subCategoryId;
+        }
+
+        String name = optional("subcategory");
+        if (name == null) {
+            throw new IllegalArgumentException("subcategoryId or subcategory is required");
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        if (!subCategoryIdsByName.containsKey(key)) {
+            throw new IllegalArgumentException("Unknown subcategory '" + name + "'");
+        }
+        Long subCategoryId = subCategoryIdsByName.get(key);
+        if (subCategoryId == null) {
+            throw new IllegalArgumentException("Subcategory name '" + name + "' is ambiguous, use subcategoryId");
+        }
+        return subCategoryId;
+    }
+
+    private String optional(String column) {
+        String value = fields.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private String required(String column) {
+        String value = optional(column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    private static double number(String column, String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static double positive(String column, double value) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(column + " must be a positive value");
+        }
+        return value;
+    }
+
+    record ImportedProduct(
+            String name,
+            String brand,
+            String modelNumber,
+            String description,
+            String color,
+            String imageUrl,
+            double price,
+            double costPrice,
+            Double weight,
+            int stock,
+            long subCategoryId,
+            boolean active
+    ) {
+    }
+}
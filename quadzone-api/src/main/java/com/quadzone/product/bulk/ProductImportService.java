@@ -0,0 +1,228 @@
+package com.quadzone.product.bulk;
+
+import com.quadzone.product.bulk.ProductImportRow.ImportedProduct;
+import com.quadzone.product.category.CategoryChangedEvent;
+import com.quadzone.product.category.sub_category.SubCategory;
+import com.quadzone.product.category.sub_category.SubCategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bulk product import from a streamed CSV or NDJSON body.
+ * <p>
+ * Rows are parsed one at a time and written with JDBC batch inserts, {@code batchSize} rows per transaction
+ * ({@code Product.id} uses IDENTITY, so Hibernate would insert them one statement at a time). Subcategories are
+ * resolved from a map loaded once per import. Invalid rows are reported with their line number and skipped;
+ * when a batch is rejected by the database its rows are retried one by one to find the offending ones.
+ * On MySQL, add {@code rewriteBatchedStatements=true} to the JDBC URL so a batch is sent as multi-row inserts.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final int MAX_FINISHED_JOBS = 20;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO product (name, brand, model_number, description, color, image_url, price, cost_price, weight,
+                                 stock_quantity, subcategory_id, is_active, created_at,
+                                 rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5, units_sold)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0, 0, 0, 0, 0, 0)
+            """;
+
+    private final SubCategoryRepository subCategoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Map<String, ProductImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ProductImportService(SubCategoryRepository subCategoryRepository,
+                                JdbcTemplate jdbcTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${application.product-import.batch-size:500}") int batchSize) {
+        this.subCategoryRepository = subCategoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Import every row of the body; runs in the calling thread until the body is consumed.
+     * Progress can be polled meanwhile with {@link #getImports()} and {@link #getImport(String)}.
+     */
+    public ProductImportReport importProducts(InputStream body, ProductImportFormat format) {
+        ProductImportJob job = register(format);
+
+        Set<Long> subCategoryIds = new HashSet<>();
+        Map<String, Long> subCategoryIdsByName = new HashMap<>();
+        for (SubCategory sub : subCategoryRepository.findAll()) {
+            subCategoryIds.add(sub.getId());
+            String key = sub.getName().toLowerCase(Locale.ROOT);
+            // A name used by several subcategories maps to null and must be given by id
+            subCategoryIdsByName.put(key, subCategoryIdsByName.containsKey(key) ? null : sub.getId());
+        }
+
+        try (ProductImportSource source = format.open(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<PendingRow> batch = new ArrayList<>(batchSize);
+            ProductImportRow row;
+            while ((row = source.next()) != null) {
+                job.rowRead();
+                try {
+                    batch.add(new PendingRow(row.line(), row.toProduct(subCategoryIds, subCategoryIdsByName)));
+                } catch (IllegalArgumentException e) {
+                    job.reject(row.line(), e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    write(batch, job);
+                    batch.clear();
+                }
+            }
+            write(batch, job);
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            log.error("Product import {} stopped", job.getId(), e);
+            job.fail(e.getMessage());
+        }
+
+        ProductImportReport report = job.toReport(true);
+        log.info("Product import {} {}: {} rows read, {} imported, {} rejected",
+                report.id(), report.status(), report.rowsRead(), report.imported(), report.rejected());
+        return report;
+    }
+
+    /**
+     * Running imports and the most recent finished ones, newest first, without their error lists
+     */
+    public List<ProductImportReport> getImports() {
+        return jobs.values().stream()
+                .map(job -> job.toReport(false))
+                .sorted(Comparator.comparing(ProductImportReport::startedAt).reversed())
+                .toList();
+    }
+
+    public ProductImportReport getImport(String id) {
+        ProductImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import not found: " + id);
+        }
+        return job.toReport(true);
+    }
+
+    private ProductImportJob register(ProductImportFormat format) {
+        List<ProductImportJob> finished = jobs.values().stream()
+                .filter(job -> !job.isRunning())
+                .sorted(Comparator.comparing((ProductImportJob job) -> job.toReport(false).startedAt()))
+                .toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS + 1; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+
+        ProductImportJob job = new ProductImportJob(format);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private void write(List<PendingRow> batch, ProductImportJob job) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            job.imported(batch.size());
+        } catch (DataAccessException e) {
+            // The whole batch was rolled back; retry row by row to report only the rows the database rejects
+            for (PendingRow row : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    job.imported(1);
+                } catch (DataAccessException rowError) {
+                    job.reject(row.line(), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Batch insert, then publish the change events that refresh search indexes and caches after commit,
+     * one for the whole batch
+     */
+    private void insert(List<PendingRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ImportedProduct product = rows.get(i).product();
+                        ps.setString(1, product.name());
+                        ps.setString(2, product.brand());
+                        ps.setString(3, product.modelNumber());
+                        ps.setString(4, product.description());
+                        ps.setString(5, product.color());
+                        ps.setString(6, product.imageUrl());
+                        ps.setDouble(7, product.price());
+                        ps.setDouble(8, product.costPrice());
+                        if (product.weight() != null) {
+                            ps.setDouble(9, product.weight());
+                        } else {
+                            ps.setNull(9, Types.DOUBLE);
+                        }
+                        ps.setInt(10, product.stock());
+                        ps.setLong(11, product.subCategoryId());
+                        ps.setBoolean(12, product.active());
+                        ps.setTimestamp(13, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keys);
+
+        List<Long> productIds = keys.getKeyList()
+                .stream()
+                .map(key -> ((Number) key.values().iterator().next()).longValue())
+                .toList();
+        eventPublisher.publishEvent(new ProductsImportedEvent(productIds));
+        // Product counts of the category tree changed
+        eventPublisher.publishEvent(new CategoryChangedEvent());
+    }
+
+    private record PendingRow(long line, ImportedProduct product) {
+    }
+}
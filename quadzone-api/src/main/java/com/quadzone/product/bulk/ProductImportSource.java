@@ -0,0 +1,16 @@
+package com.quadzone.product.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads an import body one row at a time, so the file is never held in memory
+ */
+interface ProductImportSource extends Closeable {
+
+    /**
+     * @return the next row, a {@link ProductImportRow#malformed malformed} row if it could not be read,
+     * or null at the end of the input
+     */
+    ProductImportRow next() throws IOException;
+}
@@ -0,0 +1,4 @@
+package com.quadzone.product.bulk;
+
+public record ProductStockLevel(Long productId, Integer stock, int flashStripes) {
+}
@@ -0,0 +1,10 @@
+package com.quadzone.product.bulk;
+
+import java.util.List;
+
+/**
+ * Published by {@link ProductImportService} once per committed import batch, instead of one
+ * {@link com.quadzone.product.ProductChangedEvent} per row, so that listeners refresh the new products in bulk.
+ */
+public record ProductsImportedEvent(List<Long> productIds) {
+}
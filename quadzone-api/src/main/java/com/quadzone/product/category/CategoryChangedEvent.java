@@ -0,0 +1,8 @@
+package com.quadzone.product.category;
+
+/**
+ * Published whenever a category or sub-category is created, updated or deleted.
+ * Listeners that keep derived views of the category tree reload it after the transaction commits.
+ */
+public record CategoryChangedEvent() {
+}
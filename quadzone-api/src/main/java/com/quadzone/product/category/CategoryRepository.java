@@ -6,6 +6,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     @Query("""
@@ -14,4 +17,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
             WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%'))
             """)
     Page<Category> search(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT DISTINCT c FROM Category c LEFT JOIN FETCH c.subcategories ORDER BY c.id")
+    List<Category> findAllWithSubCategories();
+
+    @Query("SELECT DISTINCT c FROM Category c LEFT JOIN FETCH c.subcategories WHERE c.id IN :ids")
+    List<Category> findAllWithSubCategoriesByIdIn(@Param("ids") Collection<Long> ids);
 }
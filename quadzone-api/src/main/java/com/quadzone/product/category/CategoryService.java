@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quadzone.admin.dto.CategoryAdminResponse;
 import com.quadzone.exception.category.CategoryNotFoundException;
 import com.quadzone.global.dto.PagedResponse;
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductRepository;
 import com.quadzone.product.category.dto.CategoryRegisterRequest;
 import com.quadzone.product.category.dto.CategoryResponse;
 import com.quadzone.product.category.dto.CategoryUpdateRequest;
@@ -13,8 +15,10 @@ import com.quadzone.product.category.sub_category.dto.SubCategoryAdminResponse;
 import com.quadzone.product.category.sub_category.dto.SubCategoryRegisterRequest;
 import com.quadzone.product.category.sub_category.dto.SubCategoryResponse;
 import com.quadzone.product.category.sub_category.dto.SubCategoryUpdateRequest;
+import com.quadzone.product.reference.CatalogReferenceCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,7 +29,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,7 +36,10 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogReferenceCache catalogReferenceCache;
 
     public CategoryResponse getCategory(Long id) {
         Category category = categoryRepository.findById(id)
@@ -43,6 +49,7 @@ public class CategoryService {
 
     public CategoryResponse createCategory(CategoryRegisterRequest request) {
         Category category = CategoryRegisterRequest.toCategory(request);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
         return CategoryResponse.from(categoryRepository.save(category));
     }
 
@@ -51,6 +58,7 @@ public class CategoryService {
                 .orElseThrow(() -> new CategoryNotFoundException(id));
 
         category.updateFrom(request);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
 
         return CategoryResponse.from(categoryRepository.save(category));
     }
@@ -59,7 +67,9 @@ public class CategoryService {
         if (!categoryRepository.existsById(id)) {
             throw new CategoryNotFoundException(id);
         }
+        List<Long> productIds = productRepository.findIdsByCategoryId(id);
         categoryRepository.deleteById(id);
+        publishDeleted(productIds);
     }
 
     // ------------- ADMIN METHODS---------------
@@ -126,6 +136,7 @@ public class CategoryService {
 
     public CategoryAdminResponse createCategoryForAdmin(CategoryRegisterRequest request) {
         Category category = CategoryRegisterRequest.toCategory(request);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
         return CategoryAdminResponse.from(categoryRepository.save(category));
     }
 
@@ -134,29 +145,28 @@ public class CategoryService {
                 .orElseThrow(() -> new CategoryNotFoundException(id));
 
         category.updateFrom(request);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
 
         return CategoryAdminResponse.from(categoryRepository.save(category));
     }
 
+    /**
+     * Served from {@link CatalogReferenceCache}
+     */
     public List<CategoryResponse> getAllCategories() {
-        return categoryRepository.findAll()
-                .stream()
-                .map(CategoryResponse::from)
-                .toList();
+        return catalogReferenceCache.getCategoryTree();
     }
 
     @Autowired
     private SubCategoryRepository subCategoryRepository;
 
     public List<SubCategoryResponse> getSubCategoriesByCategoryId(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
+        return catalogReferenceCache.getCategoryTree()
+                .stream()
+                .filter(category -> category.id().equals(categoryId))
+                .findFirst()
+                .map(CategoryResponse::subCategories)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + categoryId));
-
-        List<SubCategory> subCategories = subCategoryRepository.findByCategory_Id(categoryId);
-
-        return subCategories.stream()
-                .map(SubCategoryResponse::from)
-                .collect(Collectors.toList());
     }
 
     public SubCategoryResponse createSubCategory(Long categoryId, SubCategoryRegisterRequest req) {
@@ -169,6 +179,7 @@ public class CategoryService {
         sub.setCategory(category);
 
         subCategoryRepository.save(sub);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
         return SubCategoryResponse.from(sub);
     }
 
@@ -184,6 +195,7 @@ public class CategoryService {
         sub.setCategory(category);
 
         subCategoryRepository.save(sub);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
         return SubCategoryResponse.from(sub);
     }
 
@@ -197,7 +209,18 @@ public class CategoryService {
         if (!sub.getCategory().getId().equals(categoryId))
             throw new RuntimeException("SubCategory does not belong to this Category");
 
+        List<Long> productIds = productRepository.findIdsBySubCategoryId(subId);
         subCategoryRepository.delete(sub);
+        publishDeleted(productIds);
+    }
+
+    /**
+     * The products of a deleted category or subcategory are deleted with it (cascade), so their read models
+     * are refreshed as well as the tree
+     */
+    private void publishDeleted(List<Long> productIds) {
+        productIds.forEach(productId -> eventPublisher.publishEvent(new ProductChangedEvent(productId)));
+        eventPublisher.publishEvent(new CategoryChangedEvent());
     }
 
     // Admin methods for subcategories with SubCategoryAdminResponse
@@ -1,24 +1,33 @@
 package com.quadzone.product.category.dto;
 
 import java.util.List;
+import java.util.function.Function;
 
 import com.quadzone.product.category.Category;
+import com.quadzone.product.category.sub_category.SubCategory;
 import com.quadzone.product.category.sub_category.dto.SubCategoryResponse;
 
 public record CategoryResponse(
         Long id,
         String name,
-        List<SubCategoryResponse> subCategories) {
+        List<SubCategoryResponse> subCategories,
+        long productCount) {
     public static CategoryResponse from(Category category) {
+        return from(category, SubCategoryResponse::from);
+    }
+
+    public static CategoryResponse from(Category category, Function<SubCategory, SubCategoryResponse> subCategoryMapper) {
         if (category == null) {
             return null;
         }
+        List<SubCategoryResponse> subCategories = category.getSubcategories() != null
+                ? category.getSubcategories().stream().map(subCategoryMapper).toList()
+                : List.of();
         return new CategoryResponse(
                 category.getId(),
                 category.getName(),
-                category.getSubcategories() != null ? category.getSubcategories().stream()
-                        .map(SubCategoryResponse::from)
-                        .toList() : List.of());
+                subCategories,
+                subCategories.stream().mapToLong(SubCategoryResponse::productCount).sum());
     }
 
 }
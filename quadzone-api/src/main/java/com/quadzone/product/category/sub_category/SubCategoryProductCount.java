@@ -0,0 +1,4 @@
+package com.quadzone.product.category.sub_category;
+
+public record SubCategoryProductCount(Long subCategoryId, Long count) {
+}
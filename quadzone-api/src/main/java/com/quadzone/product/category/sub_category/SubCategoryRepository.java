@@ -2,6 +2,7 @@ package com.quadzone.product.category.sub_category;
 
 import com.quadzone.product.category.sub_category.dto.SubCategoryResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +11,7 @@ import java.util.List;
 public interface SubCategoryRepository extends JpaRepository<SubCategory, Long> {
 
     List<SubCategory> findByCategory_Id(Long categoryId);
+
+    @Query("SELECT sc FROM SubCategory sc JOIN FETCH sc.category")
+    List<SubCategory> findAllWithCategory();
 }
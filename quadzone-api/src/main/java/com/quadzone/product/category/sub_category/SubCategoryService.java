@@ -1,8 +1,12 @@
 package com.quadzone.product.category.sub_category;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductRepository;
 import com.quadzone.product.category.Category;
+import com.quadzone.product.category.CategoryChangedEvent;
 import com.quadzone.product.category.CategoryRepository;
 import com.quadzone.product.category.sub_category.dto.SubCategoryAdminResponse;
 import com.quadzone.product.category.sub_category.dto.SubCategoryRegisterRequest;
@@ -20,6 +24,8 @@ public class SubCategoryService {
 
     private final SubCategoryRepository subCategoryRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new sub-category
@@ -41,6 +47,7 @@ public class SubCategoryService {
                 .build();
 
         SubCategory saved = subCategoryRepository.save(subCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
         return SubCategoryAdminResponse.from(saved);
     }
 
@@ -81,6 +88,7 @@ public class SubCategoryService {
         }
 
         SubCategory updated = subCategoryRepository.save(subCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
         return SubCategoryAdminResponse.from(updated);
     }
 
@@ -95,7 +103,11 @@ public class SubCategoryService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, 
                     "SubCategory not found with id: " + id);
         }
+        // Its products are deleted with it (cascade): their read models are refreshed as well as the tree
+        productRepository.findIdsBySubCategoryId(id)
+                .forEach(productId -> eventPublisher.publishEvent(new ProductChangedEvent(productId)));
         subCategoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent());
     }
 
     /**
@@ -11,8 +11,13 @@ public record SubCategoryResponse(
         String categoryName
 ) {
     public static SubCategoryResponse from(SubCategory sub) {
-        long productCount = sub.getProducts() != null ? sub.getProducts().size() : 0;
+        return from(sub, sub.getProducts() != null ? sub.getProducts().size() : 0);
+    }
 
+    /**
+     * Build the response with a product count computed elsewhere, without loading {@code sub.getProducts()}
+     */
+    public static SubCategoryResponse from(SubCategory sub, long productCount) {
         return new SubCategoryResponse(
                 sub.getId(),
                 sub.getName(),
@@ -0,0 +1,123 @@
+package com.quadzone.product.detail;
+
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.bulk.ProductsImportedEvent;
+import com.quadzone.product.category.CategoryChangedEvent;
+import com.quadzone.review.ReviewChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of {@link ProductDetailView} per product.
+ * <p>
+ * Entries are dropped after every committed change to the product or its reviews, and all of them after a
+ * category change. Entries also expire after a TTL, which bounds how stale the subcategory product counts
+ * in the category chain can get when other products are added or removed.
+ */
+@Component
+public class ProductDetailCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<Long, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Guarded by entries; bumped on every invalidation so loads that raced with one are not stored
+    private long generation;
+
+    private record Entry(ProductDetailView view, long expiresAt) {
+    }
+
+    public ProductDetailCache(@Value("${application.product-detail-cache.max-entries:5000}") int maxEntries,
+                              @Value("${application.product-detail-cache.ttl-ms:600000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > ProductDetailCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param loader reads the view from the database; empty if the product does not exist
+     */
+    public Optional<ProductDetailView> get(Long productId, Supplier<Optional<ProductDetailView>> loader) {
+        long loadGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(productId);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return Optional.of(entry.view());
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+
+        Optional<ProductDetailView> view = loader.get();
+        view.ifPresent(loaded -> {
+            synchronized (entries) {
+                if (generation == loadGeneration) {
+                    entries.put(productId, new Entry(loaded, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        });
+        return view;
+    }
+
+    public ProductDetailCacheStats getStats() {
+        synchronized (entries) {
+            return new ProductDetailCacheStats(entries.size(), maxEntries, hits.get(), misses.get(), evictions.get());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.productId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.productIds().forEach(this::evict);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        evict(event.productId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        synchronized (entries) {
+            generation++;
+            evictions.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    private void evict(Long productId) {
+        synchronized (entries) {
+            generation++;
+            if (entries.remove(productId) != null) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+}
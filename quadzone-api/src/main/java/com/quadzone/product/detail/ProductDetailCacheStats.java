@@ -0,0 +1,10 @@
+package com.quadzone.product.detail;
+
+public record ProductDetailCacheStats(
+        int entries,
+        int maxEntries,
+        long hits,
+        long misses,
+        long evictions
+) {
+}
@@ -0,0 +1,66 @@
+package com.quadzone.product.detail;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quadzone.product.Product;
+import com.quadzone.product.category.dto.CategoryResponse;
+import com.quadzone.product.category.sub_category.dto.SubCategoryResponse;
+import com.quadzone.product.dto.RatingSummaryResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Cacheable part of the product detail page: everything except stock and reviews.
+ */
+public record ProductDetailView(
+        Long id,
+        String name,
+        String brand,
+        String modelNumber,
+        List<String> description,
+        double weight,
+        double price,
+        String imageUrl,
+        SubCategoryResponse subCategory,
+        CategoryResponse category,
+        RatingSummaryResponse rating) {
+
+    public static ProductDetailView from(Product product, SubCategoryResponse subCategory, CategoryResponse category) {
+        return new ProductDetailView(
+                product.getId(),
+                product.getName(),
+                product.getBrand(),
+                product.getModelNumber(),
+                DescriptionParser.parse(product),
+                product.getWeight() != null ? product.getWeight() : 0,
+                product.getPrice(),
+                product.getImageUrl(),
+                subCategory,
+                category,
+                RatingSummaryResponse.from(product.getRating()));
+    }
+
+    /**
+     * The description column holds a JSON array of paragraphs
+     */
+    @Slf4j
+    private static final class DescriptionParser {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+        private static final TypeReference<List<String>> PARAGRAPHS = new TypeReference<>() {
+        };
+
+        static List<String> parse(Product product) {
+            if (product.getDescription() == null) {
+                return List.of();
+            }
+            try {
+                return MAPPER.readValue(product.getDescription(), PARAGRAPHS);
+            } catch (Exception e) {
+                log.warn("Product {} has an invalid description: {}", product.getId(), e.getMessage());
+                return List.of();
+            }
+        }
+    }
+}
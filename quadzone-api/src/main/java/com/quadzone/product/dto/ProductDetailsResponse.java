@@ -1,15 +1,17 @@
 package com.quadzone.product.dto;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.quadzone.product.Product;
 import com.quadzone.product.category.dto.CategoryResponse;
 import com.quadzone.product.category.sub_category.dto.SubCategoryResponse;
+import com.quadzone.product.detail.ProductDetailView;
 import com.quadzone.review.dto.ReviewResponse;
+import org.springframework.data.domain.Page;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * {@code reviews} holds only the newest reviews; when {@code reviewsNextPage} is set, the rest are available from
+ * {@code GET /api/v1/reviews/product/{id}?page={reviewsNextPage}} with the same page size.
+ */
 public record ProductDetailsResponse(
         Long id,
         String name,
@@ -22,46 +24,24 @@ public record ProductDetailsResponse(
         Integer quantity,
         SubCategoryResponse subCategory,
         CategoryResponse category,
-        List<ReviewResponse> reviews) {
-    public static ProductDetailsResponse from(Product product) {
-        ObjectMapper mapper = new ObjectMapper();
-
-        List<String> descriptions = new ArrayList<>();
-
-        try {
-            if (product.getDescription() != null) {
-                descriptions = mapper.readValue(
-                        product.getDescription(),
-                        new TypeReference<List<String>>() {
-                        });
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        SubCategoryResponse subCategoryResponse = null;
-        CategoryResponse categoryResponse = null;
-        
-        if (product.getSubCategory() != null) {
-            subCategoryResponse = SubCategoryResponse.from(product.getSubCategory());
-            if (product.getSubCategory().getCategory() != null) {
-                categoryResponse = CategoryResponse.from(product.getSubCategory().getCategory());
-            }
-        }
-
+        RatingSummaryResponse rating,
+        List<ReviewResponse> reviews,
+        Integer reviewsNextPage) {
+    public static ProductDetailsResponse from(ProductDetailView view, Integer stock, Page<ReviewResponse> reviews) {
         return new ProductDetailsResponse(
-                product.getId(),
-                product.getName(),
-                product.getBrand(),
-                product.getModelNumber(),
-                descriptions,
-                product.getWeight(),
-                product.getPrice(),
-                product.getImageUrl(),
-                product.getStock(),
-                subCategoryResponse,
-                categoryResponse,
-                // convert list review to list review response
-                product.getReviews() != null ? product.getReviews().stream().map(ReviewResponse::from).toList() : new ArrayList<>());
+                view.id(),
+                view.name(),
+                view.brand(),
+                view.modelNumber(),
+                view.description(),
+                view.weight(),
+                view.price(),
+                view.imageUrl(),
+                stock,
+                view.subCategory(),
+                view.category(),
+                view.rating(),
+                reviews.getContent(),
+                reviews.hasNext() ? reviews.getNumber() + 1 : null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.quadzone.product.dto;
+
+import com.quadzone.global.dto.PagedResponse;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * A page of products that also carries the facet counts of the whole result set.
+ * Same JSON shape as a regular page ({@code content} + {@code page}) with an extra {@code facets} property.
+ */
+public record ProductFacetPage(
+        List<ProductResponse> content,
+        PagedResponse.PageInfo page,
+        ProductFacetsResponse facets
+) {
+    public static ProductFacetPage of(List<ProductResponse> content, long totalElements, int pageNumber, int pageSize,
+                                      ProductFacetsResponse facets) {
+        PagedResponse<ProductResponse> paged = PagedResponse.of(content, totalElements, pageNumber, pageSize);
+        return new ProductFacetPage(paged.content(), paged.page(), facets);
+    }
+
+    public static ProductFacetPage of(Page<ProductResponse> page) {
+        return of(page.getContent(), page.getTotalElements(), page.getNumber(), page.getSize(), ProductFacetsResponse.empty());
+    }
+}
@@ -0,0 +1,29 @@
+package com.quadzone.product.dto;
+
+import java.util.List;
+
+/**
+ * Facet counts for a product listing. Each dimension is counted with every other active filter applied,
+ * so selecting a brand does not hide the other brands' counts.
+ */
+public record ProductFacetsResponse(
+        List<BrandCount> brands,
+        List<CategoryCount> categories,
+        List<SubCategoryCount> subCategories,
+        long inStock,
+        Double minPrice,
+        Double maxPrice
+) {
+    public record BrandCount(String brand, long count) {
+    }
+
+    public record CategoryCount(Long categoryId, long count) {
+    }
+
+    public record SubCategoryCount(Long subCategoryId, long count) {
+    }
+
+    public static ProductFacetsResponse empty() {
+        return new ProductFacetsResponse(List.of(), List.of(), List.of(), 0, null, null);
+    }
+}
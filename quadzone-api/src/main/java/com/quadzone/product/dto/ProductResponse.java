@@ -13,9 +13,14 @@ public record ProductResponse(
         String imageUrl,
         Integer quantity,
         SubCategoryResponse subCategory,
-        CategoryNameResponse category) {
+        CategoryNameResponse category,
+        double averageRating,
+        int reviewCount) {
     public static ProductResponse from(Product product) {
-        SubCategoryResponse subCategoryResponse = SubCategoryResponse.from(product.getSubCategory());
+        return from(product, SubCategoryResponse.from(product.getSubCategory()));
+    }
+
+    public static ProductResponse from(Product product, SubCategoryResponse subCategoryResponse) {
         CategoryNameResponse categoryResponse = null;
         
         // Safe null-check for category
@@ -31,6 +36,8 @@ public record ProductResponse(
                 product.getImageUrl(),
                 product.getStock(),
                 subCategoryResponse,
-                categoryResponse);
+                categoryResponse,
+                product.getRating() != null ? product.getRating().getAverage() : 0,
+                product.getRating() != null ? product.getRating().getCount() : 0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.quadzone.product.dto;
+
+import com.quadzone.product.RatingSummary;
+
+import java.util.List;
+
+public record RatingSummaryResponse(
+        double average,
+        int count,
+        List<Integer> histogram  // Reviews per star, index 0 = 1 star
+) {
+    public static RatingSummaryResponse from(RatingSummary rating) {
+        if (rating == null) {
+            return new RatingSummaryResponse(0, 0, List.of(0, 0, 0, 0, 0));
+        }
+        return new RatingSummaryResponse(rating.getAverage(), rating.getCount(), rating.getHistogram());
+    }
+}
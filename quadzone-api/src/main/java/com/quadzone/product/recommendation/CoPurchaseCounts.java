@@ -0,0 +1,68 @@
+package com.quadzone.product.recommendation;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse co-purchase counts: how many orders contain each product, and each pair of products. Not thread-safe.
+ */
+class CoPurchaseCounts {
+
+    private final Map<Long, Integer> orders = new HashMap<>();
+    private final Map<Long, Map<Long, Integer>> together = new HashMap<>();
+
+    void addBasket(Collection<Long> productIds, int maxBasket) {
+        List<Long> basket = List.copyOf(new LinkedHashSet<>(productIds));
+        basket.forEach(productId -> orders.merge(productId, 1, Integer::sum));
+        if (basket.size() > maxBasket) {
+            return;
+        }
+        for (int i = 0; i < basket.size(); i++) {
+            for (int j = i + 1; j < basket.size(); j++) {
+                increment(basket.get(i), basket.get(j));
+                increment(basket.get(j), basket.get(i));
+            }
+        }
+    }
+
+    int orders(Long productId) {
+        return orders.getOrDefault(productId, 0);
+    }
+
+    Map<Long, Integer> together(Long productId) {
+        return together.getOrDefault(productId, Map.of());
+    }
+
+    Set<Long> products() {
+        return together.keySet();
+    }
+
+    /**
+     * Keep only the {@code max} products most often bought with the given one
+     */
+    void trim(Long productId, int max) {
+        Map<Long, Integer> counts = together.get(productId);
+        if (counts == null || counts.size() <= max) {
+            return;
+        }
+        Map<Long, Integer> kept = new HashMap<>();
+        counts.entrySet()
+                .stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .limit(max)
+                .forEach(entry -> kept.put(entry.getKey(), entry.getValue()));
+        together.put(productId, kept);
+    }
+
+    void trimAll(int max) {
+        List.copyOf(together.keySet()).forEach(productId -> trim(productId, max));
+    }
+
+    private void increment(Long productId, Long boughtWith) {
+        together.computeIfAbsent(productId, id -> new HashMap<>()).merge(boughtWith, 1, Integer::sum);
+    }
+}
@@ -0,0 +1,265 @@
+package com.quadzone.product.recommendation;
+
+import com.quadzone.order.OrderPlacedEvent;
+import com.quadzone.order.OrderRepository;
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductRepository;
+import com.quadzone.product.ProductStockChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * "Customers also bought": item-to-item co-purchase model served entirely from memory.
+ * <p>
+ * For every product, the products bought in the same (non-cancelled) orders are counted and the
+ * {@value #TOP_K} best are kept, scored by cosine similarity ({@code together / sqrt(ordersA * ordersB)}) so
+ * that best sellers do not show up everywhere. Each placed order updates the counts of its products after
+ * commit; between rebuilds at most {@value #MAX_CANDIDATES} co-purchased products are tracked per product.
+ * The scheduled rebuild recounts the whole order history, which also drops cancelled orders and refreshes
+ * the scores of products whose order counts moved.
+ * <p>
+ * Product cards of the recommended products are kept too and refreshed on product changes, so serving a
+ * recommendation never touches the database.
+ */
+@Slf4j
+@Component
+public class CoPurchaseRecommender {
+
+    public static final int TOP_K = 20;
+    private static final int MAX_CANDIDATES = 100;
+    // Orders with more distinct products are skipped: their pairs grow quadratically and carry little signal
+    private static final int MAX_BASKET = 50;
+    private static final int CARD_BATCH = 1000;
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Guarded by this
+    private CoPurchaseCounts counts = new CoPurchaseCounts();
+    private boolean building;
+    private final Set<Long> placedDuringBuild = new HashSet<>();
+
+    private volatile Map<Long, List<Neighbor>> neighbors = new ConcurrentHashMap<>();
+    private volatile Map<Long, ProductRecommendation> cards = new ConcurrentHashMap<>();
+
+    private record Neighbor(Long productId, double score) {
+    }
+
+    public CoPurchaseRecommender(OrderRepository orderRepository,
+                                 ProductRepository productRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Products most often bought together with the given one, active and in stock only
+     */
+    public List<ProductRecommendation> alsoBought(Long productId, int size) {
+        List<Long> candidates = neighbors.getOrDefault(productId, List.of())
+                .stream()
+                .map(Neighbor::productId)
+                .toList();
+        return toCards(candidates, Set.of(productId), size);
+    }
+
+    /**
+     * Recommendations for a basket (e.g. the cart): neighbor scores are summed over its products,
+     * and products already in it are left out
+     */
+    public List<ProductRecommendation> alsoBought(Collection<Long> productIds, int size) {
+        Map<Long, List<Neighbor>> current = neighbors;
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long productId : new LinkedHashSet<>(productIds)) {
+            for (Neighbor neighbor : current.getOrDefault(productId, List.of())) {
+                scores.merge(neighbor.productId(), neighbor.score(), Double::sum);
+            }
+        }
+        List<Long> candidates = scores.entrySet()
+                .stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+        return toCards(candidates, new HashSet<>(productIds), size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.recommendations.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            building = true;
+            placedDuringBuild.clear();
+        }
+
+        CoPurchaseCounts fresh = new CoPurchaseCounts();
+        long lastOrderId;
+        try {
+            lastOrderId = transactionTemplate.execute(status -> count(fresh));
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild co-purchase recommendations", e);
+            synchronized (this) {
+                building = false;
+                placedDuringBuild.clear();
+            }
+            return;
+        }
+        fresh.trimAll(MAX_CANDIDATES);
+
+        Map<Long, List<Neighbor>> freshNeighbors = new ConcurrentHashMap<>();
+        for (Long productId : fresh.products()) {
+            List<Neighbor> top = topNeighbors(fresh, productId);
+            if (!top.isEmpty()) {
+                freshNeighbors.put(productId, top);
+            }
+        }
+        Map<Long, ProductRecommendation> freshCards = new ConcurrentHashMap<>();
+        loadCards(neighborIds(freshNeighbors.values()), freshCards);
+
+        List<Long> replay;
+        synchronized (this) {
+            counts = fresh;
+            neighbors = freshNeighbors;
+            cards = freshCards;
+            building = false;
+            // Orders committed while the history was being read may not be part of it
+            replay = placedDuringBuild.stream().filter(orderId -> orderId > lastOrderId).toList();
+            placedDuringBuild.clear();
+        }
+        replay.forEach(this::apply);
+
+        log.info("Co-purchase recommendations built for {} products in {} ms",
+                freshNeighbors.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        synchronized (this) {
+            if (building) {
+                placedDuringBuild.add(event.orderId());
+            }
+        }
+        apply(event.orderId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refreshCard(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductStockChanged(ProductStockChangedEvent event) {
+        refreshCard(event.productId());
+    }
+
+    /**
+     * @return the last order ID read
+     */
+    private long count(CoPurchaseCounts target) {
+        long lastOrderId = 0L;
+        List<Long> basket = new ArrayList<>();
+        try (Stream<OrderProductPair> pairs = orderRepository.streamOrderProductPairs()) {
+            for (OrderProductPair pair : (Iterable<OrderProductPair>) pairs::iterator) {
+                if (pair.orderId() != lastOrderId) {
+                    target.addBasket(basket, MAX_BASKET);
+                    basket.clear();
+                    lastOrderId = pair.orderId();
+                }
+                basket.add(pair.productId());
+            }
+        }
+        target.addBasket(basket, MAX_BASKET);
+        return lastOrderId;
+    }
+
+    private void apply(Long orderId) {
+        try {
+            List<Long> productIds = orderRepository.findProductIdsByOrderId(orderId);
+            Map<Long, List<Neighbor>> updated = new HashMap<>();
+            synchronized (this) {
+                counts.addBasket(productIds, MAX_BASKET);
+                for (Long productId : productIds) {
+                    counts.trim(productId, MAX_CANDIDATES);
+                    updated.put(productId, topNeighbors(counts, productId));
+                }
+            }
+            neighbors.putAll(updated);
+
+            Map<Long, ProductRecommendation> current = cards;
+            List<Long> missing = neighborIds(updated.values()).stream()
+                    .filter(id -> !current.containsKey(id))
+                    .toList();
+            loadCards(missing, current);
+        } catch (RuntimeException e) {
+            // Recommendations must never fail a checkout; the next rebuild catches up
+            log.warn("Failed to update co-purchase recommendations for order {}", orderId, e);
+        }
+    }
+
+    private void refreshCard(Long productId) {
+        Map<Long, ProductRecommendation> current = cards;
+        if (!current.containsKey(productId)) {
+            return;
+        }
+        productRepository.findRecommendationCards(List.of(productId))
+                .stream()
+                .findFirst()
+                .ifPresentOrElse(card -> current.put(productId, card), () -> current.remove(productId));
+    }
+
+    private List<ProductRecommendation> toCards(List<Long> candidates, Set<Long> excluded, int size) {
+        Map<Long, ProductRecommendation> current = cards;
+        return candidates.stream()
+                .filter(id -> !excluded.contains(id))
+                .map(current::get)
+                .filter(card -> card != null && card.active() && card.stock() != null && card.stock() > 0)
+                .limit(Math.max(size, 0))
+                .toList();
+    }
+
+    private static List<Neighbor> topNeighbors(CoPurchaseCounts source, Long productId) {
+        int orders = source.orders(productId);
+        return source.together(productId).entrySet()
+                .stream()
+                .map(entry -> new Neighbor(entry.getKey(),
+                        entry.getValue() / Math.sqrt((double) orders * source.orders(entry.getKey()))))
+                .sorted(Comparator.comparingDouble(Neighbor::score).reversed())
+                .limit(TOP_K)
+                .toList();
+    }
+
+    private static Set<Long> neighborIds(Collection<List<Neighbor>> lists) {
+        Set<Long> ids = new HashSet<>();
+        lists.forEach(list -> list.forEach(neighbor -> ids.add(neighbor.productId())));
+        return ids;
+    }
+
+    private void loadCards(Collection<Long> productIds, Map<Long, ProductRecommendation> target) {
+        List<Long> ids = new ArrayList<>(productIds);
+        for (int from = 0; from < ids.size(); from += CARD_BATCH) {
+            productRepository.findRecommendationCards(ids.subList(from, Math.min(from + CARD_BATCH, ids.size())))
+                    .forEach(card -> target.put(card.id(), card));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.quadzone.product.recommendation;
+
+public record OrderProductPair(Long orderId, Long productId) {
+}
@@ -0,0 +1,15 @@
+package com.quadzone.product.recommendation;
+
+/**
+ * Product card shown in recommendation strips, kept in memory by {@link CoPurchaseRecommender}
+ */
+public record ProductRecommendation(
+        Long id,
+        String name,
+        String brand,
+        Double price,
+        String imageUrl,
+        Integer stock,
+        boolean active
+) {
+}
@@ -0,0 +1,159 @@
+package com.quadzone.product.reference;
+
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductRepository;
+import com.quadzone.product.bulk.ProductsImportedEvent;
+import com.quadzone.product.category.Category;
+import com.quadzone.product.category.CategoryChangedEvent;
+import com.quadzone.product.category.CategoryRepository;
+import com.quadzone.product.category.dto.CategoryResponse;
+import com.quadzone.product.category.sub_category.SubCategory;
+import com.quadzone.product.category.sub_category.SubCategoryProductCount;
+import com.quadzone.product.category.sub_category.dto.SubCategoryResponse;
+import com.quadzone.product.dto.BrandResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of the storefront reference data: the category → subcategory tree (with product counts
+ * per subcategory and per category) and the brand list.
+ * <p>
+ * Both are loaded on first use and kept until a committed write changes them: the tree is dropped on
+ * {@link CategoryChangedEvent}, which category and subcategory writes publish as well as product create, delete
+ * and subcategory moves; the brand list is dropped on {@link ProductChangedEvent}.
+ */
+@Component
+public class CatalogReferenceCache {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Slot<List<CategoryResponse>> categoryTree = new Slot<>(this::loadCategoryTree);
+    private final Slot<List<BrandResponse>> brands = new Slot<>(this::loadBrands);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CatalogReferenceCache(CategoryRepository categoryRepository,
+                                 ProductRepository productRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public List<CategoryResponse> getCategoryTree() {
+        return categoryTree.get();
+    }
+
+    public List<BrandResponse> getBrands() {
+        return brands.get();
+    }
+
+    public CatalogReferenceCacheStats getStats() {
+        return new CatalogReferenceCacheStats(categoryTree.size(), brands.size(),
+                hits.get(), misses.get(), invalidations.get());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryTree.invalidate();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        brands.invalidate();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        brands.invalidate();
+    }
+
+    private List<CategoryResponse> loadCategoryTree() {
+        List<Category> categories = categoryRepository.findAllWithSubCategories();
+        List<Long> subCategoryIds = categories.stream()
+                .flatMap(category -> category.getSubcategories().stream())
+                .map(SubCategory::getId)
+                .toList();
+        Map<Long, Long> productCounts = subCategoryIds.isEmpty() ? Map.of() : productRepository.countBySubCategoryIds(subCategoryIds)
+                .stream()
+                .collect(Collectors.toMap(SubCategoryProductCount::subCategoryId, SubCategoryProductCount::count));
+
+        return categories.stream()
+                .map(category -> CategoryResponse.from(category,
+                        sub -> SubCategoryResponse.from(sub, productCounts.getOrDefault(sub.getId(), 0L))))
+                .toList();
+    }
+
+    private List<BrandResponse> loadBrands() {
+        return productRepository.findAllDistinctBrands()
+                .stream()
+                .map(BrandResponse::new)
+                .toList();
+    }
+
+    /**
+     * One cached value; a load that raced with an invalidation is returned to its caller but not stored
+     */
+    private final class Slot<T extends List<?>> {
+
+        private final Supplier<T> loader;
+
+        // Guarded by this
+        private T value;
+        private long generation;
+
+        Slot(Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        T get() {
+            long loadGeneration;
+            synchronized (this) {
+                if (value != null) {
+                    hits.incrementAndGet();
+                    return value;
+                }
+                loadGeneration = generation;
+            }
+            misses.incrementAndGet();
+
+            T loaded = transactionTemplate.execute(status -> loader.get());
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    value = loaded;
+                }
+            }
+            return loaded;
+        }
+
+        synchronized void invalidate() {
+            generation++;
+            if (value != null) {
+                invalidations.incrementAndGet();
+                value = null;
+            }
+        }
+
+        synchronized int size() {
+            return value != null ? value.size() : 0;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.quadzone.product.reference;
+
+public record CatalogReferenceCacheStats(
+        int categories,
+        int brands,
+        long hits,
+        long misses,
+        long invalidations
+) {
+}
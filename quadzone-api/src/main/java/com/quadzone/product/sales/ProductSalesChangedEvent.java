@@ -0,0 +1,8 @@
+package com.quadzone.product.sales;
+
+/**
+ * Published by {@link ProductSalesService} whenever the units sold of a product change, i.e. an order counting
+ * the product was placed, cancelled, restored or deleted.
+ */
+public record ProductSalesChangedEvent(Long productId) {
+}
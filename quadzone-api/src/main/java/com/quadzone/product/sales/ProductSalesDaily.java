@@ -0,0 +1,39 @@
+package com.quadzone.product.sales;
+
+import com.quadzone.product.Product;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Units of a product sold on one day (by order date, net of cancellations).
+ * Only the last {@link ProductSalesService#RETENTION_DAYS} days are kept; older buckets are pruned.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "product_sales_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_sales_daily", columnNames = {"product_id", "sale_date"}),
+        indexes = @Index(name = "idx_product_sales_daily_date", columnList = "sale_date, product_id, units"))
+public class ProductSalesDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Product product;
+
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    @Column(nullable = false)
+    private int units;
+}
@@ -0,0 +1,67 @@
+package com.quadzone.product.sales;
+
+import com.quadzone.order.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductSalesDailyRepository extends JpaRepository<ProductSalesDaily, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO product_sales_daily (product_id, sale_date, units)
+            VALUES (:productId, :saleDate, :units)
+            ON DUPLICATE KEY UPDATE units = units + VALUES(units)
+            """, nativeQuery = true)
+    int addUnits(@Param("productId") Long productId, @Param("saleDate") LocalDate saleDate, @Param("units") int units);
+
+    @Query("""
+            SELECT p.id
+            FROM ProductSalesDaily d JOIN d.product p
+            WHERE d.saleDate >= :since AND p.isActive = true AND p.stock > 0
+            GROUP BY p.id
+            HAVING SUM(d.units) > 0
+            ORDER BY SUM(d.units) DESC
+            """)
+    List<Long> findTopSellingIdsSince(@Param("since") LocalDate since, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ProductSalesDaily d WHERE d.saleDate < :before")
+    int deleteOlderThan(@Param("before") LocalDate before);
+
+    @Modifying
+    @Query("DELETE FROM ProductSalesDaily d WHERE d.product.id IN :productIds")
+    int deleteByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Lifetime units sold per product, excluding cancelled orders
+     */
+    @Query("""
+            SELECT new com.quadzone.product.sales.UnitsSold(oi.product.id, SUM(oi.quantity))
+            FROM OrderItem oi
+            WHERE oi.product.id IN :productIds AND oi.order.orderStatus <> :excluded
+            GROUP BY oi.product.id
+            """)
+    List<UnitsSold> sumUnitsSold(@Param("productIds") Collection<Long> productIds,
+                                 @Param("excluded") OrderStatus excluded);
+
+    /**
+     * Units sold per order since the given time, to be bucketed by day
+     */
+    @Query("""
+            SELECT new com.quadzone.product.sales.UnitsSold(oi.product.id, oi.order.orderDate, SUM(oi.quantity))
+            FROM OrderItem oi
+            WHERE oi.product.id IN :productIds AND oi.order.orderStatus <> :excluded AND oi.order.orderDate >= :since
+            GROUP BY oi.product.id, oi.order.orderDate
+            """)
+    List<UnitsSold> sumUnitsSoldSince(@Param("productIds") Collection<Long> productIds,
+                                      @Param("excluded") OrderStatus excluded,
+                                      @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,39 @@
+package com.quadzone.product.sales;
+
+import com.quadzone.product.Product;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Units sold or given back by one order line of a product in flash-sale mode, not yet added to the counters.
+ * Checkouts only insert these rows, so they never contend on the product row or its daily bucket;
+ * {@link ProductSalesService#foldPendingSales} moves them into the counters under the product row lock.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "product_sales_pending",
+        indexes = @Index(name = "idx_product_sales_pending_product", columnList = "product_id"))
+public class ProductSalesPending {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Product product;
+
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    @Column(nullable = false)
+    private int units;
+}
@@ -0,0 +1,35 @@
+package com.quadzone.product.sales;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductSalesPendingRepository extends JpaRepository<ProductSalesPending, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO product_sales_pending (product_id, sale_date, units) VALUES (:productId, :saleDate, :units)",
+            nativeQuery = true)
+    int addUnits(@Param("productId") Long productId, @Param("saleDate") LocalDate saleDate, @Param("units") int units);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ProductSalesPending p WHERE p.product.id = :productId ORDER BY p.id")
+    List<ProductSalesPending> findByProductIdForUpdate(@Param("productId") Long productId);
+
+    @Query("SELECT DISTINCT p.product.id FROM ProductSalesPending p")
+    List<Long> findProductIds();
+
+    @Modifying
+    @Query("DELETE FROM ProductSalesPending p WHERE p.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ProductSalesPending p WHERE p.product.id IN :productIds")
+    int deleteByProductIds(@Param("productIds") Collection<Long> productIds);
+}
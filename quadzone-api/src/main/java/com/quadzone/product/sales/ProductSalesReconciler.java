@@ -0,0 +1,103 @@
+package com.quadzone.product.sales;
+
+import com.quadzone.order.OrderStatus;
+import com.quadzone.product.Product;
+import com.quadzone.product.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds and repairs the sales counters from {@code order_items}, one chunk of products per transaction,
+ * and prunes daily buckets that fell out of the longest window.
+ * <p>
+ * Product rows of a chunk are locked first; checkout and cancellation also write those rows, or park their lines
+ * of flash-sale products under a shared lock on them, so they either commit before the recount or wait and apply
+ * their delta on top of it. Parked lines committed before are part of the recount and are dropped.
+ */
+@Slf4j
+@Component
+public class ProductSalesReconciler {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final ProductSalesDailyRepository salesDailyRepository;
+    private final ProductSalesPendingRepository salesPendingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductSalesReconciler(ProductRepository productRepository,
+                                  ProductSalesDailyRepository salesDailyRepository,
+                                  ProductSalesPendingRepository salesPendingRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.salesDailyRepository = salesDailyRepository;
+        this.salesPendingRepository = salesPendingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.sales-reconciliation.cron:0 0 4 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        long lastId = 0L;
+        int checked = 0;
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> salesDailyRepository.deleteOlderThan(ProductSalesService.retentionStart()));
+
+            List<Long> ids;
+            do {
+                ids = productRepository.findIdsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<Long> chunk = ids;
+                transactionTemplate.executeWithoutResult(status -> reconcileChunk(chunk));
+                checked += ids.size();
+                lastId = ids.get(ids.size() - 1);
+            } while (ids.size() == CHUNK_SIZE);
+        } catch (Exception e) {
+            log.error("Sales reconciliation stopped after product {}", lastId, e);
+            return;
+        }
+        log.info("Sales reconciliation rebuilt counters of {} products in {} ms",
+                checked, System.currentTimeMillis() - start);
+    }
+
+    private void reconcileChunk(List<Long> productIds) {
+        List<Product> products = productRepository.findAllByIdInForUpdate(productIds);
+        salesPendingRepository.deleteByProductIds(productIds);
+
+        Map<Long, Long> lifetime = new HashMap<>();
+        for (UnitsSold sold : salesDailyRepository.sumUnitsSold(productIds, OrderStatus.CANCELLED)) {
+            lifetime.put(sold.productId(), sold.units());
+        }
+        for (Product product : products) {
+            long expected = lifetime.getOrDefault(product.getId(), 0L);
+            if (product.getUnitsSold() != expected) {
+                productRepository.replaceUnitsSold(product.getId(), expected);
+            }
+        }
+
+        LocalDate since = ProductSalesService.retentionStart();
+        Map<Long, Map<LocalDate, Integer>> daily = new HashMap<>();
+        for (UnitsSold sold : salesDailyRepository.sumUnitsSoldSince(productIds, OrderStatus.CANCELLED, since.atStartOfDay())) {
+            daily.computeIfAbsent(sold.productId(), id -> new HashMap<>())
+                    .merge(sold.orderDate().toLocalDate(), sold.units().intValue(), Integer::sum);
+        }
+        salesDailyRepository.deleteByProductIds(productIds);
+        daily.forEach((productId, byDay) ->
+                byDay.forEach((day, units) -> salesDailyRepository.addUnits(productId, day, units)));
+    }
+}
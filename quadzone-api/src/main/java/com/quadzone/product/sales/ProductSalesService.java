@@ -0,0 +1,119 @@
+package com.quadzone.product.sales;
+
+import com.quadzone.order.Order;
+import com.quadzone.order.OrderItem;
+import com.quadzone.product.Product;
+import com.quadzone.product.ProductListingReader;
+import com.quadzone.product.ProductRepository;
+import com.quadzone.product.dto.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maintains the denormalized sales counters used for best-seller ranking:
+ * a lifetime {@code units_sold} column on product and daily buckets for rolling windows.
+ * <p>
+ * Lines of products in flash-sale mode are parked in {@code product_sales_pending} instead: every checkout of
+ * such a product would otherwise queue on its product row and its daily bucket. The flash stock sync folds
+ * them into the counters a few seconds later.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProductSalesService {
+
+    public static final int RETENTION_DAYS = 30;
+
+    private final ProductRepository productRepository;
+    private final ProductSalesDailyRepository salesDailyRepository;
+    private final ProductSalesPendingRepository salesPendingRepository;
+    private final ProductListingReader productListingReader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Add ({@code sign = 1}) or remove ({@code sign = -1}) the items of an order from the counters.
+     * Must run in the transaction that changes the order.
+     */
+    public void record(Order order, int sign) {
+        LocalDate saleDate = order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : LocalDate.now();
+        boolean inWindow = !saleDate.isBefore(retentionStart());
+        Set<Long> changed = new LinkedHashSet<>();
+        for (OrderItem item : order.getOrderItems()) {
+            int units = sign * item.getQuantity();
+            Product product = item.getProduct();
+            if (product.getFlashStripes() > 0) {
+                salesPendingRepository.addUnits(product.getId(), saleDate, units);
+                continue;
+            }
+            productRepository.addUnitsSold(product.getId(), units);
+            if (inWindow) {
+                salesDailyRepository.addUnits(product.getId(), saleDate, units);
+            }
+            changed.add(product.getId());
+        }
+        changed.forEach(productId -> eventPublisher.publishEvent(new ProductSalesChangedEvent(productId)));
+    }
+
+    /**
+     * Move the parked lines of a product into its counters; the caller must hold the lock of the product row.
+     * Only the lines read here are deleted, so a line committed meanwhile is left for the next fold.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void foldPendingSales(Long productId) {
+        List<ProductSalesPending> pending = salesPendingRepository.findByProductIdForUpdate(productId);
+        if (pending.isEmpty()) {
+            return;
+        }
+        LocalDate windowStart = retentionStart();
+        long total = 0;
+        Map<LocalDate, Integer> byDay = new TreeMap<>();
+        for (ProductSalesPending line : pending) {
+            total += line.getUnits();
+            if (!line.getSaleDate().isBefore(windowStart)) {
+                byDay.merge(line.getSaleDate(), line.getUnits(), Integer::sum);
+            }
+        }
+        salesPendingRepository.deleteByIds(pending.stream().map(ProductSalesPending::getId).toList());
+        if (total != 0) {
+            productRepository.addUnitsSold(productId, total);
+        }
+        byDay.forEach((day, units) -> {
+            if (units != 0) {
+                salesDailyRepository.addUnits(productId, day, units);
+            }
+        });
+        eventPublisher.publishEvent(new ProductSalesChangedEvent(productId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findProductsWithPendingSales() {
+        return salesPendingRepository.findProductIds();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductResponse> findBestSellers(SalesWindow window, Pageable pageable) {
+        List<Product> products;
+        if (window == SalesWindow.ALL_TIME) {
+            products = productRepository.findBestSellingProducts(pageable).getContent();
+        } else {
+            LocalDate since = LocalDate.now().minusDays(window.getDays() - 1L);
+            products = productListingReader.loadInOrder(salesDailyRepository.findTopSellingIdsSince(since, pageable));
+        }
+        return productListingReader.toResponses(products);
+    }
+
+    static LocalDate retentionStart() {
+        return LocalDate.now().minusDays(RETENTION_DAYS - 1L);
+    }
+}
@@ -0,0 +1,17 @@
+package com.quadzone.product.sales;
+
+public enum SalesWindow {
+    WEEK(7),
+    MONTH(30),
+    ALL_TIME(0);
+
+    private final int days;
+
+    SalesWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+}
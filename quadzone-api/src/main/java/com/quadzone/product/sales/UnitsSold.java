@@ -0,0 +1,13 @@
+package com.quadzone.product.sales;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of a product sold, optionally tied to the order date they were sold on
+ */
+public record UnitsSold(Long productId, LocalDateTime orderDate, Long units) {
+
+    public UnitsSold(Long productId, Long units) {
+        this(productId, null, units);
+    }
+}
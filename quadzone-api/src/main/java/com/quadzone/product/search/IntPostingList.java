@@ -0,0 +1,87 @@
+package com.quadzone.product.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of document ordinals used as a posting list.
+ * Ordinals are mostly handed out in increasing order, so appends are the common case; reused ordinals are
+ * inserted in place.
+ */
+final class IntPostingList {
+
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int ordinal) {
+        if (size > 0 && values[size - 1] >= ordinal) {
+            int pos = Arrays.binarySearch(values, 0, size, ordinal);
+            if (pos >= 0) {
+                return;
+            }
+            insertAt(-pos - 1, ordinal);
+            return;
+        }
+        ensureCapacity(size + 1);
+        values[size++] = ordinal;
+    }
+
+    void remove(int ordinal) {
+        int pos = Arrays.binarySearch(values, 0, size, ordinal);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+        size--;
+    }
+
+    boolean contains(int ordinal) {
+        return Arrays.binarySearch(values, 0, size, ordinal) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Keep only the ordinals of {@code candidates} that are also present in this list
+     */
+    int[] retainIn(int[] candidates) {
+        int[] out = new int[Math.min(candidates.length, size)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < size) {
+            if (candidates[i] == values[j]) {
+                out[n++] = candidates[i];
+                i++;
+                j++;
+            } else if (candidates[i] < values[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private void insertAt(int pos, int ordinal) {
+        ensureCapacity(size + 1);
+        System.arraycopy(values, pos, values, pos + 1, size - pos);
+        values[pos] = ordinal;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+}
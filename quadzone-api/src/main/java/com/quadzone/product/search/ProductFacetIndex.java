@@ -0,0 +1,388 @@
+package com.quadzone.product.search;
+
+import com.quadzone.product.dto.ProductFacetsResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet engine for the public product listing.
+ * <p>
+ * Each product gets a dense ordinal, and every filterable value (brand, sub-category, category,
+ * active, in stock) keeps a {@link BitSet} of the ordinals that carry it. Price ranges are resolved
+ * with a binary search over a price-sorted array. A filter request is a handful of bitmap
+ * intersections, and facet counts for all dimensions come out of the same bitmaps.
+ */
+@Component
+public class ProductFacetIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final List<ProductSearchDocument> documents = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    private final BitSet active = new BitSet();
+    private final BitSet inStock = new BitSet();
+    private final Map<String, BitSet> byBrand = new HashMap<>();
+    private final Map<String, String> brandLabels = new HashMap<>();
+    private final Map<Long, BitSet> bySubCategory = new HashMap<>();
+    private Map<Long, Long> categoryBySubCategory = Map.of();
+
+    private PriceIndex priceIndex;
+
+    private volatile boolean ready;
+
+    public record Result(List<Long> ids, long total, ProductFacetsResponse facets) {
+    }
+
+    private record PriceIndex(double[] prices, int[] ordinals) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Replace the sub-category to category mapping used to resolve category filters and counts
+     */
+    public void replaceCategoryTree(Map<Long, Long> categoryBySubCategory) {
+        lock.writeLock().lock();
+        try {
+            this.categoryBySubCategory = Map.copyOf(categoryBySubCategory);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(document.id());
+            // Stock and rating updates are the frequent ones; they keep the sorted prices
+            boolean pricesChanged;
+            if (ordinal != null) {
+                pricesChanged = !Objects.equals(documents.get(ordinal).price(), document.price());
+                clearBits(ordinal);
+                documents.set(ordinal, document);
+            } else if (!freeOrdinals.isEmpty()) {
+                pricesChanged = document.price() != null;
+                ordinal = freeOrdinals.pop();
+                documents.set(ordinal, document);
+            } else {
+                pricesChanged = document.price() != null;
+                ordinal = documents.size();
+                documents.add(document);
+            }
+            ordinalsById.put(document.id(), ordinal);
+
+            if (document.active()) {
+                active.set(ordinal);
+            }
+            if (document.stock() != null && document.stock() > 0) {
+                inStock.set(ordinal);
+            }
+            if (document.brand() != null && !document.brand().isBlank()) {
+                String key = ProductFacetQuery.brandKey(document.brand());
+                byBrand.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+                brandLabels.putIfAbsent(key, document.brand().trim());
+            }
+            if (document.subCategoryId() != null) {
+                bySubCategory.computeIfAbsent(document.subCategoryId(), k -> new BitSet()).set(ordinal);
+            }
+            if (pricesChanged) {
+                priceIndex = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.remove(productId);
+            if (ordinal == null) {
+                return;
+            }
+            if (documents.get(ordinal).price() != null) {
+                priceIndex = null;
+            }
+            clearBits(ordinal);
+            documents.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active products matching all filters, in the requested order (id ascending when unsorted),
+     * together with facet counts for every dimension.
+     */
+    public Result filter(ProductFacetQuery query, Pageable pageable) {
+        lock.readLock().lock();
+        if (priceIndex == null) {
+            // Rebuilt lazily after price changes, so a burst of them sorts the prices once
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                if (priceIndex == null) {
+                    priceIndex = buildPriceIndex();
+                }
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        try {
+            BitSet brandBits = brandBits(query);
+            BitSet categoryBits = categoryBits(query);
+            BitSet priceBits = priceBits(query);
+            BitSet stockBits = Boolean.TRUE.equals(query.inStock()) ? inStock : null;
+
+            // Each dimension is counted against the other dimensions' filters only
+            BitSet matches = intersect(brandBits, categoryBits, priceBits, stockBits);
+            BitSet withoutCategory = intersect(brandBits, priceBits, stockBits);
+            BitSet withoutPrice = intersect(brandBits, categoryBits, stockBits);
+            ProductFacetsResponse facets = new ProductFacetsResponse(
+                    brandCounts(intersect(categoryBits, priceBits, stockBits)),
+                    categoryCounts(withoutCategory),
+                    subCategoryCounts(withoutCategory),
+                    intersect(brandBits, categoryBits, priceBits, inStock).cardinality(),
+                    minPrice(withoutPrice),
+                    maxPrice(withoutPrice));
+
+            List<ProductSearchDocument> hits = new ArrayList<>(matches.cardinality());
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                hits.add(documents.get(i));
+            }
+            Comparator<ProductSearchDocument> comparator = ProductSearchSort.comparator(pageable.getSort());
+            Comparator<ProductSearchDocument> byId = Comparator.comparing(ProductSearchDocument::id);
+            hits.sort(comparator == null ? byId : comparator.thenComparing(byId));
+
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), hits.size()) : 0;
+            int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), hits.size()) : hits.size();
+            List<Long> ids = hits.subList(from, to).stream()
+                    .map(ProductSearchDocument::id)
+                    .toList();
+            return new Result(ids, hits.size(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet intersect(BitSet... filters) {
+        BitSet result = (BitSet) active.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private BitSet brandBits(ProductFacetQuery query) {
+        if (query.brands() == null || query.brands().isEmpty()) {
+            return null;
+        }
+        BitSet bits = new BitSet();
+        for (String brand : query.brands()) {
+            BitSet brandSet = byBrand.get(brand);
+            if (brandSet != null) {
+                bits.or(brandSet);
+            }
+        }
+        return bits;
+    }
+
+    private BitSet categoryBits(ProductFacetQuery query) {
+        if (query.subCategoryId() != null) {
+            BitSet bits = bySubCategory.get(query.subCategoryId());
+            return bits != null ? bits : new BitSet();
+        }
+        if (query.categoryId() != null) {
+            BitSet bits = new BitSet();
+            bySubCategory.forEach((subCategoryId, subBits) -> {
+                if (query.categoryId().equals(categoryBySubCategory.get(subCategoryId))) {
+                    bits.or(subBits);
+                }
+            });
+            return bits;
+        }
+        return null;
+    }
+
+    private BitSet priceBits(ProductFacetQuery query) {
+        if (query.minPrice() == null && query.maxPrice() == null) {
+            return null;
+        }
+        double[] prices = priceIndex.prices();
+        int from = query.minPrice() == null ? 0 : lowerBound(prices, query.minPrice());
+        int to = query.maxPrice() == null ? prices.length : upperBound(prices, query.maxPrice());
+        BitSet bits = new BitSet();
+        for (int i = from; i < to; i++) {
+            bits.set(priceIndex.ordinals()[i]);
+        }
+        return bits;
+    }
+
+    private List<ProductFacetsResponse.BrandCount> brandCounts(BitSet base) {
+        List<ProductFacetsResponse.BrandCount> counts = new ArrayList<>();
+        byBrand.forEach((key, bits) -> {
+            int count = andCardinality(base, bits);
+            if (count > 0) {
+                counts.add(new ProductFacetsResponse.BrandCount(brandLabels.get(key), count));
+            }
+        });
+        counts.sort(Comparator.comparing(ProductFacetsResponse.BrandCount::brand, String.CASE_INSENSITIVE_ORDER));
+        return counts;
+    }
+
+    private List<ProductFacetsResponse.CategoryCount> categoryCounts(BitSet base) {
+        Map<Long, BitSet> byCategory = new HashMap<>();
+        bySubCategory.forEach((subCategoryId, bits) -> {
+            Long categoryId = categoryBySubCategory.get(subCategoryId);
+            if (categoryId != null) {
+                byCategory.computeIfAbsent(categoryId, k -> new BitSet()).or(bits);
+            }
+        });
+        List<ProductFacetsResponse.CategoryCount> counts = new ArrayList<>();
+        byCategory.forEach((categoryId, bits) -> {
+            int count = andCardinality(base, bits);
+            if (count > 0) {
+                counts.add(new ProductFacetsResponse.CategoryCount(categoryId, count));
+            }
+        });
+        counts.sort(Comparator.comparing(ProductFacetsResponse.CategoryCount::categoryId));
+        return counts;
+    }
+
+    private List<ProductFacetsResponse.SubCategoryCount> subCategoryCounts(BitSet base) {
+        List<ProductFacetsResponse.SubCategoryCount> counts = new ArrayList<>();
+        bySubCategory.forEach((subCategoryId, bits) -> {
+            int count = andCardinality(base, bits);
+            if (count > 0) {
+                counts.add(new ProductFacetsResponse.SubCategoryCount(subCategoryId, count));
+            }
+        });
+        counts.sort(Comparator.comparing(ProductFacetsResponse.SubCategoryCount::subCategoryId));
+        return counts;
+    }
+
+    private Double minPrice(BitSet base) {
+        for (int i = 0; i < priceIndex.ordinals().length; i++) {
+            if (base.get(priceIndex.ordinals()[i])) {
+                return priceIndex.prices()[i];
+            }
+        }
+        return null;
+    }
+
+    private Double maxPrice(BitSet base) {
+        for (int i = priceIndex.ordinals().length - 1; i >= 0; i--) {
+            if (base.get(priceIndex.ordinals()[i])) {
+                return priceIndex.prices()[i];
+            }
+        }
+        return null;
+    }
+
+    private static int andCardinality(BitSet base, BitSet bits) {
+        BitSet copy = (BitSet) bits.clone();
+        copy.and(base);
+        return copy.cardinality();
+    }
+
+    private PriceIndex buildPriceIndex() {
+        List<ProductSearchDocument> priced = documents.stream()
+                .filter(doc -> doc != null && doc.price() != null)
+                .sorted(Comparator.comparing(ProductSearchDocument::price))
+                .toList();
+        double[] prices = new double[priced.size()];
+        int[] ordinals = new int[priced.size()];
+        for (int i = 0; i < priced.size(); i++) {
+            prices[i] = priced.get(i).price();
+            ordinals[i] = ordinalsById.get(priced.get(i).id());
+        }
+        return new PriceIndex(prices, ordinals);
+    }
+
+    private void clearBits(int ordinal) {
+        active.clear(ordinal);
+        inStock.clear(ordinal);
+        ProductSearchDocument previous = documents.get(ordinal);
+        if (previous == null) {
+            return;
+        }
+        if (previous.brand() != null && !previous.brand().isBlank()) {
+            String key = ProductFacetQuery.brandKey(previous.brand());
+            BitSet bits = byBrand.get(key);
+            if (bits != null) {
+                bits.clear(ordinal);
+                if (bits.isEmpty()) {
+                    byBrand.remove(key);
+                    brandLabels.remove(key);
+                }
+            }
+        }
+        if (previous.subCategoryId() != null) {
+            BitSet bits = bySubCategory.get(previous.subCategoryId());
+            if (bits != null) {
+                bits.clear(ordinal);
+                if (bits.isEmpty()) {
+                    bySubCategory.remove(previous.subCategoryId());
+                }
+            }
+        }
+    }
+
+    /**
+     * First index whose price is {@code >= value}
+     */
+    private static int lowerBound(double[] prices, double value) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index whose price is {@code > value}
+     */
+    private static int upperBound(double[] prices, double value) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,35 @@
+package com.quadzone.product.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filters of the public product listing. A {@code null} or empty value means "no constraint";
+ * a sub-category takes precedence over a category, as in the database query.
+ */
+public record ProductFacetQuery(
+        Set<String> brands,
+        Long categoryId,
+        Long subCategoryId,
+        Double minPrice,
+        Double maxPrice,
+        Boolean inStock
+) {
+    /**
+     * @param brand comma-separated brand names, matched case-insensitively
+     */
+    public static ProductFacetQuery of(String brand, Long categoryId, Long subCategoryId,
+                                       Double minPrice, Double maxPrice, Boolean inStock) {
+        Set<String> brands = brand == null ? Set.of() : Arrays.stream(brand.split(","))
+                .map(ProductFacetQuery::brandKey)
+                .filter(b -> !b.isEmpty())
+                .collect(Collectors.toSet());
+        return new ProductFacetQuery(brands, categoryId, subCategoryId, minPrice, maxPrice, inStock);
+    }
+
+    static String brandKey(String brand) {
+        return brand.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.quadzone.product.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a product holding only the fields the search, facet and suggestion indexes need
+ */
+public record ProductSearchDocument(
+        Long id,
+        String name,
+        String brand,
+        String modelNumber,
+        String color,
+        Double price,
+        Integer stock,
+        boolean active,
+        LocalDateTime createdAt,
+        Long subCategoryId,
+        long unitsSold,
+        long ratingSum
+) {
+}
@@ -0,0 +1,390 @@
+package com.quadzone.product.search;
+
+import com.quadzone.utils.TextFolding;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, brand, model number and color.
+ * <p>
+ * Every field value is folded (lower case, Vietnamese diacritics removed, see {@link TextFolding}) and split
+ * into tokens (used for ranking and typo matching) and into 1, 2 and 3 character n-grams (used for candidate
+ * lookup). A keyword of up to three characters is answered straight from its n-gram posting list; longer
+ * keywords intersect the posting lists of their trigrams and verify the survivors with a substring check,
+ * so these exact matches behave like the {@code LIKE '%kw%'} query the index replaced, minus the accents.
+ * <p>
+ * On top of that, every token of the keyword is looked up in the term dictionary allowing a few edits
+ * ({@link #maxEdits}), through a {@link TermBkTree}; products containing a close term for each keyword token,
+ * in any order, are returned after all exact matches. "dien thoai samsng" thus finds "Điện thoại Samsung".
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int MAX_GRAM = 3;
+
+    private static final String[] FIELDS = {"name", "brand", "modelNumber", "color"};
+    private static final int[] FIELD_WEIGHTS = {4, 3, 2, 1};
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+    private final List<Entry> entriesByOrdinal = new ArrayList<>();
+    /**
+     * Slots of removed products, handed out again so that ordinals stay bounded by the catalog size
+     */
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<String, IntPostingList> postings = new HashMap<>();
+    private final Map<String, IntPostingList> termPostings = new HashMap<>();
+    private final TermBkTree terms = new TermBkTree();
+
+    private volatile boolean ready;
+
+    public record Hits(List<Long> ids, long total) {
+        public static Hits empty() {
+            return new Hits(List.of(), 0);
+        }
+    }
+
+    private record Entry(int ordinal, ProductSearchDocument document, String[] fields, String[][] tokens,
+                         Set<String> grams, Set<String> terms) {
+    }
+
+    /**
+     * @param exact whether the keyword is a substring of one of the fields, as opposed to a typo match
+     */
+    private record Match(Entry entry, int score, boolean exact) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add a product to the index, replacing any previous version of it
+     */
+    public void upsert(ProductSearchDocument document) {
+        String[] fields = normalizedFields(document);
+        String[][] tokens = new String[fields.length][];
+        Set<String> grams = new HashSet<>();
+        Set<String> documentTerms = new HashSet<>();
+        for (int i = 0; i < fields.length; i++) {
+            tokens[i] = tokenize(fields[i]);
+            documentTerms.addAll(Arrays.asList(tokens[i]));
+            collectGrams(fields[i], grams);
+        }
+
+        lock.writeLock().lock();
+        try {
+            // An updated product gets its own slot back, as the last one freed
+            removeInternal(document.id());
+            int ordinal = freeOrdinals.isEmpty() ? entriesByOrdinal.size() : freeOrdinals.pop();
+            Entry entry = new Entry(ordinal, document, fields, tokens, grams, documentTerms);
+            if (ordinal == entriesByOrdinal.size()) {
+                entriesByOrdinal.add(entry);
+            } else {
+                entriesByOrdinal.set(ordinal, entry);
+            }
+            entriesById.put(document.id(), entry);
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, g -> new IntPostingList()).add(entry.ordinal());
+            }
+            for (String term : documentTerms) {
+                termPostings.computeIfAbsent(term, t -> {
+                    // Terms with digits (model numbers) are only ever matched exactly, so they stay out of the tree
+                    if (t.chars().noneMatch(Character::isDigit)) {
+                        terms.add(t);
+                    }
+                    return new IntPostingList();
+                }).add(entry.ordinal());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find products whose name, brand, model number or color contains the keyword, ignoring case and accents,
+     * then products matching every keyword token up to a few typos. Exact matches always come first; within
+     * each group results follow the requested sort when its properties are known to the index, otherwise relevance.
+     */
+    public Hits search(String keyword, Pageable pageable) {
+        String key = keyword == null ? "" : TextFolding.fold(keyword).trim();
+        if (key.isEmpty()) {
+            return Hits.empty();
+        }
+
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> exact = new HashSet<>();
+            for (int ordinal : candidates(key)) {
+                Entry entry = entriesByOrdinal.get(ordinal);
+                if (entry == null) {
+                    continue;
+                }
+                int score = score(entry, key);
+                if (score > 0) {
+                    matches.add(new Match(entry, score, true));
+                    exact.add(ordinal);
+                }
+            }
+
+            List<Map<String, Integer>> tokenTerms = matchingTerms(tokenize(key));
+            for (int ordinal : fuzzyCandidates(tokenTerms)) {
+                Entry entry = entriesByOrdinal.get(ordinal);
+                if (entry == null || exact.contains(ordinal)) {
+                    continue;
+                }
+                matches.add(new Match(entry, fuzzyScore(entry, tokenTerms), false));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(comparator(pageable.getSort()));
+
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), matches.size()) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), matches.size()) : matches.size();
+        List<Long> ids = matches.subList(from, to).stream()
+                .map(match -> match.entry().document().id())
+                .toList();
+        return new Hits(ids, matches.size());
+    }
+
+    private int[] candidates(String key) {
+        if (key.length() <= MAX_GRAM) {
+            IntPostingList list = postings.get(key);
+            return list == null ? new int[0] : list.toArray();
+        }
+
+        List<IntPostingList> lists = new ArrayList<>();
+        for (int i = 0; i + MAX_GRAM <= key.length(); i++) {
+            IntPostingList list = postings.get(key.substring(i, i + MAX_GRAM));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+
+        int[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retainIn(result);
+        }
+        return result;
+    }
+
+    /**
+     * Typo budget of a keyword token. Short tokens and tokens with digits (model numbers, capacities)
+     * must match exactly: one edit turns "s23" into "s22".
+     */
+    static int maxEdits(String token) {
+        if (token.length() < 4 || token.chars().anyMatch(Character::isDigit)) {
+            return 0;
+        }
+        return token.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * For each keyword token, the indexed terms within its typo budget and their distance.
+     * Empty as soon as one token matches nothing, since every token has to match.
+     */
+    private List<Map<String, Integer>> matchingTerms(String[] keywordTokens) {
+        List<Map<String, Integer>> result = new ArrayList<>();
+        for (String token : keywordTokens) {
+            Map<String, Integer> matched = new HashMap<>();
+            int maxEdits = maxEdits(token);
+            if (maxEdits == 0) {
+                if (termPostings.containsKey(token)) {
+                    matched.put(token, 0);
+                }
+            } else {
+                terms.search(token, maxEdits).forEach((term, distance) -> {
+                    if (termPostings.containsKey(term)) {
+                        matched.put(term, distance);
+                    }
+                });
+            }
+            if (matched.isEmpty()) {
+                return List.of();
+            }
+            result.add(matched);
+        }
+        return result;
+    }
+
+    /**
+     * Documents containing a matched term for every keyword token. The rarest token is expanded into
+     * a candidate list, which the other tokens then only filter.
+     */
+    private int[] fuzzyCandidates(List<Map<String, Integer>> tokenTerms) {
+        if (tokenTerms.isEmpty()) {
+            return new int[0];
+        }
+        List<List<IntPostingList>> tokenPostings = tokenTerms.stream()
+                .map(matched -> matched.keySet().stream().map(termPostings::get).toList())
+                .sorted(Comparator.comparingInt(lists -> lists.stream().mapToInt(IntPostingList::size).sum()))
+                .toList();
+
+        int[] result = tokenPostings.get(0).stream()
+                .flatMapToInt(list -> Arrays.stream(list.toArray()))
+                .sorted()
+                .distinct()
+                .toArray();
+        for (int i = 1; i < tokenPostings.size() && result.length > 0; i++) {
+            List<IntPostingList> lists = tokenPostings.get(i);
+            result = Arrays.stream(result)
+                    .filter(ordinal -> lists.stream().anyMatch(list -> list.contains(ordinal)))
+                    .toArray();
+        }
+        return result;
+    }
+
+    /**
+     * Relevance of a typo match: per keyword token, the best field weight times 3 minus the edit distance
+     */
+    private static int fuzzyScore(Entry entry, List<Map<String, Integer>> tokenTerms) {
+        int score = 0;
+        for (Map<String, Integer> matched : tokenTerms) {
+            int best = 0;
+            for (int i = 0; i < entry.tokens().length; i++) {
+                for (String token : entry.tokens()[i]) {
+                    Integer distance = matched.get(token);
+                    if (distance != null) {
+                        best = Math.max(best, FIELD_WEIGHTS[i] * (3 - distance));
+                    }
+                }
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    /**
+     * Relevance of a document for the keyword: 0 when no field contains it, otherwise a weighted
+     * sum that prefers whole-field matches over whole-token matches over token prefixes over substrings.
+     */
+    private int score(Entry entry, String key) {
+        int score = 0;
+        for (int i = 0; i < entry.fields().length; i++) {
+            String field = entry.fields()[i];
+            if (!field.contains(key)) {
+                continue;
+            }
+            int quality = 1;
+            if (field.equals(key)) {
+                quality = 4;
+            } else {
+                for (String token : entry.tokens()[i]) {
+                    if (token.equals(key)) {
+                        quality = 3;
+                        break;
+                    }
+                    if (token.startsWith(key)) {
+                        quality = 2;
+                    }
+                }
+            }
+            score += FIELD_WEIGHTS[i] * quality;
+        }
+        return score;
+    }
+
+    private Comparator<Match> comparator(Sort sort) {
+        Comparator<Match> exactFirst = Comparator.comparing(Match::exact).reversed();
+        Comparator<Match> byRelevance = Comparator.comparingInt(Match::score).reversed()
+                .thenComparing((Match match) -> match.entry().document().id(), Comparator.reverseOrder());
+        Comparator<ProductSearchDocument> byProperties = ProductSearchSort.comparator(sort);
+        if (byProperties == null) {
+            return exactFirst.thenComparing(byRelevance);
+        }
+        return exactFirst
+                .thenComparing((Match match) -> match.entry().document(), byProperties)
+                .thenComparing(byRelevance);
+    }
+
+    private void removeInternal(Long productId) {
+        Entry previous = entriesById.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        entriesByOrdinal.set(previous.ordinal(), null);
+        freeOrdinals.push(previous.ordinal());
+        for (String gram : previous.grams()) {
+            IntPostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(previous.ordinal());
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        for (String term : previous.terms()) {
+            IntPostingList list = termPostings.get(term);
+            if (list != null) {
+                list.remove(previous.ordinal());
+                if (list.isEmpty()) {
+                    termPostings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static String[] normalizedFields(ProductSearchDocument document) {
+        String[] values = {document.name(), document.brand(), document.modelNumber(), document.color()};
+        String[] fields = new String[FIELDS.length];
+        for (int i = 0; i < values.length; i++) {
+            fields[i] = values[i] == null ? "" : TextFolding.fold(values[i]);
+        }
+        return fields;
+    }
+
+    static String[] tokenize(String value) {
+        return Arrays.stream(value.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static void collectGrams(String value, Set<String> grams) {
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= value.length(); i++) {
+                grams.add(value.substring(i, i + n));
+            }
+        }
+    }
+}
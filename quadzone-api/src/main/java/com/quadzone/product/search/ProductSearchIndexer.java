@@ -0,0 +1,146 @@
+package com.quadzone.product.search;
+
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductRepository;
+import com.quadzone.product.ProductStockChangedEvent;
+import com.quadzone.product.bulk.ProductsImportedEvent;
+import com.quadzone.product.category.CategoryChangedEvent;
+import com.quadzone.product.category.sub_category.SubCategory;
+import com.quadzone.product.category.sub_category.SubCategoryRepository;
+import com.quadzone.product.sales.ProductSalesChangedEvent;
+import com.quadzone.review.ReviewChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link ProductSearchIndex}, {@link ProductFacetIndex} and {@link ProductSuggestIndex} in sync with the
+ * product and category tables.
+ * The indexes are built once at startup and then updated incrementally after every committed product or category
+ * change, and after the review and sales changes that move the suggestion weights.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final SubCategoryRepository subCategoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        building = true;
+        try {
+            reloadCategoryTree();
+            long lastId = 0L;
+            List<ProductSearchDocument> batch;
+            do {
+                batch = productRepository.findSearchDocuments(lastId, PageRequest.of(0, BATCH_SIZE));
+                batch.forEach(this::upsert);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == BATCH_SIZE);
+        } catch (Exception e) {
+            // Search keeps using the database query until the index is ready
+            log.error("Failed to build product search indexes", e);
+            return;
+        } finally {
+            building = false;
+        }
+
+        // Batches read before a concurrent change may have overwritten the fresher document
+        List<Long> changed = new ArrayList<>(changedDuringBuild);
+        changedDuringBuild.removeAll(changed);
+        changed.forEach(this::refresh);
+
+        productSearchIndex.markReady();
+        productFacetIndex.markReady();
+        log.info("Product search indexes built: {} products in {} ms",
+                productSearchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (building) {
+            changedDuringBuild.add(event.productId());
+        }
+        refresh(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductStockChanged(ProductStockChangedEvent event) {
+        onProductChanged(new ProductChangedEvent(event.productId()));
+    }
+
+    /**
+     * New products only, so one query serves the whole batch
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        if (building) {
+            changedDuringBuild.addAll(event.productIds());
+        }
+        productRepository.findSearchDocumentsByIdIn(event.productIds()).forEach(this::upsert);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        onProductChanged(new ProductChangedEvent(event.productId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductSalesChanged(ProductSalesChangedEvent event) {
+        onProductChanged(new ProductChangedEvent(event.productId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reloadCategoryTree();
+    }
+
+    private void reloadCategoryTree() {
+        List<SubCategory> subCategories = subCategoryRepository.findAllWithCategory();
+        Map<Long, Long> categoryBySubCategory = subCategories.stream()
+                .collect(Collectors.toMap(SubCategory::getId, sub -> sub.getCategory().getId()));
+        productFacetIndex.replaceCategoryTree(categoryBySubCategory);
+        productSuggestIndex.replaceSubCategoryNames(subCategories.stream()
+                .filter(sub -> sub.getName() != null)
+                .collect(Collectors.toMap(SubCategory::getId, SubCategory::getName)));
+    }
+
+    private void refresh(Long productId) {
+        productRepository.findSearchDocumentById(productId)
+                .ifPresentOrElse(this::upsert, () -> {
+                    productSearchIndex.remove(productId);
+                    productFacetIndex.remove(productId);
+                    productSuggestIndex.remove(productId);
+                });
+    }
+
+    private void upsert(ProductSearchDocument document) {
+        productSearchIndex.upsert(document);
+        productFacetIndex.upsert(document);
+        productSuggestIndex.upsert(document);
+    }
+}
@@ -0,0 +1,52 @@
+package com.quadzone.product.search;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Translates a Spring Data {@link Sort} into an in-memory comparator over {@link ProductSearchDocument}s.
+ * Properties the indexes do not know about are ignored, matching how the listing endpoints fall back to their default order.
+ */
+final class ProductSearchSort {
+
+    private ProductSearchSort() {
+    }
+
+    /**
+     * @return comparator for the known properties of {@code sort}, or {@code null} if none are known
+     */
+    static Comparator<ProductSearchDocument> comparator(Sort sort) {
+        Comparator<ProductSearchDocument> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<ProductSearchDocument> byProperty = propertyComparator(order.getProperty());
+            if (byProperty == null) {
+                continue;
+            }
+            if (order.isDescending()) {
+                byProperty = byProperty.reversed();
+            }
+            comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+        }
+        return comparator;
+    }
+
+    private static Comparator<ProductSearchDocument> propertyComparator(String property) {
+        return switch (property) {
+            case "id" -> nullsLast(ProductSearchDocument::id);
+            case "name" -> nullsLast(doc -> doc.name() != null ? doc.name().toLowerCase(Locale.ROOT) : null);
+            case "brand" -> nullsLast(doc -> doc.brand() != null ? doc.brand().toLowerCase(Locale.ROOT) : null);
+            case "price" -> nullsLast(ProductSearchDocument::price);
+            case "stock", "quantity" -> nullsLast(ProductSearchDocument::stock);
+            case "createdAt" -> nullsLast(ProductSearchDocument::createdAt);
+            default -> null;
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<ProductSearchDocument> nullsLast(
+            Function<ProductSearchDocument, T> extractor) {
+        return Comparator.comparing(extractor, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+}
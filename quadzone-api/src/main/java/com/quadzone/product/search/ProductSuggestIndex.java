@@ -0,0 +1,344 @@
+package com.quadzone.product.search;
+
+import com.quadzone.utils.TextFolding;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Search-as-you-type completions over product names, brands and subcategory names.
+ * <p>
+ * Completions live in a radix trie keyed by their folded text (see {@link TextFolding}), inserted once per
+ * word so that "galax" also completes "Samsung Galaxy S23". Every node records the highest weight below it,
+ * so the top N completions of a prefix are found best-first, visiting roughly N paths whatever the catalog size.
+ * <p>
+ * Products are weighted by popularity ({@link #popularity}); brands and subcategories by the sum over their
+ * active products. Only active products are suggested. Kept in sync by {@link ProductSearchIndexer}.
+ */
+@Component
+public class ProductSuggestIndex {
+
+    // Words of a completion that get their own trie key; later words are only reachable from earlier ones
+    private static final int MAX_KEYED_WORDS = 6;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<Long, ProductEntry> products = new HashMap<>();
+    private final Map<String, Aggregate> brands = new HashMap<>();
+    private final Map<Long, Aggregate> subCategories = new HashMap<>();
+    private final Map<Long, String> subCategoryNames = new HashMap<>();
+
+    private record Completion(ProductSuggestion suggestion, long weight) {
+    }
+
+    private record ProductEntry(Completion completion, String brandKey, Long subCategoryId) {
+    }
+
+    private record Candidate(long weight, Node node, Completion completion) {
+    }
+
+    /**
+     * Brand or subcategory: its completion is re-keyed whenever the weight of one of its products changes
+     */
+    private static final class Aggregate {
+        private final String text;
+        private long weight;
+        private int products;
+        private Completion indexed;
+
+        private Aggregate(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Completion> completions = new ArrayList<>(1);
+        private long maxWeight;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Units sold count most; the rating sum adds reviewed products (ten 5-star reviews weigh as much as ten sales)
+     */
+    static long popularity(ProductSearchDocument document) {
+        return 1 + document.unitsSold() * 5 + document.ratingSum();
+    }
+
+    /**
+     * Top completions for what the customer typed so far, most popular first
+     */
+    public List<ProductSuggestion> suggest(String prefix, int size) {
+        String key = prefix == null ? "" : normalize(prefix);
+        if (key.isEmpty() || size <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node start = find(key);
+            if (start == null) {
+                return List.of();
+            }
+            List<ProductSuggestion> result = new ArrayList<>();
+            Set<ProductSuggestion> seen = new HashSet<>();
+            PriorityQueue<Candidate> queue = new PriorityQueue<>((a, b) -> Long.compare(b.weight(), a.weight()));
+            queue.add(new Candidate(start.maxWeight, start, null));
+            while (!queue.isEmpty() && result.size() < size) {
+                Candidate candidate = queue.poll();
+                if (candidate.completion() != null) {
+                    if (seen.add(candidate.completion().suggestion())) {
+                        result.add(candidate.completion().suggestion());
+                    }
+                    continue;
+                }
+                Node node = candidate.node();
+                node.completions.forEach(c -> queue.add(new Candidate(c.weight(), null, c)));
+                node.children.values().forEach(child -> queue.add(new Candidate(child.maxWeight, child, null)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void upsert(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.id());
+            if (!document.active() || document.name() == null || document.name().isBlank()) {
+                return;
+            }
+            long weight = popularity(document);
+            Completion completion = new Completion(new ProductSuggestion(document.name().trim(),
+                    ProductSuggestion.Type.PRODUCT, document.id()), weight);
+            index(completion);
+
+            String brandKey = null;
+            if (document.brand() != null && !document.brand().isBlank()) {
+                brandKey = normalize(document.brand());
+                Aggregate brand = brands.computeIfAbsent(brandKey, k -> new Aggregate(document.brand().trim()));
+                adjust(brand, weight, 1, null);
+            }
+            Long subCategoryId = document.subCategoryId();
+            if (subCategoryId != null && subCategoryNames.containsKey(subCategoryId)) {
+                Aggregate subCategory = subCategories.computeIfAbsent(subCategoryId,
+                        id -> new Aggregate(subCategoryNames.get(id)));
+                adjust(subCategory, weight, 1, subCategoryId);
+            } else {
+                subCategoryId = null;
+            }
+            products.put(document.id(), new ProductEntry(completion, brandKey, subCategoryId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply subcategory renames; call before indexing products so that their subcategories are known
+     */
+    public void replaceSubCategoryNames(Map<Long, String> names) {
+        lock.writeLock().lock();
+        try {
+            subCategoryNames.clear();
+            subCategoryNames.putAll(names);
+            for (Long id : List.copyOf(subCategories.keySet())) {
+                Aggregate previous = subCategories.get(id);
+                String name = names.get(id);
+                if (name != null && name.equals(previous.text)) {
+                    continue;
+                }
+                if (previous.indexed != null) {
+                    unindex(previous.indexed);
+                }
+                if (name == null) {
+                    // Deleted subcategory: its products are re-indexed by their own change events
+                    subCategories.remove(id);
+                    continue;
+                }
+                Aggregate renamed = new Aggregate(name);
+                subCategories.put(id, renamed);
+                adjust(renamed, previous.weight, previous.products, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long productId) {
+        ProductEntry previous = products.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        unindex(previous.completion());
+        long weight = previous.completion().weight();
+        if (previous.brandKey() != null) {
+            Aggregate brand = brands.get(previous.brandKey());
+            adjust(brand, -weight, -1, null);
+            if (brand.products == 0) {
+                brands.remove(previous.brandKey());
+            }
+        }
+        if (previous.subCategoryId() != null) {
+            Aggregate subCategory = subCategories.get(previous.subCategoryId());
+            if (subCategory != null) {
+                adjust(subCategory, -weight, -1, previous.subCategoryId());
+                if (subCategory.products == 0) {
+                    subCategories.remove(previous.subCategoryId());
+                }
+            }
+        }
+    }
+
+    private void adjust(Aggregate aggregate, long weight, int products, Long subCategoryId) {
+        if (aggregate.indexed != null) {
+            unindex(aggregate.indexed);
+            aggregate.indexed = null;
+        }
+        aggregate.weight += weight;
+        aggregate.products += products;
+        if (aggregate.products > 0) {
+            ProductSuggestion.Type type = subCategoryId == null ? ProductSuggestion.Type.BRAND : ProductSuggestion.Type.CATEGORY;
+            aggregate.indexed = new Completion(new ProductSuggestion(aggregate.text, type, subCategoryId), aggregate.weight);
+            index(aggregate.indexed);
+        }
+    }
+
+    private void index(Completion completion) {
+        for (String key : keys(completion)) {
+            insert(key, completion);
+        }
+    }
+
+    private void unindex(Completion completion) {
+        for (String key : keys(completion)) {
+            remove(root, key, 0, completion);
+        }
+    }
+
+    /**
+     * The folded text starting at each of its first words
+     */
+    private static Set<String> keys(Completion completion) {
+        String[] words = ProductSearchIndex.tokenize(TextFolding.fold(completion.suggestion().text()));
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < Math.min(words.length, MAX_KEYED_WORDS); i++) {
+            keys.add(String.join(" ", Arrays.copyOfRange(words, i, words.length)));
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", ProductSearchIndex.tokenize(TextFolding.fold(text)));
+    }
+
+    /**
+     * Node whose subtree holds every key starting with the prefix; the prefix may end inside its label
+     */
+    private Node find(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int overlap = Math.min(child.label.length(), prefix.length() - i);
+            if (!child.label.regionMatches(0, prefix, i, overlap)) {
+                return null;
+            }
+            i += overlap;
+            node = child;
+        }
+        return node;
+    }
+
+    private void insert(String key, Completion completion) {
+        Node node = root;
+        node.maxWeight = Math.max(node.maxWeight, completion.weight());
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+            } else {
+                int common = commonPrefix(child.label, key, i);
+                if (common < child.label.length()) {
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.children.put(child.label.charAt(0), child);
+                    split.maxWeight = child.maxWeight;
+                    node.children.put(key.charAt(i), split);
+                    child = split;
+                }
+            }
+            i += child.label.length();
+            node = child;
+            node.maxWeight = Math.max(node.maxWeight, completion.weight());
+        }
+        node.completions.add(completion);
+    }
+
+    /**
+     * @return whether {@code node} is now empty and should be unlinked by its parent
+     */
+    private boolean remove(Node node, String key, int i, Completion completion) {
+        if (i == key.length()) {
+            node.completions.remove(completion);
+        } else {
+            char first = key.charAt(i);
+            Node child = node.children.get(first);
+            if (child == null || !key.startsWith(child.label, i)) {
+                return false;
+            }
+            if (remove(child, key, i + child.label.length(), completion)) {
+                node.children.remove(first);
+            } else if (child.completions.isEmpty() && child.children.size() == 1) {
+                // Keep the trie compact: merge a pass-through node into its only child
+                Node only = child.children.values().iterator().next();
+                only.label = child.label + only.label;
+                node.children.put(first, only);
+            }
+        }
+        long max = 0;
+        for (Completion c : node.completions) {
+            max = Math.max(max, c.weight());
+        }
+        for (Node child : node.children.values()) {
+            max = Math.max(max, child.maxWeight);
+        }
+        node.maxWeight = max;
+        return node != root && node.completions.isEmpty() && node.children.isEmpty();
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == key.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,13 @@
+package com.quadzone.product.search;
+
+/**
+ * One search-box completion
+ *
+ * @param id product ID for {@link Type#PRODUCT}, subcategory ID for {@link Type#CATEGORY}, null for brands
+ */
+public record ProductSuggestion(String text, Type type, Long id) {
+
+    public enum Type {
+        PRODUCT, BRAND, CATEGORY
+    }
+}
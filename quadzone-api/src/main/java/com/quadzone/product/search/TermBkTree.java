@@ -0,0 +1,102 @@
+package com.quadzone.product.search;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BK-tree over the index's term dictionary: finds the terms within a few edits of a query term
+ * while computing the distance to a small fraction of the dictionary.
+ * <p>
+ * Terms are never removed, since removing from a BK-tree means rebuilding the subtree; callers skip terms
+ * that no longer have postings. The tree therefore grows with the number of distinct terms ever indexed,
+ * which for a product catalog stays in the tens of thousands. Not thread-safe.
+ */
+final class TermBkTree {
+
+    private Node root;
+
+    private static final class Node {
+        private final String term;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(String term) {
+            this.term = term;
+        }
+    }
+
+    void add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(node.term, term);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(term));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Terms at most {@code maxDistance} edits away from the query, with their distance
+     */
+    Map<String, Integer> search(String query, int maxDistance) {
+        Map<String, Integer> result = new HashMap<>();
+        if (root == null) {
+            return result;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(node.term, query);
+            if (distance <= maxDistance) {
+                result.put(node.term, distance);
+            }
+            // Triangle inequality: only children at distance - max .. distance + max from this node can match
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    pending.push(child.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Levenshtein distance. Transpositions count as two edits: the tree needs a true metric.
+     */
+    static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
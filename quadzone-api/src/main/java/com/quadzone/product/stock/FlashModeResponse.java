@@ -0,0 +1,7 @@
+package com.quadzone.product.stock;
+
+/**
+ * @param stripes 0 when flash-sale mode is off
+ */
+public record FlashModeResponse(Long productId, int stripes, int stock) {
+}
@@ -0,0 +1,4 @@
+package com.quadzone.product.stock;
+
+public record FlashProductStripes(Long productId, Integer stripes) {
+}
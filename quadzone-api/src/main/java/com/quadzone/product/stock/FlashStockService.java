@@ -0,0 +1,340 @@
+package com.quadzone.product.stock;
+
+import com.quadzone.exception.product.ProductNotFoundException;
+import com.quadzone.product.Product;
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductRepository;
+import com.quadzone.product.ProductStockChangedEvent;
+import com.quadzone.product.bulk.ProductStockLevel;
+import com.quadzone.product.sales.ProductSalesService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Flash-sale mode: the stock of a hot product is split over N stripe rows so that concurrent checkouts lock
+ * different rows instead of queueing on the product row.
+ * <p>
+ * While the mode is on, the stripes are the source of truth. A checkout takes its units from one randomly
+ * chosen stripe; when that stripe is short it locks the other stripes, takes from their total and spreads what
+ * is left evenly over them again. Checkouts do not write the product row: {@link #sync()} writes the stripe total
+ * back to {@code stock_quantity} and folds in the units sold parked by {@link ProductSalesService} every few
+ * seconds, so product pages show slightly delayed figures, and stock edits are refused until the mode is turned off.
+ * <p>
+ * Locks are taken product row first, then stripes in stripe order, like everywhere else. A checkout still
+ * takes a shared lock on the product row after its stripe, through the foreign keys of the rows it inserts, so
+ * the sync never waits for a stripe while it holds the row. Which products are in the mode is cached here only
+ * as a hint for picking the path; the flag on the locked product row and the presence of stripe rows decide.
+ */
+@Slf4j
+@Service
+public class FlashStockService {
+
+    public static final int MIN_STRIPES = 2;
+    public static final int MAX_STRIPES = 64;
+
+    private static final String INSERT_SQL = "INSERT INTO product_stock_stripe (product_id, stripe, quantity) VALUES (?, ?, ?)";
+    private static final String TAKE_SQL = "UPDATE product_stock_stripe SET quantity = quantity - ? WHERE product_id = ? AND stripe = ? AND quantity >= ?";
+    private static final String ADD_SQL = "UPDATE product_stock_stripe SET quantity = quantity + ? WHERE product_id = ? AND stripe = ?";
+    private static final String LOCK_SQL = "SELECT stripe, quantity FROM product_stock_stripe WHERE product_id = ? AND stripe >= ? ORDER BY stripe FOR UPDATE";
+    private static final String READ_SQL = "SELECT stripe, quantity FROM product_stock_stripe WHERE product_id = ?";
+    private static final String LOCK_FREE_SQL = "SELECT stripe, quantity FROM product_stock_stripe WHERE product_id = ? AND stripe < ? ORDER BY stripe FOR UPDATE SKIP LOCKED";
+    private static final String SET_SQL = "UPDATE product_stock_stripe SET quantity = ? WHERE product_id = ? AND stripe = ?";
+    private static final String DELETE_SQL = "DELETE FROM product_stock_stripe WHERE product_id = ?";
+    private static final String SYNC_STOCK_SQL = "UPDATE product SET stock_quantity = ? WHERE id = ? AND stock_quantity <> ?";
+
+    private final ProductRepository productRepository;
+    private final ProductSalesService productSalesService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Stripe count by product ID, refreshed on every sync
+     */
+    private volatile Map<Long, Integer> stripesHint = Map.of();
+    private final Map<Long, Integer> localChanges = new ConcurrentHashMap<>();
+
+    private final AtomicLong stripeTakes = new AtomicLong();
+    private final AtomicLong rebalances = new AtomicLong();
+    private final AtomicLong shortages = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private volatile Instant lastSyncAt;
+    private volatile long lastSyncMillis;
+
+    public FlashStockService(ProductRepository productRepository,
+                             ProductSalesService productSalesService,
+                             JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productSalesService = productSalesService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public FlashModeResponse enable(Long productId, int stripes) {
+        if (stripes < MIN_STRIPES || stripes > MAX_STRIPES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Stripes must be between " + MIN_STRIPES + " and " + MAX_STRIPES);
+        }
+        Product product = lockProduct(productId);
+        if (product.getFlashStripes() > 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Product " + productId + " is already in flash-sale mode");
+        }
+        int stock = product.getStock() == null ? 0 : product.getStock();
+        List<Object[]> rows = new ArrayList<>(stripes);
+        int[] shares = split(stock, stripes);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            rows.add(new Object[]{productId, stripe, shares[stripe]});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        product.setFlashStripes(stripes);
+        localChanges.put(productId, stripes);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        log.info("Product {} entered flash-sale mode with {} stripes over {} units", productId, stripes, stock);
+        return new FlashModeResponse(productId, stripes, stock);
+    }
+
+    /**
+     * Fold the stripes back into the product row
+     */
+    @Transactional
+    public FlashModeResponse disable(Long productId) {
+        Product product = lockProduct(productId);
+        if (product.getFlashStripes() == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Product " + productId + " is not in flash-sale mode");
+        }
+        int stock = lockStripes(productId, 0).values().stream().mapToInt(Integer::intValue).sum();
+        jdbcTemplate.update(DELETE_SQL, productId);
+        product.setStock(stock);
+        product.setFlashStripes(0);
+        localChanges.put(productId, 0);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        log.info("Product {} left flash-sale mode with {} units", productId, stock);
+        return new FlashModeResponse(productId, 0, stock);
+    }
+
+    /**
+     * Hint only: a product may have left or entered the mode since the last sync
+     */
+    public boolean isFlashProduct(Long productId) {
+        return stripesOf(productId) > 0;
+    }
+
+    /**
+     * Take units for a checkout. Only a failed single-stripe take locks more stripes.
+     * <p>
+     * A failed conditional update may still hold the lock of its stripe, so the fallback only waits for stripes
+     * numbered from there upwards and takes the lower ones it can get without waiting: every wait for a stripe
+     * is then in stripe order. Units in lower stripes held by concurrent checkouts are not seen until the next
+     * rebalance or sync.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    StripeTake take(Long productId, int quantity) {
+        int stripes = stripesOf(productId);
+        int first = 0;
+        if (stripes > 0) {
+            first = ThreadLocalRandom.current().nextInt(stripes);
+            if (jdbcTemplate.update(TAKE_SQL, quantity, productId, first, quantity) == 1) {
+                stripeTakes.incrementAndGet();
+                return StripeTake.TAKEN;
+            }
+        }
+
+        Map<Integer, Integer> locked = new TreeMap<>(lockStripes(productId, first));
+        if (locked.isEmpty() && first > 0) {
+            // Stale stripe count: there is no stripe "first", so no stripe of the product is held yet
+            first = 0;
+            locked.putAll(lockStripes(productId, 0));
+        }
+        if (first > 0) {
+            jdbcTemplate.query(LOCK_FREE_SQL, rs -> {
+                locked.put(rs.getInt("stripe"), rs.getInt("quantity"));
+            }, productId, first);
+        }
+        if (locked.isEmpty()) {
+            return StripeTake.NOT_IN_FLASH_MODE;
+        }
+        int total = locked.values().stream().mapToInt(Integer::intValue).sum();
+        if (total < quantity) {
+            shortages.incrementAndGet();
+            return StripeTake.insufficient(total);
+        }
+        rebalances.incrementAndGet();
+        writeStripes(productId, locked, total - quantity);
+        return StripeTake.TAKEN;
+    }
+
+    /**
+     * Lock the given product rows and return those in flash-sale mode. Must run before touching their stock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    Set<Long> lockFlashProducts(Collection<Long> productIds) {
+        return Set.copyOf(productRepository.findFlashProductIdsForUpdate(productIds));
+    }
+
+    /**
+     * Give units back to a product in flash-sale mode; its row must be locked by {@link #lockFlashProducts}.
+     * The stripe is picked from the hint, which may count more stripes than the product has since it was
+     * re-enabled elsewhere: the units then go to stripe 0, which exists as long as the mode is on.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    void restock(Long productId, int quantity) {
+        int stripe = ThreadLocalRandom.current().nextInt(Math.max(1, stripesOf(productId)));
+        if (jdbcTemplate.update(ADD_SQL, quantity, productId, stripe) == 1) {
+            return;
+        }
+        if (stripe == 0 || jdbcTemplate.update(ADD_SQL, quantity, productId, 0) != 1) {
+            throw new IllegalStateException("Product " + productId + " has no stock stripes to restock");
+        }
+    }
+
+    /**
+     * Write the stripe totals and parked units sold back to the product rows and even out the stripes,
+     * one product per transaction. Products that left the mode are visited until their parked units are folded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${application.flash-stock.sync-interval-ms:2000}",
+            initialDelayString = "${application.flash-stock.sync-interval-ms:2000}")
+    public void sync() {
+        long start = System.currentTimeMillis();
+        List<FlashProductStripes> flashProducts;
+        Set<Long> productIds = new TreeSet<>();
+        try {
+            flashProducts = productRepository.findFlashProducts();
+            flashProducts.forEach(flashProduct -> productIds.add(flashProduct.productId()));
+            productIds.addAll(productSalesService.findProductsWithPendingSales());
+        } catch (Exception e) {
+            log.error("Flash stock sync could not list the flash-sale products", e);
+            return;
+        }
+        for (Long productId : productIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> syncProduct(productId));
+            } catch (Exception e) {
+                log.error("Flash stock sync failed for product {}", productId, e);
+            }
+        }
+        localChanges.clear();
+        stripesHint = flashProducts.stream()
+                .collect(Collectors.toUnmodifiableMap(FlashProductStripes::productId, FlashProductStripes::stripes));
+        syncs.incrementAndGet();
+        lastSyncAt = Instant.now();
+        lastSyncMillis = System.currentTimeMillis() - start;
+    }
+
+    public FlashStockStats getStats() {
+        return new FlashStockStats(stripesHint.size(), stripeTakes.get(), rebalances.get(), shortages.get(),
+                syncs.get(), lastSyncAt, lastSyncMillis);
+    }
+
+    private void syncProduct(Long productId) {
+        // Product row first, as everywhere else
+        List<ProductStockLevel> locked = productRepository.findStockLevelsForUpdate(List.of(productId));
+        if (locked.isEmpty()) {
+            return;
+        }
+        productSalesService.foldPendingSales(productId);
+        if (locked.get(0).flashStripes() == 0) {
+            return;
+        }
+
+        // A stripe held by a checkout is skipped, not waited for: that checkout may still need the row locked above.
+        // Its quantity is read as last committed and its stripe evened out on a later sync.
+        Map<Integer, Integer> free = new TreeMap<>();
+        jdbcTemplate.query(LOCK_FREE_SQL, rs -> {
+            free.put(rs.getInt("stripe"), rs.getInt("quantity"));
+        }, productId, MAX_STRIPES);
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        jdbcTemplate.query(READ_SQL, rs -> {
+            quantities.put(rs.getInt("stripe"), rs.getInt("quantity"));
+        }, productId);
+        quantities.putAll(free);
+        int total = quantities.values().stream().mapToInt(Integer::intValue).sum();
+        writeStripes(productId, free, free.values().stream().mapToInt(Integer::intValue).sum());
+        if (jdbcTemplate.update(SYNC_STOCK_SQL, total, productId, total) > 0) {
+            eventPublisher.publishEvent(new ProductStockChangedEvent(productId));
+        }
+    }
+
+    private Product lockProduct(Long productId) {
+        List<Product> locked = productRepository.findAllByIdInForUpdate(List.of(productId));
+        if (locked.isEmpty()) {
+            throw new ProductNotFoundException(productId);
+        }
+        return locked.get(0);
+    }
+
+    /**
+     * Lock the stripes numbered {@code from} and up, in stripe order
+     *
+     * @return quantities by stripe number, empty when the product has no such stripes
+     */
+    private Map<Integer, Integer> lockStripes(Long productId, int from) {
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        jdbcTemplate.query(LOCK_SQL, rs -> {
+            quantities.put(rs.getInt("stripe"), rs.getInt("quantity"));
+        }, productId, from);
+        return quantities;
+    }
+
+    /**
+     * Spread {@code total} evenly over the given locked stripes, writing only those that change
+     */
+    private void writeStripes(Long productId, Map<Integer, Integer> current, int total) {
+        int[] target = split(total, current.size());
+        List<Object[]> changes = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<Integer, Integer> stripe : current.entrySet()) {
+            if (stripe.getValue() != target[i]) {
+                changes.add(new Object[]{target[i], productId, stripe.getKey()});
+            }
+            i++;
+        }
+        if (!changes.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_SQL, changes);
+        }
+    }
+
+    private int stripesOf(Long productId) {
+        Integer changed = localChanges.get(productId);
+        return changed != null ? changed : stripesHint.getOrDefault(productId, 0);
+    }
+
+    /**
+     * Even shares of {@code total}; the first {@code total % parts} stripes get one unit more
+     */
+    private static int[] split(int total, int parts) {
+        int[] shares = new int[parts];
+        for (int i = 0; i < parts; i++) {
+            shares[i] = total / parts + (i < total % parts ? 1 : 0);
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,19 @@
+package com.quadzone.product.stock;
+
+import java.time.Instant;
+
+/**
+ * @param stripeTakes  reservations served by a single randomly chosen stripe
+ * @param rebalances   reservations that found their stripe short and had to lock and re-split all stripes
+ * @param lastSyncAt   last time the stripe totals were written back to the product rows
+ */
+public record FlashStockStats(
+        int flashProducts,
+        long stripeTakes,
+        long rebalances,
+        long shortages,
+        long syncs,
+        Instant lastSyncAt,
+        long lastSyncMillis
+) {
+}
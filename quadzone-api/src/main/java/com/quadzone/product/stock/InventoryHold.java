@@ -0,0 +1,56 @@
+package com.quadzone.product.stock;
+
+import com.quadzone.order.Order;
+import com.quadzone.product.Product;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of one order line reserved until the order is paid or the hold expires.
+ * Rows are written in batches by {@link InventoryHoldService}; the entity is only read and locked through JPA.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "inventory_hold", indexes = {
+        @Index(name = "idx_inventory_hold_status_expires", columnList = "status, expires_at"),
+        @Index(name = "idx_inventory_hold_order", columnList = "order_id, status")
+})
+public class InventoryHold {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Order order;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Product product;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private InventoryHoldStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+}
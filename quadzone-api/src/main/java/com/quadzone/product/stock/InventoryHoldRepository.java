@@ -0,0 +1,72 @@
+package com.quadzone.product.stock;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, Long> {
+
+    @Query("""
+            SELECT h.id FROM InventoryHold h
+            WHERE h.status = com.quadzone.product.stock.InventoryHoldStatus.ACTIVE AND h.expiresAt <= :now
+            ORDER BY h.id
+            """)
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Lock holds by primary key (no gap locks), skipping those resolved since they were listed
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT h FROM InventoryHold h
+            WHERE h.id IN :ids AND h.status = com.quadzone.product.stock.InventoryHoldStatus.ACTIVE
+            ORDER BY h.id
+            """)
+    List<InventoryHold> findActiveByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            UPDATE InventoryHold h SET h.status = :status, h.resolvedAt = :now
+            WHERE h.order.id = :orderId AND h.status = com.quadzone.product.stock.InventoryHoldStatus.ACTIVE
+            """)
+    int resolveActiveByOrderId(@Param("orderId") Long orderId, @Param("status") InventoryHoldStatus status,
+                               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE InventoryHold h SET h.status = :status, h.resolvedAt = :now WHERE h.id IN :ids")
+    int resolveByIdIn(@Param("ids") Collection<Long> ids, @Param("status") InventoryHoldStatus status,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Let the next sweep release the holds of the order
+     */
+    @Modifying
+    @Query("""
+            UPDATE InventoryHold h SET h.expiresAt = :now
+            WHERE h.order.id = :orderId AND h.status = com.quadzone.product.stock.InventoryHoldStatus.ACTIVE
+              AND h.expiresAt > :now
+            """)
+    int expireActiveByOrderId(@Param("orderId") Long orderId, @Param("now") LocalDateTime now);
+
+    /**
+     * Lock the holds of an order in ID order, like the sweeper, and read their committed status
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h.status FROM InventoryHold h WHERE h.order.id = :orderId ORDER BY h.id")
+    List<InventoryHoldStatus> findStatusesByOrderIdForUpdate(@Param("orderId") Long orderId);
+
+    @Query("""
+            SELECT new com.quadzone.product.stock.InventoryHoldVolume(COUNT(h), COALESCE(SUM(h.quantity), 0L))
+            FROM InventoryHold h
+            WHERE h.status = com.quadzone.product.stock.InventoryHoldStatus.ACTIVE
+            """)
+    InventoryHoldVolume activeVolume();
+}
@@ -0,0 +1,198 @@
+package com.quadzone.product.stock;
+
+import com.quadzone.product.ProductStockChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-limited holds on the stock of orders waiting for an online payment.
+ * <p>
+ * Checkout still takes the units out of {@code stock_quantity} right away, so the column remains the
+ * available-to-sell figure and product pages need nothing more than before. A hold only remembers what to give
+ * back: it is converted into a sale when the payment is confirmed, and released by
+ * {@link InventoryHoldSweeper} once it expires or the payment fails, which returns the units to the product.
+ * <p>
+ * Hold rows are always locked before the order and product rows they touch.
+ */
+@Slf4j
+@Service
+public class InventoryHoldService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO inventory_hold (order_id, product_id, quantity, status, created_at, expires_at)
+            VALUES (?, ?, ?, 'ACTIVE', ?, ?)
+            """;
+    private static final String RESTOCK_SQL = "UPDATE product SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FlashStockService flashStockService;
+    private final Duration ttl;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong converted = new AtomicLong();
+    private final AtomicLong released = new AtomicLong();
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong failedSweeps = new AtomicLong();
+    private final AtomicLong expiryLagTotalMillis = new AtomicLong();
+    private final AtomicLong expiryLagCount = new AtomicLong();
+    private volatile Instant lastSweepAt;
+    private volatile long lastSweepMillis;
+    private volatile long lastSweepReleased;
+    private volatile long lastSweepMaxLagMillis;
+
+    public InventoryHoldService(InventoryHoldRepository inventoryHoldRepository,
+                                JdbcTemplate jdbcTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                FlashStockService flashStockService,
+                                @Value("${application.inventory-holds.ttl-minutes:20}") long ttlMinutes) {
+        this.inventoryHoldRepository = inventoryHoldRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.flashStockService = flashStockService;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    /**
+     * Hold the units just reserved for an order, in one batch
+     *
+     * @param quantities units per product ID, already taken out of stock
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void hold(Long orderId, Map<Long, Integer> quantities) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        Timestamp expiresAt = Timestamp.valueOf(now.plus(ttl));
+        List<Object[]> rows = quantities.entrySet()
+                .stream()
+                .map(entry -> new Object[]{orderId, entry.getKey(), entry.getValue(), createdAt, expiresAt})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        created.addAndGet(rows.size());
+    }
+
+    /**
+     * Turn the active holds of a paid order into sales
+     *
+     * @return false when the holds had already been released, i.e. the payment arrived after they expired
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean convert(Long orderId) {
+        // A locking read: a plain one may see the snapshot taken before a sweep committed
+        if (inventoryHoldRepository.findStatusesByOrderIdForUpdate(orderId).contains(InventoryHoldStatus.RELEASED)) {
+            return false;
+        }
+        converted.addAndGet(inventoryHoldRepository.resolveActiveByOrderId(orderId, InventoryHoldStatus.CONVERTED,
+                LocalDateTime.now()));
+        return true;
+    }
+
+    /**
+     * The payment failed: make the holds of the order due, so that the next sweep releases them
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void expire(Long orderId) {
+        inventoryHoldRepository.expireActiveByOrderId(orderId, LocalDateTime.now());
+    }
+
+    /**
+     * Lock a batch of expired holds, skipping those resolved meanwhile
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    List<InventoryHold> lockExpired(List<Long> holdIds) {
+        return inventoryHoldRepository.findActiveByIdInForUpdate(holdIds);
+    }
+
+    /**
+     * Mark holds as sold without touching stock, for orders that moved on without the payment callback
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    void convertAll(List<InventoryHold> holds, LocalDateTime now) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        inventoryHoldRepository.resolveByIdIn(holds.stream().map(InventoryHold::getId).toList(),
+                InventoryHoldStatus.CONVERTED, now);
+        converted.addAndGet(holds.size());
+    }
+
+    /**
+     * Give the units of the holds back to their products, one batch in product ID order. Products in flash-sale
+     * mode get them back in their stripes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    void releaseAll(List<InventoryHold> holds, LocalDateTime now) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> restock = new TreeMap<>();
+        for (InventoryHold hold : holds) {
+            restock.merge(hold.getProduct().getId(), hold.getQuantity(), Integer::sum);
+            long lag = Math.max(0, Duration.between(hold.getExpiresAt(), now).toMillis());
+            expiryLagTotalMillis.addAndGet(lag);
+            expiryLagCount.incrementAndGet();
+            lastSweepMaxLagMillis = Math.max(lastSweepMaxLagMillis, lag);
+        }
+        Set<Long> flashProductIds = flashStockService.lockFlashProducts(restock.keySet());
+        flashProductIds.forEach(productId -> flashStockService.restock(productId, restock.remove(productId)));
+        if (!restock.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESTOCK_SQL, restock.entrySet()
+                    .stream()
+                    .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                    .toList());
+        }
+        inventoryHoldRepository.resolveByIdIn(holds.stream().map(InventoryHold::getId).toList(),
+                InventoryHoldStatus.RELEASED, now);
+        released.addAndGet(holds.size());
+        restock.keySet().forEach(productId -> eventPublisher.publishEvent(new ProductStockChangedEvent(productId)));
+    }
+
+    void startSweep() {
+        lastSweepMaxLagMillis = 0;
+    }
+
+    void recordSweep(Instant startedAt, long releasedHolds, boolean failed) {
+        sweeps.incrementAndGet();
+        if (failed) {
+            failedSweeps.incrementAndGet();
+        }
+        lastSweepAt = startedAt;
+        lastSweepMillis = Duration.between(startedAt, Instant.now()).toMillis();
+        lastSweepReleased = releasedHolds;
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryHoldStats getStats() {
+        InventoryHoldVolume volume = inventoryHoldRepository.activeVolume();
+        long lagCount = expiryLagCount.get();
+        return new InventoryHoldStats(
+                volume.holds(),
+                volume.units(),
+                created.get(),
+                converted.get(),
+                released.get(),
+                sweeps.get(),
+                failedSweeps.get(),
+                lastSweepAt,
+                lastSweepMillis,
+                lastSweepReleased,
+                lastSweepMaxLagMillis,
+                lagCount == 0 ? 0 : expiryLagTotalMillis.get() / lagCount);
+    }
+}
@@ -0,0 +1,25 @@
+package com.quadzone.product.stock;
+
+import java.time.Instant;
+
+/**
+ * @param activeHolds        holds currently waiting for a payment
+ * @param activeUnits        units taken out of stock by those holds
+ * @param maxExpiryLagMillis longest delay between a hold's expiry and its release in the last sweep
+ * @param avgExpiryLagMillis average of that delay over every hold released since startup
+ */
+public record InventoryHoldStats(
+        long activeHolds,
+        long activeUnits,
+        long created,
+        long converted,
+        long released,
+        long sweeps,
+        long failedSweeps,
+        Instant lastSweepAt,
+        long lastSweepMillis,
+        long lastSweepReleased,
+        long maxExpiryLagMillis,
+        long avgExpiryLagMillis
+) {
+}
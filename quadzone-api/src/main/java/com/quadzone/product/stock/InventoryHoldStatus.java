@@ -0,0 +1,16 @@
+package com.quadzone.product.stock;
+
+public enum InventoryHoldStatus {
+    /**
+     * Stock is taken out of the product, waiting for the payment
+     */
+    ACTIVE,
+    /**
+     * Paid (or otherwise taken over by the order flow): the units are sold
+     */
+    CONVERTED,
+    /**
+     * Payment failed or never came: the units went back to the product
+     */
+    RELEASED
+}
@@ -0,0 +1,92 @@
+package com.quadzone.product.stock;
+
+import com.quadzone.order.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Releases expired inventory holds, one batch of holds per transaction.
+ * <p>
+ * An order still waiting for its payment is cancelled and its units go back to stock; holds of an order that was
+ * already cancelled are released too. Orders that moved on (confirmed by staff without a payment callback) keep
+ * their units: their holds are converted instead.
+ */
+@Slf4j
+@Component
+public class InventoryHoldSweeper {
+
+    private final InventoryHoldService inventoryHoldService;
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public InventoryHoldSweeper(InventoryHoldService inventoryHoldService,
+                                InventoryHoldRepository inventoryHoldRepository,
+                                OrderService orderService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${application.inventory-holds.sweep-batch-size:200}") int batchSize) {
+        this.inventoryHoldService = inventoryHoldService;
+        this.inventoryHoldRepository = inventoryHoldRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${application.inventory-holds.sweep-interval-ms:60000}",
+            initialDelayString = "${application.inventory-holds.sweep-interval-ms:60000}")
+    public void sweep() {
+        Instant startedAt = Instant.now();
+        LocalDateTime now = LocalDateTime.now();
+        inventoryHoldService.startSweep();
+        long released = 0;
+        boolean failed = false;
+        try {
+            List<Long> ids;
+            do {
+                ids = inventoryHoldRepository.findExpiredIds(now, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<Long> batch = ids;
+                Integer count = transactionTemplate.execute(status -> sweepBatch(batch, now));
+                released += count != null ? count : 0;
+            } while (ids.size() == batchSize);
+        } catch (Exception e) {
+            failed = true;
+            log.error("Inventory hold sweep stopped after releasing {} holds", released, e);
+        }
+        inventoryHoldService.recordSweep(startedAt, released, failed);
+        if (released > 0) {
+            log.info("Released {} expired inventory holds", released);
+        }
+    }
+
+    private int sweepBatch(List<Long> holdIds, LocalDateTime now) {
+        Map<Long, List<InventoryHold>> byOrder = inventoryHoldService.lockExpired(holdIds)
+                .stream()
+                .collect(Collectors.groupingBy(hold -> hold.getOrder().getId(), TreeMap::new, Collectors.toList()));
+
+        List<InventoryHold> toRelease = new ArrayList<>();
+        List<InventoryHold> toConvert = new ArrayList<>();
+        byOrder.forEach((orderId, holds) ->
+                (orderService.cancelUnpaidOrder(orderId) ? toRelease : toConvert).addAll(holds));
+
+        inventoryHoldService.convertAll(toConvert, now);
+        inventoryHoldService.releaseAll(toRelease, now);
+        return toRelease.size();
+    }
+}
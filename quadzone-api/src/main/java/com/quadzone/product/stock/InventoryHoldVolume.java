@@ -0,0 +1,4 @@
+package com.quadzone.product.stock;
+
+public record InventoryHoldVolume(Long holds, Long units) {
+}
@@ -0,0 +1,162 @@
+package com.quadzone.product.stock;
+
+import com.quadzone.exception.product.InsufficientStockException;
+import com.quadzone.product.Product;
+import com.quadzone.product.ProductRepository;
+import com.quadzone.product.ProductStockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves the stock of every line of an order in a fixed number of statements, whatever the number of lines.
+ * <p>
+ * All products are read and locked by one {@code SELECT ... FOR UPDATE}, in product ID order: two carts
+ * holding the same products in a different order then queue on the first shared row instead of deadlocking.
+ * With the rows locked, every line is checked in memory and all shortages are reported together; only then
+ * is stock decremented, with one JDBC batch.
+ * <p>
+ * Products in flash-sale mode are not locked: their units are taken from the stripes of
+ * {@link FlashStockService}, in product ID order as well, after the rows are checked. Which rows to lock is
+ * settled before the first lock; a product leaving the mode after that is only served if its row is free.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private static final String DECREMENT_SQL = "UPDATE product SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+    private static final String TRY_LOCK_SQL = "SELECT stock_quantity FROM product WHERE id = ? FOR UPDATE SKIP LOCKED";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FlashStockService flashStockService;
+
+    /**
+     * Lock, check and decrement. The locks are held until the caller's transaction ends.
+     *
+     * @param quantities requested quantity per product ID
+     * @return the locked products by ID. Their {@code stock} still holds the value read before the reservation.
+     * @throws InsufficientStockException listing every line that cannot be served; nothing is reserved then
+     * @throws ResponseStatusException 409 when a product left flash-sale mode during the reservation and its row
+     * is busy; the checkout can be retried as is
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Product> reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> rowQuantities = new TreeMap<>(quantities);
+        Map<Long, Integer> flashQuantities = new TreeMap<>();
+        List<Long> hinted = quantities.keySet().stream().filter(flashStockService::isFlashProduct).toList();
+        if (!hinted.isEmpty()) {
+            // The hint may be stale, and every row to lock must be known before the first lock is taken
+            productRepository.findFlashProductIds(hinted)
+                    .forEach(productId -> flashQuantities.put(productId, rowQuantities.remove(productId)));
+        }
+
+        Map<Long, Product> products = new HashMap<>(lockRows(rowQuantities.keySet()));
+        // A locked row that entered flash mode meanwhile is served from its stripes
+        products.values().stream()
+                .filter(product -> product.getFlashStripes() > 0)
+                .map(Product::getId)
+                .toList()
+                .forEach(productId -> flashQuantities.put(productId, rowQuantities.remove(productId)));
+        if (!flashQuantities.isEmpty()) {
+            // Flash products are not locked: their stock is in the stripes
+            productRepository.findAllById(flashQuantities.keySet())
+                    .forEach(product -> products.putIfAbsent(product.getId(), product));
+        }
+
+        List<StockShortage> shortages = new ArrayList<>();
+        quantities.forEach((productId, requested) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                shortages.add(new StockShortage(productId, null, requested, 0, StockShortage.Reason.NOT_FOUND));
+            } else if (!product.isActive()) {
+                shortages.add(new StockShortage(productId, product.getName(), requested, 0, StockShortage.Reason.INACTIVE));
+            } else if (rowQuantities.containsKey(productId) && (product.getStock() == null || product.getStock() < requested)) {
+                shortages.add(insufficient(product, requested, product.getStock() == null ? 0 : product.getStock()));
+            }
+        });
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException(shortages);
+        }
+
+        // Stripe takes are undone by the rollback when a later line fails
+        for (Map.Entry<Long, Integer> line : flashQuantities.entrySet()) {
+            Long productId = line.getKey();
+            int requested = line.getValue();
+            StripeTake take = flashStockService.take(productId, requested);
+            switch (take.status()) {
+                case TAKEN -> {
+                }
+                case INSUFFICIENT_STOCK -> shortages.add(insufficient(products.get(productId), requested, take.available()));
+                case NOT_IN_FLASH_MODE -> {
+                    // Left flash mode since it was checked: its stock is back in the row. Waiting for that row now,
+                    // after other rows and stripes, could deadlock with a checkout locking in ID order.
+                    List<Integer> stock = jdbcTemplate.queryForList(TRY_LOCK_SQL, Integer.class, productId);
+                    if (stock.isEmpty()) {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                                "Stock of product " + productId + " is being changed, please retry");
+                    }
+                    if (stock.get(0) < requested) {
+                        shortages.add(insufficient(products.get(productId), requested, stock.get(0)));
+                    } else {
+                        rowQuantities.put(productId, requested);
+                    }
+                }
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException(shortages);
+        }
+
+        if (!rowQuantities.isEmpty()) {
+            decrementRows(rowQuantities);
+        }
+        return products;
+    }
+
+    private Map<Long, Product> lockRows(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findAllByIdInForUpdate(productIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private void decrementRows(Map<Long, Integer> quantities) {
+        List<Object[]> decrements = quantities.entrySet()
+                .stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), entry.getValue()})
+                .toList();
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_SQL, decrements);
+        for (int i = 0; i < updated.length; i++) {
+            // Cannot happen while the rows are locked; SUCCESS_NO_INFO (-2) comes from rewritten MySQL batches
+            if (updated[i] == 0) {
+                throw new IllegalStateException("Stock of product " + decrements.get(i)[1] + " changed under its lock");
+            }
+        }
+
+        // Flash products publish their stock change when FlashStockService syncs the row
+        quantities.keySet().forEach(productId -> eventPublisher.publishEvent(new ProductStockChangedEvent(productId)));
+    }
+
+    private static StockShortage insufficient(Product product, int requested, int available) {
+        return new StockShortage(product.getId(), product.getName(), requested, available,
+                StockShortage.Reason.INSUFFICIENT_STOCK);
+    }
+}
@@ -0,0 +1,11 @@
+package com.quadzone.product.stock;
+
+/**
+ * One order line that cannot be served
+ */
+public record StockShortage(Long productId, String productName, int requested, int available, Reason reason) {
+
+    public enum Reason {
+        NOT_FOUND, INACTIVE, INSUFFICIENT_STOCK
+    }
+}
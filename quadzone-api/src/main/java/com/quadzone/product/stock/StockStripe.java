@@ -0,0 +1,36 @@
+package com.quadzone.product.stock;
+
+import com.quadzone.product.Product;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One slice of the stock of a product in flash-sale mode.
+ * Rows are read and written with plain SQL by {@link FlashStockService}; the entity only declares the table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "product_stock_stripe",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_stock_stripe", columnNames = {"product_id", "stripe"}))
+public class StockStripe {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Product product;
+
+    @Column(nullable = false)
+    private int stripe;
+
+    @Column(nullable = false)
+    private int quantity;
+}
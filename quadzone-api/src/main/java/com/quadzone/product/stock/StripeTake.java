@@ -0,0 +1,25 @@
+package com.quadzone.product.stock;
+
+/**
+ * Outcome of taking units from the stripes of one product
+ *
+ * @param available units left across all stripes when the take failed
+ */
+record StripeTake(Status status, int available) {
+
+    enum Status {
+        TAKEN,
+        INSUFFICIENT_STOCK,
+        /**
+         * The product has no stripes (any more); its stock is in the product row
+         */
+        NOT_IN_FLASH_MODE
+    }
+
+    static final StripeTake TAKEN = new StripeTake(Status.TAKEN, 0);
+    static final StripeTake NOT_IN_FLASH_MODE = new StripeTake(Status.NOT_IN_FLASH_MODE, 0);
+
+    static StripeTake insufficient(int available) {
+        return new StripeTake(Status.INSUFFICIENT_STOCK, available);
+    }
+}
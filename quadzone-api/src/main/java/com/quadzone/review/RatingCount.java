@@ -0,0 +1,7 @@
+package com.quadzone.review;
+
+/**
+ * Number of reviews of a product with a given star rating
+ */
+public record RatingCount(Long productId, Integer rating, Long count) {
+}
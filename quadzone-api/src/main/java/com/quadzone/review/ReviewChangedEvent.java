@@ -0,0 +1,7 @@
+package com.quadzone.review;
+
+/**
+ * Published by {@link ReviewService} whenever a review is created, updated or deleted.
+ */
+public record ReviewChangedEvent(Long productId) {
+}
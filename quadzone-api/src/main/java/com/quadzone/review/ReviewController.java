@@ -82,7 +82,7 @@ public class ReviewController {
             @PathVariable Long productId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, ReviewService.NEWEST_FIRST);
         Page<ReviewResponse> reviews = reviewService.getReviewsByProduct(productId, pageable);
         return ResponseEntity.ok(reviews);
     }
@@ -0,0 +1,118 @@
+package com.quadzone.review;
+
+import com.quadzone.product.Product;
+import com.quadzone.product.ProductChangedEvent;
+import com.quadzone.product.ProductRepository;
+import com.quadzone.product.RatingSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rebuilds the per-product {@link RatingSummary} from the review table, one chunk of products per transaction.
+ * <p>
+ * The incremental updates in {@link ReviewService} keep the summaries exact; this job repairs drift
+ * (manual SQL, failed deploys) and backfills products that existed before the summary columns.
+ * Product rows of a chunk are locked first, so a concurrent review change either lands before the
+ * recount (and is included) or waits and applies its delta on top of it.
+ */
+@Slf4j
+@Component
+public class ReviewRatingReconciler {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReviewRatingReconciler(ProductRepository productRepository,
+                                  ReviewRepository reviewRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.rating-reconciliation.cron:0 30 3 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        long lastId = 0L;
+        int checked = 0;
+        int corrected = 0;
+        try {
+            List<Long> ids;
+            do {
+                ids = productRepository.findIdsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<Long> chunk = ids;
+                Integer fixed = transactionTemplate.execute(status -> reconcileChunk(chunk));
+                corrected += fixed != null ? fixed : 0;
+                checked += ids.size();
+                lastId = ids.get(ids.size() - 1);
+            } while (ids.size() == CHUNK_SIZE);
+        } catch (Exception e) {
+            log.error("Rating reconciliation stopped after product {}", lastId, e);
+            return;
+        }
+        log.info("Rating reconciliation checked {} products, corrected {} in {} ms",
+                checked, corrected, System.currentTimeMillis() - start);
+    }
+
+    private int reconcileChunk(List<Long> productIds) {
+        List<Product> products = productRepository.findAllByIdInForUpdate(productIds);
+
+        Map<Long, RatingSummary> actual = new HashMap<>();
+        for (RatingCount ratingCount : reviewRepository.countRatingsByProductIds(productIds)) {
+            RatingSummary summary = actual.computeIfAbsent(ratingCount.productId(), id -> new RatingSummary());
+            int count = ratingCount.count().intValue();
+            summary.setCount(summary.getCount() + count);
+            summary.setSum(summary.getSum() + (long) ratingCount.rating() * count);
+            switch (ratingCount.rating()) {
+                case 1 -> summary.setStars1(summary.getStars1() + count);
+                case 2 -> summary.setStars2(summary.getStars2() + count);
+                case 3 -> summary.setStars3(summary.getStars3() + count);
+                case 4 -> summary.setStars4(summary.getStars4() + count);
+                case 5 -> summary.setStars5(summary.getStars5() + count);
+                default -> log.warn("Review of product {} has out-of-range rating {}", ratingCount.productId(), ratingCount.rating());
+            }
+        }
+
+        int corrected = 0;
+        for (Product product : products) {
+            RatingSummary expected = actual.getOrDefault(product.getId(), new RatingSummary());
+            if (!sameSummary(product.getRating(), expected)) {
+                productRepository.replaceRating(product.getId(), expected);
+                eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    private static boolean sameSummary(RatingSummary current, RatingSummary expected) {
+        if (current == null) {
+            return false;
+        }
+        return current.getCount() == expected.getCount()
+                && current.getSum() == expected.getSum()
+                && Objects.equals(current.getHistogram(), expected.getHistogram());
+    }
+}
@@ -2,15 +2,19 @@ package com.quadzone.review;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    @EntityGraph(attributePaths = "user")
     Page<Review> findByProductId(Long productId, Pageable pageable);
     
     List<Review> findByUserId(Long userId);
@@ -18,4 +22,8 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Optional<Review> findByUserIdAndProductId(Long userId, Long productId);
     
     boolean existsByUserIdAndProductId(Long userId, Long productId);
+
+    @Query("SELECT new com.quadzone.review.RatingCount(r.product.id, r.rating, COUNT(r)) " +
+            "FROM Review r WHERE r.product.id IN :productIds GROUP BY r.product.id, r.rating")
+    List<RatingCount> countRatingsByProductIds(@Param("productIds") Collection<Long> productIds);
 }
@@ -12,8 +12,10 @@ import com.quadzone.review.dto.UpdateReviewRequest;
 import com.quadzone.user.User;
 import com.quadzone.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,11 +28,18 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
+
+    /**
+     * Order of the product review pages, shared by the detail page and the review list endpoint
+     */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public Page<ReviewResponse> getReviewsByProduct(Long productId, Pageable pageable) {
         Page<Review> page = reviewRepository.findByProductId(productId, pageable);
         return page.map(ReviewResponse::from);
@@ -77,6 +86,8 @@ public class ReviewService {
         review.setUser(user);
 
         Review saved = reviewRepository.save(review);
+        productRepository.applyRatingChange(product.getId(), saved.getRating(), 0, 1);
+        eventPublisher.publishEvent(new ReviewChangedEvent(saved.getProduct().getId()));
         return ReviewResponse.from(saved);
     }
 
@@ -95,6 +106,7 @@ public class ReviewService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only update your own reviews");
         }
 
+        int previousRating = review.getRating();
         if (request.rating() != null) {
             review.setRating(request.rating());
         }
@@ -106,6 +118,10 @@ public class ReviewService {
         }
 
         Review saved = reviewRepository.save(review);
+        if (saved.getRating() != previousRating) {
+            productRepository.applyRatingChange(saved.getProduct().getId(), saved.getRating(), previousRating, 0);
+        }
+        eventPublisher.publishEvent(new ReviewChangedEvent(saved.getProduct().getId()));
         return ReviewResponse.from(saved);
     }
 
@@ -125,6 +141,8 @@ public class ReviewService {
         }
 
         reviewRepository.delete(review);
+        productRepository.applyRatingChange(review.getProduct().getId(), 0, review.getRating(), -1);
+        eventPublisher.publishEvent(new ReviewChangedEvent(review.getProduct().getId()));
     }
 
     /**
@@ -2,6 +2,7 @@ package com.quadzone.shipping;
 
 import com.quadzone.shipping.dto.ShippingCalculationRequest;
 import com.quadzone.shipping.dto.ShippingCalculationResponse;
+import com.quadzone.utils.TextFolding;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,7 +13,6 @@ import org.springframework.web.client.RestTemplate;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.text.Normalizer;
 import java.util.*;
 
 @Service
@@ -99,8 +99,7 @@ public class ShippingService {
 
     // Remove dấu để Pelias không hiểu sai
     private String normalizeAddress(String input) {
-        String noAccent = Normalizer.normalize(input, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "");
+        String noAccent = TextFolding.stripAccents(input);
         return noAccent.replaceAll("[^a-zA-Z0-9 ,-/]", "");
     }
 
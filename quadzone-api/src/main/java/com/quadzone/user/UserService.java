@@ -3,6 +3,7 @@ package com.quadzone.user;
 import com.quadzone.exception.user.UserAlreadyExistsException;
 import com.quadzone.exception.user.UserNotFoundException;
 import com.quadzone.global.dto.PagedResponse;
+import com.quadzone.order.search.OrderSearchIndexer;
 import com.quadzone.user.dto.UserProfileDTO;
 import com.quadzone.user.dto.UserProfileRequest;
 import com.quadzone.user.dto.*;
@@ -32,6 +33,8 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final OrderSearchIndexer orderSearchIndexer;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -47,6 +50,7 @@ public class UserService {
     @Transactional
     public UserProfileDTO updateUserProfile(Long userId, UserProfileRequest request) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        String oldSearchFields = searchFields(user);
 
         user.setFirstName(request.firstName());
         user.setLastName(request.lastName());
@@ -57,6 +61,9 @@ public class UserService {
         user.setDateOfBirth(LocalDate.now());
 
         User updatedUser = userRepository.save(user);
+        if (!searchFields(updatedUser).equals(oldSearchFields)) {
+            orderSearchIndexer.reindexCustomer(userId);
+        }
         return mapToDTO(updatedUser);
     }
     @Transactional
@@ -135,9 +142,14 @@ public class UserService {
             }
         }
 
+        String oldSearchFields = searchFields(user);
         user.updateFrom(request);
 
-        return objectMapper.toUserResponse(userRepository.save(user));
+        User updatedUser = userRepository.save(user);
+        if (!searchFields(updatedUser).equals(oldSearchFields)) {
+            orderSearchIndexer.reindexCustomer(id);
+        }
+        return objectMapper.toUserResponse(updatedUser);
     }
 
     public void deleteUser(Long id) {
@@ -188,4 +200,11 @@ public class UserService {
                 .map(objectMapper::toUserResponse)
                 .toList();
     }
+
+    /**
+     * The account fields orders are searched by
+     */
+    private static String searchFields(User user) {
+        return user.getFirstName() + "|" + user.getLastName() + "|" + user.getEmail();
+    }
 }
@@ -3,7 +3,6 @@ package com.quadzone.utils;
 import com.quadzone.blog.Blog;
 import com.quadzone.blog.dto.BlogOverviewResponse;
 import com.quadzone.product.Product;
-import com.quadzone.product.dto.ProductDetailsResponse;
 import com.quadzone.product.dto.ProductRegisterRequest;
 import com.quadzone.product.dto.ProductResponse;
 import com.quadzone.review.Review;
@@ -37,9 +36,6 @@ public class EntityMapper {
     public ReviewResponse toReviewResponse(Review review) {
         return ReviewResponse.from(review);
     }
-    public ProductDetailsResponse toProductDetailsResponse(Product product) {
-        return ProductDetailsResponse.from(product);
-    }
 
     public BlogOverviewResponse toBlogResponse(Blog blog) {
         return BlogOverviewResponse.from(blog);
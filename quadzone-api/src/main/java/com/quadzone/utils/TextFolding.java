@@ -0,0 +1,46 @@
+package com.quadzone.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Accent folding for Vietnamese text, so "Điện thoại" and "dien thoai" compare equal
+ */
+public final class TextFolding {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private TextFolding() {
+    }
+
+    /**
+     * Remove diacritics. {@code đ} is a letter of its own rather than {@code d} with a mark,
+     * so it is mapped explicitly.
+     */
+    public static String stripAccents(String value) {
+        if (isAscii(value)) {
+            return value;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+    }
+
+    /**
+     * Accent-free lower case, the form search keywords and indexed text are compared in
+     */
+    public static String fold(String value) {
+        return stripAccents(value).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,8 @@
 package com.quadzone.vnpayment;
 
 import com.quadzone.global.ExchangeRateService;
+import com.quadzone.global.idempotency.IdempotencyScope;
+import com.quadzone.global.idempotency.IdempotencyService;
 import com.quadzone.order.OrderService;
 import com.quadzone.vnpayment.dto.VnPaymentRequest;
 import com.quadzone.vnpayment.dto.VnPaymentResponse;
@@ -25,18 +27,21 @@ public class VnPaymentService {
     private final String paymentUrl;
     private final ExchangeRateService exchangeRateService;
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
 
     public VnPaymentService(
             @Value("${vnpayment.tmn-code}") String tmnCode,
             @Value("${vnpayment.hash-secret}") String hashSecret,
             @Value("${vnpayment.url}") String paymentUrl,
             ExchangeRateService exchangeRateService,
-            OrderService orderService) {
+            OrderService orderService,
+            IdempotencyService idempotencyService) {
         this.tmnCode = tmnCode;
         this.hashSecret = hashSecret;
         this.paymentUrl = paymentUrl;
         this.exchangeRateService = exchangeRateService;
         this.orderService = orderService;
+        this.idempotencyService = idempotencyService;
     }
 
     public String createPaymentUrl(HttpServletRequest request, VnPaymentRequest vnpRequest) {
@@ -242,11 +247,32 @@ public class VnPaymentService {
     /**
      * Handle callback from VNPay after payment
      * Call OrderService to update order và payment status
+     * <p>
+     * VNPay redelivers the same result for a transaction; duplicates get the first outcome back without
+     * confirming or failing the payment again. Each payment attempt for the same order is keyed separately:
+     * cancelled attempts all carry transaction number 0, so the pay date and response code are part of the key,
+     * and a result carrying neither a transaction number nor a pay date is applied without deduplication.
      *
      * @param responseDto Response from VNPay
      * @return VnPaymentResponse Updated response
      */
     public VnPaymentResponse processPaymentCallback(VnPaymentResponse responseDto) {
+        boolean identified = hasText(responseDto.vnp_TransactionNo()) && !"0".equals(responseDto.vnp_TransactionNo())
+                || hasText(responseDto.vnp_PayDate());
+        if (!identified) {
+            return applyPaymentResult(responseDto);
+        }
+        String key = String.join("|", responseDto.vnp_TxnRef(), responseDto.vnp_TransactionNo(),
+                responseDto.vnp_PayDate(), responseDto.vnp_ResponseCode());
+        return idempotencyService.execute(IdempotencyScope.VNPAY_CALLBACK, key, responseDto,
+                VnPaymentResponse.class, () -> applyPaymentResult(responseDto)).body();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private VnPaymentResponse applyPaymentResult(VnPaymentResponse responseDto) {
         String orderNumber = responseDto.vnp_TxnRef();
         String responseCode = responseDto.vnp_ResponseCode();
 
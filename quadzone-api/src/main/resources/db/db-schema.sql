@@ -90,6 +90,9 @@ create table chat_message
         foreign key (sender_id) references _user (id)
 );
 
+create index idx_chat_message_room_sent_at
+    on chat_message (chat_room_id, sent_at, id);
+
 create table comments
 (
     blog_id      bigint       not null,
@@ -147,6 +150,9 @@ create table notifications
         foreign key (user_id) references _user (id)
 );
 
+create index idx_notifications_user_posted_at
+    on notifications (user_id, posted_at, id);
+
 create table orders
 (
     discount_amount     double                                                                null,
@@ -169,6 +175,9 @@ create table orders
         foreign key (user_id) references _user (id)
 );
 
+create index idx_orders_order_date
+    on orders (order_date, id);
+
 create table deliveries
 (
     signature_required      bit                                                                                             null,
@@ -243,10 +252,22 @@ create table product
     image_url      varchar(255) null,
     model_number   varchar(255) null,
     name           varchar(255) not null,
+    rating_count   int          not null default 0,
+    rating_sum     bigint       not null default 0,
+    rating_1       int          not null default 0,
+    rating_2       int          not null default 0,
+    rating_3       int          not null default 0,
+    rating_4       int          not null default 0,
+    rating_5       int          not null default 0,
+    units_sold     bigint       not null default 0,
+    flash_stripes  int          not null default 0,
     constraint FKniucpti15id7jc1gqsnlcpd0b
         foreign key (subcategory_id) references sub_category (id)
 );
 
+create index idx_product_created_at
+    on product (created_at, id);
+
 create table cart_item
 (
     quantity   int         not null,
@@ -275,6 +296,158 @@ create table order_items
         foreign key (product_id) references product (id)
 );
 
+create table inventory_hold
+(
+    quantity    int                                      not null,
+    created_at  datetime(6)                              not null,
+    expires_at  datetime(6)                              not null,
+    id          bigint auto_increment
+        primary key,
+    order_id    bigint                                   not null,
+    product_id  bigint                                   not null,
+    resolved_at datetime(6)                              null,
+    status      enum ('ACTIVE', 'CONVERTED', 'RELEASED') not null,
+    constraint fk_inventory_hold_order
+        foreign key (order_id) references orders (id)
+            on delete cascade,
+    constraint fk_inventory_hold_product
+        foreign key (product_id) references product (id)
+            on delete cascade
+);
+
+create index idx_inventory_hold_status_expires
+    on inventory_hold (status, expires_at);
+
+create index idx_inventory_hold_order
+    on inventory_hold (order_id, status);
+
+create table product_stock_stripe
+(
+    id         bigint auto_increment
+        primary key,
+    product_id bigint not null,
+    stripe     int    not null,
+    quantity   int    not null,
+    constraint uk_product_stock_stripe
+        unique (product_id, stripe),
+    constraint fk_product_stock_stripe_product
+        foreign key (product_id) references product (id)
+            on delete cascade
+);
+
+create table order_event
+(
+    id          bigint auto_increment
+        primary key,
+    order_id    bigint                                                                                     not null,
+    type        enum ('CREATED', 'STATUS_CHANGED', 'PAYMENT_COMPLETED', 'PAYMENT_FAILED', 'SHIPPER_ASSIGNED') not null,
+    from_status enum ('PENDING', 'CONFIRMED', 'PROCESSING', 'COMPLETED', 'CANCELLED')                       null,
+    to_status   enum ('PENDING', 'CONFIRMED', 'PROCESSING', 'COMPLETED', 'CANCELLED')                       null,
+    detail      varchar(255)                                                                               null,
+    actor       varchar(255)                                                                               null,
+    occurred_at datetime(6)                                                                                not null,
+    constraint fk_order_event_order
+        foreign key (order_id) references orders (id)
+            on delete cascade
+);
+
+create index idx_order_event_order
+    on order_event (order_id, occurred_at);
+
+create table order_search_key
+(
+    id         bigint auto_increment
+        primary key,
+    order_id   bigint                                 not null,
+    field      enum ('ORDER_NUMBER', 'EMAIL', 'NAME') not null,
+    search_key varchar(191)                           not null,
+    constraint uk_order_search_key_order
+        unique (order_id, search_key),
+    constraint fk_order_search_key_order
+        foreign key (order_id) references orders (id)
+            on delete cascade
+);
+
+create index idx_order_search_key
+    on order_search_key (search_key, order_id);
+
+create table order_number_sequence
+(
+    name       varchar(32) not null
+        primary key,
+    next_value bigint      not null
+);
+
+create table idempotency_record
+(
+    created_at      datetime(6)                          not null,
+    expires_at      datetime(6)                          not null,
+    id              bigint auto_increment
+        primary key,
+    fingerprint     varchar(64)                          not null,
+    idempotency_key varchar(200)                         not null,
+    response_body   text                                 null,
+    scope           enum ('CHECKOUT', 'VNPAY_CALLBACK')  not null,
+    status          enum ('IN_PROGRESS', 'COMPLETED')    not null,
+    constraint uk_idempotency_record_key
+        unique (scope, idempotency_key)
+);
+
+create index idx_idempotency_record_expires
+    on idempotency_record (expires_at);
+
+create table outbox_message
+(
+    attempts        int                                                           not null,
+    created_at      datetime(6)                                                   not null,
+    id              bigint auto_increment
+        primary key,
+    next_attempt_at datetime(6)                                                   not null,
+    processed_at    datetime(6)                                                   null,
+    last_error      varchar(1000)                                                 null,
+    payload         text                                                          not null,
+    status          enum ('PENDING', 'DELIVERED', 'DEAD')                         not null,
+    type            enum ('ORDER_CONFIRMATION_EMAIL', 'NEW_ORDER_STAFF_NOTIFICATION') not null
+);
+
+create index idx_outbox_message_status_next_attempt
+    on outbox_message (status, next_attempt_at);
+
+create index idx_outbox_message_status_processed
+    on outbox_message (status, processed_at);
+
+create table product_sales_daily
+(
+    sale_date  date   not null,
+    units      int    not null,
+    id         bigint auto_increment
+        primary key,
+    product_id bigint not null,
+    constraint uk_product_sales_daily
+        unique (product_id, sale_date),
+    constraint fk_product_sales_daily_product
+        foreign key (product_id) references product (id)
+            on delete cascade
+);
+
+create index idx_product_sales_daily_date
+    on product_sales_daily (sale_date, product_id, units);
+
+create table product_sales_pending
+(
+    id         bigint auto_increment
+        primary key,
+    product_id bigint not null,
+    sale_date  date   not null,
+    units      int    not null,
+    constraint fk_product_sales_pending_product
+        foreign key (product_id) references product (id)
+            on delete cascade
+);
+
+create index idx_product_sales_pending_product
+    on product_sales_pending (product_id);
+
 create table review
 (
     rating        int          not null,
@@ -2,10 +2,14 @@ package com.quadzone.admin;
 
 import com.quadzone.blog.BlogService;
 import com.quadzone.blog.comment.CommentRepository;
+import com.quadzone.config.JwtService;
 import com.quadzone.payment.PaymentRepository;
 import com.quadzone.product.ProductService;
+import com.quadzone.product.bulk.ProductBulkUpdateService;
+import com.quadzone.product.bulk.ProductExportService;
 import com.quadzone.product.category.CategoryService;
 import com.quadzone.product.category.sub_category.SubCategoryService;
+import com.quadzone.product.stock.FlashStockService;
 import com.quadzone.shipping.DeliveryRepository;
 import com.quadzone.upload.service.UploadService;
 import com.quadzone.order.OrderRepository;
@@ -18,6 +22,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -35,6 +40,8 @@ class AdminControllerTest {
     private MockMvc mockMvc;
 
     @MockBean private ProductService productService;
+    @MockBean private ProductBulkUpdateService productBulkUpdateService;
+    @MockBean private ProductExportService productExportService;
     @MockBean private CategoryService categoryService;
     @MockBean private SubCategoryService subCategoryService;
     @MockBean private UploadService uploadService;
@@ -44,14 +51,16 @@ class AdminControllerTest {
     @MockBean private OrderRepository orderRepository;
     @MockBean private PaymentRepository paymentRepository;
     @MockBean private DeliveryRepository deliveryRepository;
+    @MockBean private FlashStockService flashStockService;
+    @MockBean private JwtService jwtService;
 
     @Test
     void getAdminNews_returnsOk_whenDependenciesInjected() throws Exception {
         int size = 3;
-        Pageable commentsPage = PageRequest.of(0, size);
-        Pageable ordersPage = PageRequest.of(0, size);
-        Pageable paymentsPage = PageRequest.of(0, size);
-        Pageable deliveryPage = PageRequest.of(0, size);
+        Pageable commentsPage = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable ordersPage = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "orderDate"));
+        Pageable paymentsPage = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "paymentDate"));
+        Pageable deliveryPage = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "updatedAt"));
 
         when(commentRepository.findAll(commentsPage)).thenReturn(new PageImpl<>(List.of(), commentsPage, 0));
         when(orderRepository.findAll(ordersPage)).thenReturn(new PageImpl<>(List.of(), ordersPage, 0));
@@ -0,0 +1,165 @@
+package com.quadzone.order;
+
+import com.quadzone.global.dto.PagedResponse;
+import com.quadzone.order.dto.OrderSummaryResponse;
+import com.quadzone.payment.Payment;
+import com.quadzone.payment.PaymentMethod;
+import com.quadzone.payment.PaymentStatus;
+import com.quadzone.product.Product;
+import com.quadzone.product.category.Category;
+import com.quadzone.product.category.sub_category.SubCategory;
+import com.quadzone.shipping.Delivery;
+import com.quadzone.shipping.DeliveryStatus;
+import com.quadzone.user.User;
+import com.quadzone.user.UserRole;
+import com.quadzone.user.UserStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the customer and shipper order lists against N+1 selects: a page, with its item counts, payment and
+ * delivery status, must cost at most two statements whether it holds 5 or 20 orders.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(OrderListingReader.class)
+class OrderListingQueryCountTest {
+
+    private static final int ORDERS = 30;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderListingReader orderListingReader;
+
+    private Statistics statistics;
+    private User customer;
+    private User shipper;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(user("customer@example.com", UserRole.CUSTOMER));
+        shipper = entityManager.persist(user("shipper@example.com", UserRole.SHIPPER));
+
+        Category category = entityManager.persist(Category.builder()
+                .name("Laptops").isActive(true).imageUrl("laptops.png").build());
+        SubCategory subCategory = entityManager.persist(SubCategory.builder()
+                .name("Gaming").isActive(true).category(category).build());
+        Product product = entityManager.persist(Product.builder()
+                .name("Laptop").brand("Brand").price(100.0).stock(10).isActive(true).subCategory(subCategory)
+                .build());
+
+        for (int o = 0; o < ORDERS; o++) {
+            Order order = new Order();
+            order.setOrderNumber("ORD-" + o);
+            order.setOrderDate(LocalDateTime.now().minusHours(o));
+            order.setUser(customer);
+            order.setOrderItems(new ArrayList<>());
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                order.addOrderItem(OrderItem.builder()
+                        .quantity(1)
+                        .priceAtPurchase(BigDecimal.valueOf(100))
+                        .product(product)
+                        .build());
+            }
+            entityManager.persist(order);
+
+            Payment payment = new Payment();
+            payment.setOrder(order);
+            payment.setPaymentMethod(PaymentMethod.CASH_ON_DELIVERY);
+            payment.setPaymentStatus(PaymentStatus.COMPLETED);
+            entityManager.persist(payment);
+
+            Delivery delivery = new Delivery();
+            delivery.setOrder(order);
+            delivery.setUser(shipper);
+            delivery.setDeliveryStatus(DeliveryStatus.SHIPPED);
+            entityManager.persist(delivery);
+        }
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void customerOrders_useAtMostTwoStatements() {
+        assertThat(statementsFor(() -> customerOrders(5)))
+                .isLessThanOrEqualTo(2)
+                .isEqualTo(statementsFor(() -> customerOrders(20)));
+    }
+
+    @Test
+    void shipperOrders_useAtMostTwoStatements() {
+        assertThat(statementsFor(() -> shipperOrders(5, null)))
+                .isLessThanOrEqualTo(2)
+                .isEqualTo(statementsFor(() -> shipperOrders(20, null)));
+        assertThat(statementsFor(() -> shipperOrders(5, "pending")))
+                .isLessThanOrEqualTo(2)
+                .isEqualTo(statementsFor(() -> shipperOrders(20, "pending")));
+    }
+
+    @Test
+    void customerOrders_carryItemCountsAndStatuses() {
+        entityManager.clear();
+        PagedResponse<OrderSummaryResponse> page = customerOrders(20);
+
+        assertThat(page.page().totalElements()).isEqualTo(ORDERS);
+        assertThat(page.content()).hasSize(20)
+                .extracting(OrderSummaryResponse::orderNumber)
+                .startsWith("ORD-0", "ORD-1", "ORD-2");
+        assertThat(page.content()).allSatisfy(order -> {
+            assertThat(order.itemsCount()).isEqualTo(ITEMS_PER_ORDER);
+            assertThat(order.paymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+            assertThat(order.deliveryStatus()).isEqualTo(DeliveryStatus.SHIPPED);
+            assertThat(order.customerName()).isEqualTo("Jane Doe");
+        });
+    }
+
+    private PagedResponse<OrderSummaryResponse> customerOrders(int size) {
+        return orderListingReader.customerOrders(customer.getId(), customer.getEmail(), PageRequest.of(0, size));
+    }
+
+    private PagedResponse<OrderSummaryResponse> shipperOrders(int size, String search) {
+        return orderListingReader.shipperOrders(shipper.getId(), search, PageRequest.of(0, size));
+    }
+
+    private static User user(String email, UserRole role) {
+        return User.builder()
+                .email(email)
+                .password("secret")
+                .firstName("Jane")
+                .lastName("Doe")
+                .role(role)
+                .status(UserStatus.ACTIVE)
+                .build();
+    }
+
+    /**
+     * Runs the listing against an empty persistence context, so nothing is served from the first-level cache
+     */
+    private long statementsFor(Runnable listing) {
+        entityManager.clear();
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
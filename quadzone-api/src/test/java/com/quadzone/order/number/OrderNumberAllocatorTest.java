@@ -0,0 +1,141 @@
+package com.quadzone.order.number;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several "nodes" (allocators sharing one sequence row) drawing numbers from many threads at once must never
+ * hand out the same number twice. Also times the in-memory path, which is what a checkout pays per order.
+ */
+@DataJpaTest(properties = "logging.level.com.quadzone.order.number=info")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderNumberAllocatorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderNumberAllocatorTest.class);
+
+    private static final int NODES = 2;
+    private static final int THREADS_PER_NODE = 8;
+    private static final int NUMBERS_PER_THREAD = 2_000;
+    private static final int DEFAULT_BLOCK_SIZE = 100;
+
+    @Autowired
+    private OrderNumberSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentNodesNeverIssueTheSameNumber() throws Exception {
+        List<OrderNumberAllocator> nodes = new ArrayList<>();
+        for (int n = 0; n < NODES; n++) {
+            // Small blocks so that nodes keep racing for the sequence row
+            nodes.add(new OrderNumberAllocator(sequenceRepository, transactionManager, 10));
+        }
+
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+        List<Future<Integer>> duplicates = new ArrayList<>();
+        for (OrderNumberAllocator node : nodes) {
+            for (int t = 0; t < THREADS_PER_NODE; t++) {
+                duplicates.add(pool.submit(() -> {
+                    start.await();
+                    int clashes = 0;
+                    for (int i = 0; i < NUMBERS_PER_THREAD; i++) {
+                        if (!issued.add(node.next())) {
+                            clashes++;
+                        }
+                    }
+                    return clashes;
+                }));
+            }
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        for (Future<Integer> clashes : duplicates) {
+            assertThat(clashes.get()).isZero();
+        }
+        assertThat(issued).hasSize(NODES * THREADS_PER_NODE * NUMBERS_PER_THREAD)
+                .allMatch(number -> number.matches("ORD-[A-Z0-9]{8}"));
+    }
+
+    @Test
+    void nextBlockIsReservedBeforeTheCurrentOneRunsOut() throws InterruptedException {
+        OrderNumberAllocator allocator = new OrderNumberAllocator(sequenceRepository, transactionManager, 10);
+        allocator.next();
+        long reserved = sequenceRepository.findNextValue(OrderNumberAllocator.SEQUENCE);
+
+        // Half of the block: the rest of it is still in memory, the next one is reserved in the background
+        for (int i = 1; i < 5; i++) {
+            allocator.next();
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sequenceRepository.findNextValue(OrderNumberAllocator.SEQUENCE) == reserved
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(sequenceRepository.findNextValue(OrderNumberAllocator.SEQUENCE)).isEqualTo(reserved + 10);
+    }
+
+    @Test
+    void permutationIsInjectiveOverALargePrefix() {
+        Set<Long> seen = new HashSet<>();
+        for (long value = 0; value < 500_000; value++) {
+            assertThat(seen.add(OrderNumberAllocator.permute(value))).isTrue();
+        }
+    }
+
+    /**
+     * Times the two costs separately: numbers handed out from a reserved block, and the round trip reserving one
+     */
+    @Test
+    void allocationMicrobenchmark() {
+        int warmup = 20_000;
+        int measured = 200_000;
+        OrderNumberAllocator allocator = new OrderNumberAllocator(
+                sequenceRepository, transactionManager, warmup + measured);
+        for (int i = 0; i < warmup; i++) {
+            allocator.next();
+        }
+        long start = System.nanoTime();
+        int length = 0;
+        for (int i = 0; i < measured; i++) {
+            length += allocator.next().length();
+        }
+        long inMemory = (System.nanoTime() - start) / measured;
+
+        int blocks = 200;
+        start = System.nanoTime();
+        for (int i = 0; i < blocks; i++) {
+            // A fresh allocator has no block yet, so every call reserves one
+            new OrderNumberAllocator(sequenceRepository, transactionManager, 1).next();
+        }
+        long perBlock = (System.nanoTime() - start) / blocks;
+
+        assertThat(length).isEqualTo(measured * "ORD-XXXXXXXX".length());
+        log.info("Order numbers: {} ns from a reserved block, {} us per block reservation, "
+                        + "{} ns/number amortized over blocks of {}",
+                inMemory, perBlock / 1_000, inMemory + perBlock / DEFAULT_BLOCK_SIZE, DEFAULT_BLOCK_SIZE);
+    }
+}
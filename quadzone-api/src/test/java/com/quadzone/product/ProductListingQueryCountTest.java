@@ -0,0 +1,167 @@
+package com.quadzone.product;
+
+import com.quadzone.product.category.Category;
+import com.quadzone.product.category.sub_category.SubCategory;
+import com.quadzone.product.detail.ProductDetailCache;
+import com.quadzone.product.reference.CatalogReferenceCache;
+import com.quadzone.product.search.ProductFacetIndex;
+import com.quadzone.product.search.ProductSearchIndex;
+import com.quadzone.product.search.ProductSearchIndexer;
+import com.quadzone.product.search.ProductSuggestIndex;
+import com.quadzone.review.ReviewService;
+import com.quadzone.utils.EntityMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the product listing read path against N+1 selects: every listing must cost the same small number
+ * of statements whether it returns 5 or 20 products spread over many subcategories.
+ * The search and facet indexes are built and ready, so keyword and filtered searches take the index path
+ * served in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductService.class, ProductListingReader.class, EntityMapper.class,
+        ProductSearchIndex.class, ProductFacetIndex.class, ProductSuggestIndex.class, ProductSearchIndexer.class,
+        ProductDetailCache.class, ReviewService.class, CatalogReferenceCache.class})
+class ProductListingQueryCountTest {
+
+    private static final int CATEGORIES = 4;
+    private static final int SUB_CATEGORIES_PER_CATEGORY = 5;
+    private static final int PRODUCTS_PER_SUB_CATEGORY = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchIndexer productSearchIndexer;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductSuggestIndex productSuggestIndex;
+
+    private final List<Long> productIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = entityManager.persist(Category.builder()
+                    .name("Category " + c)
+                    .isActive(true)
+                    .imageUrl("category-" + c + ".png")
+                    .build());
+            for (int s = 0; s < SUB_CATEGORIES_PER_CATEGORY; s++) {
+                SubCategory subCategory = entityManager.persist(SubCategory.builder()
+                        .name("Sub " + c + "-" + s)
+                        .isActive(true)
+                        .category(category)
+                        .build());
+                for (int p = 0; p < PRODUCTS_PER_SUB_CATEGORY; p++) {
+                    productIds.add(entityManager.persist(Product.builder()
+                            .name("Laptop " + c + "-" + s + "-" + p)
+                            .brand("Brand " + (s % 3))
+                            .price(100.0 + p)
+                            .stock(10)
+                            .isActive(true)
+                            .subCategory(subCategory)
+                            .build()).getId());
+                }
+            }
+        }
+        entityManager.flush();
+        productSearchIndexer.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * The indexes outlive the rolled back test data, as the context is cached
+     */
+    @AfterEach
+    void tearDown() {
+        productIds.forEach(productId -> {
+            productSearchIndex.remove(productId);
+            productFacetIndex.remove(productId);
+            productSuggestIndex.remove(productId);
+        });
+    }
+
+    @Test
+    void indexes_areReady() {
+        assertThat(productSearchIndex.isReady()).isTrue();
+        assertThat(productFacetIndex.isReady()).isTrue();
+        assertThat(productSearchIndex.size()).isEqualTo(productIds.size());
+    }
+
+    @Test
+    void featuredProducts_useConstantStatementCount() {
+        assertThat(statementsFor(() -> productService.getFeaturedProducts(PageRequest.of(0, 5))))
+                .isLessThanOrEqualTo(3)
+                .isEqualTo(statementsFor(() -> productService.getFeaturedProducts(PageRequest.of(0, 20))));
+    }
+
+    @Test
+    void keywordSearch_useConstantStatementCount() {
+        assertThat(statementsFor(() -> productService.getProducts(PageRequest.of(0, 5), "laptop")))
+                .isLessThanOrEqualTo(3)
+                .isEqualTo(statementsFor(() -> productService.getProducts(PageRequest.of(0, 20), "laptop")));
+    }
+
+    @Test
+    void filteredSearch_useConstantStatementCount() {
+        assertThat(statementsFor(() -> productService.searchProducts(
+                "Brand 0,Brand 1", null, null, 50.0, null, true, PageRequest.of(0, 5))))
+                .isLessThanOrEqualTo(3)
+                .isEqualTo(statementsFor(() -> productService.searchProducts(
+                        "Brand 0,Brand 1", null, null, 50.0, null, true, PageRequest.of(0, 20))));
+    }
+
+    @Test
+    void adminProducts_useConstantStatementCount() {
+        assertThat(statementsFor(() -> productService.findProductsForAdmin(0, 5, null, null)))
+                .isLessThanOrEqualTo(4)
+                .isEqualTo(statementsFor(() -> productService.findProductsForAdmin(0, 20, null, null)));
+    }
+
+    @Test
+    void adminProductScroll_useConstantStatementCount() {
+        assertThat(statementsFor(() -> productService.scrollProductsForAdmin(null, 5, null)))
+                .isLessThanOrEqualTo(3)
+                .isEqualTo(statementsFor(() -> productService.scrollProductsForAdmin(null, 20, null)));
+    }
+
+    /**
+     * Runs the listing against an empty persistence context, so nothing is served from the first-level cache
+     */
+    private long statementsFor(Runnable listing) {
+        entityManager.clear();
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
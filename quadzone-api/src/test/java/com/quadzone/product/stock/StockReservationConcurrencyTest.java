@@ -0,0 +1,177 @@
+package com.quadzone.product.stock;
+
+import com.quadzone.exception.product.InsufficientStockException;
+import com.quadzone.product.Product;
+import com.quadzone.product.ProductListingReader;
+import com.quadzone.product.ProductRepository;
+import com.quadzone.product.category.Category;
+import com.quadzone.product.category.sub_category.SubCategory;
+import com.quadzone.product.sales.ProductSalesService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Many concurrent carts over the same few hot products, each listing them in a random order. Since locks are
+ * taken in product ID order, no reservation may fail with a deadlock or lock timeout, and every product must end
+ * with exactly its initial stock minus what was reserved.
+ */
+@DataJpaTest(properties = "logging.level.com.quadzone.product.stock=info")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({StockReservationService.class, FlashStockService.class, ProductSalesService.class, ProductListingReader.class})
+class StockReservationConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationConcurrencyTest.class);
+
+    private static final int HOT_PRODUCTS = 5;
+    private static final int INITIAL_STOCK = 2_000;
+    private static final int THREADS = 8;
+    private static final int CARTS_PER_THREAD = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        productIds = transactionTemplate.execute(status -> {
+            Category category = Category.builder().name("Phones").isActive(true).imageUrl("phones.png").build();
+            entityManager.persist(category);
+            SubCategory subCategory = SubCategory.builder().name("Flagships").isActive(true).category(category).build();
+            entityManager.persist(subCategory);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < HOT_PRODUCTS; i++) {
+                Product product = Product.builder()
+                        .name("Hot phone " + i)
+                        .price(500.0)
+                        .stock(INITIAL_STOCK)
+                        .isActive(true)
+                        .subCategory(subCategory)
+                        .build();
+                entityManager.persist(product);
+                ids.add(product.getId());
+            }
+            return ids;
+        });
+    }
+
+    @Test
+    void concurrentCartsOnHotProducts_neverDeadlock() throws InterruptedException {
+        Map<Long, AtomicLong> reserved = new ConcurrentHashMap<>();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int c = 0; c < CARTS_PER_THREAD; c++) {
+                        Map<Long, Integer> cart = randomCart();
+                        try {
+                            transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(cart));
+                            cart.forEach((id, quantity) -> reserved.computeIfAbsent(id, k -> new AtomicLong()).addAndGet(quantity));
+                            succeeded.incrementAndGet();
+                        } catch (InsufficientStockException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        log.info("{} carts on {} hot products from {} threads: {} reserved, {} rejected, {} reservations/s",
+                THREADS * CARTS_PER_THREAD, HOT_PRODUCTS, THREADS, succeeded.get(), rejected.get(),
+                Math.round(THREADS * CARTS_PER_THREAD / seconds));
+
+        assertThat(failures).as("deadlocks or lock timeouts").isEmpty();
+        assertThat(succeeded.get() + rejected.get()).isEqualTo(THREADS * CARTS_PER_THREAD);
+        for (Long id : productIds) {
+            long expected = INITIAL_STOCK - reserved.getOrDefault(id, new AtomicLong()).get();
+            assertThat(productRepository.findById(id).orElseThrow().getStock()).isEqualTo((int) expected);
+        }
+    }
+
+    @Test
+    void everyShortageIsReportedAndNothingReserved() {
+        Long scarce = productIds.get(0);
+        Long plenty = productIds.get(1);
+        Map<Long, Integer> cart = new LinkedHashMap<>();
+        cart.put(plenty, 1);
+        cart.put(scarce, INITIAL_STOCK + 1);
+        cart.put(-1L, 1);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(cart)))
+                .isInstanceOfSatisfying(InsufficientStockException.class, e -> assertThat(e.getShortages())
+                        .extracting(StockShortage::productId, StockShortage::reason)
+                        .containsExactly(
+                                tuple(scarce, StockShortage.Reason.INSUFFICIENT_STOCK),
+                                tuple(-1L, StockShortage.Reason.NOT_FOUND)));
+
+        assertThat(productRepository.findById(plenty).orElseThrow().getStock()).isEqualTo(INITIAL_STOCK);
+    }
+
+    /**
+     * Two to all hot products, in random order, one to three units each
+     */
+    private Map<Long, Integer> randomCart() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> shuffled = new ArrayList<>(productIds);
+        Collections.shuffle(shuffled, random);
+        Map<Long, Integer> cart = new LinkedHashMap<>();
+        for (Long id : shuffled.subList(0, 2 + random.nextInt(HOT_PRODUCTS - 1))) {
+            cart.put(id, 1 + random.nextInt(3));
+        }
+        return cart;
+    }
+}
@@ -36,6 +36,7 @@ export interface Category {
     id: number;
     name: string;
     subCategories: SubCategory[];
+    productCount: number;
 }
 
 export interface SubCategory {
@@ -88,7 +89,8 @@ export interface ProductDetails extends Product {
     modelNumber: string | null;
     description: string[]; // Array of strings (parsed from JSON in backend)
     weight: number;
-    reviews: Review[];
+    reviews: Review[]; // Newest reviews only (first page)
+    reviewsNextPage: number | null; // Next page for /reviews/product/{id}, null when all reviews are shown
     category: Category; // Full category with subcategories
 }
 // ============== WISHLIST TYPES ==============